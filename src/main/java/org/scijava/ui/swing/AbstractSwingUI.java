@@ -240,6 +240,7 @@ public abstract class AbstractSwingUI extends AbstractUserInterface implements
 	@Override
 	public void dispose() {
 		if (appFrame != null) appFrame.dispose();
+		if (consolePane != null) consolePane.dispose();
 	}
 
 	// -- Internal methods --
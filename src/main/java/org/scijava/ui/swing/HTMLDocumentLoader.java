@@ -0,0 +1,182 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.swing.JEditorPane;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.EditorKit;
+
+import org.scijava.thread.ThreadService;
+
+/**
+ * Utility methods for loading HTML into {@link JEditorPane}s without blocking
+ * the event dispatch thread.
+ * <p>
+ * Large HTML is parsed into a fresh document on a background thread, which
+ * then replaces the document of the pane. When updating a pane, the parsed
+ * document is also written back out, so that HTML which normalizes to what
+ * the pane already shows leaves the pane untouched.
+ * </p>
+ */
+public final class HTMLDocumentLoader {
+
+	/** Length of HTML up to which it is parsed on the calling thread. */
+	public static final int SYNC_THRESHOLD = 4096;
+
+	/** Client property of a pane holding the token of its latest load. */
+	private static final String PENDING = "HTMLDocumentLoader.pending";
+
+	/**
+	 * Client property of a pane holding the normalized form of the HTML it
+	 * shows, if known.
+	 */
+	private static final String SHOWN = "HTMLDocumentLoader.shown";
+
+	private HTMLDocumentLoader() {
+		// prevent instantiation of utility class
+	}
+
+	/**
+	 * Loads the given HTML into the pane, whose content type must be HTML. Must
+	 * be called on the event dispatch thread.
+	 * <p>
+	 * Short HTML is loaded right away. Longer HTML is parsed in the background,
+	 * while the pane keeps showing its previous content; a later load of the
+	 * same pane supersedes an earlier one still in progress.
+	 * </p>
+	 *
+	 * @param pane The pane to show the HTML.
+	 * @param html The HTML to load.
+	 * @param threadService Service to parse on, or null to parse right away.
+	 * @param onLoad Run on the event dispatch thread once the pane shows the
+	 *          HTML, or null.
+	 */
+	public static void load(final JEditorPane pane, final String html,
+		final ThreadService threadService, final Runnable onLoad)
+	{
+		load(pane, html, threadService, onLoad, false);
+	}
+
+	/**
+	 * Loads the given HTML into the pane like
+	 * {@link #load(JEditorPane, String, ThreadService, Runnable)}, unless its
+	 * normalized form, as the pane would give it back, equals that of the HTML
+	 * last given to the pane by this method. Must be called on the event
+	 * dispatch thread.
+	 * <p>
+	 * Leaving the pane untouched avoids resetting its caret, which scrolls any
+	 * enclosing scroll pane to it. The normalization happens wherever the HTML
+	 * is parsed, so longer HTML is compared in the background.
+	 * </p>
+	 *
+	 * @param pane The pane to show the HTML.
+	 * @param html The HTML to show.
+	 * @param threadService Service to parse on, or null to parse right away.
+	 * @param onLoad Run on the event dispatch thread once the pane shows the
+	 *          HTML, if it was changed, or null.
+	 */
+	public static void update(final JEditorPane pane, final String html,
+		final ThreadService threadService, final Runnable onLoad)
+	{
+		load(pane, html, threadService, onLoad, true);
+	}
+
+	/**
+	 * Discards the HTML still being parsed for the given pane, if any, since
+	 * the pane is given other content.
+	 */
+	public static void cancel(final JEditorPane pane) {
+		pane.putClientProperty(PENDING, null);
+		pane.putClientProperty(SHOWN, null);
+	}
+
+	// -- Helper methods --
+
+	private static void load(final JEditorPane pane, final String html,
+		final ThreadService threadService, final Runnable onLoad,
+		final boolean compare)
+	{
+		final Object token = new Object();
+		pane.putClientProperty(PENDING, token);
+		final Object shown = pane.getClientProperty(SHOWN);
+		final boolean sync = threadService == null || html == null || //
+			html.length() <= SYNC_THRESHOLD;
+		if (sync && !compare) {
+			pane.putClientProperty(SHOWN, null);
+			pane.setText(html);
+			if (onLoad != null) onLoad.run();
+			return;
+		}
+		final EditorKit kit = pane.getEditorKit();
+		final Document doc = kit.createDefaultDocument();
+		doc.putProperty("IgnoreCharsetDirective", Boolean.TRUE);
+		final Runnable parse = () -> {
+			final String normalized = read(kit, doc, html, compare);
+			final Runnable show = () -> {
+				if (pane.getClientProperty(PENDING) != token) return;
+				pane.putClientProperty(PENDING, null);
+				if (normalized != null && normalized.equals(shown)) return;
+				pane.setDocument(doc);
+				pane.putClientProperty(SHOWN, normalized);
+				if (onLoad != null) onLoad.run();
+			};
+			if (sync) show.run();
+			else threadService.queue(show);
+		};
+		if (sync) parse.run();
+		else threadService.run(parse);
+	}
+
+	/**
+	 * Parses the given HTML into the document.
+	 *
+	 * @return The normalized form of the HTML, if requested, or null.
+	 */
+	private static String read(final EditorKit kit, final Document doc,
+		final String html, final boolean normalize)
+	{
+		try {
+			if (html != null) kit.read(new StringReader(html), doc, 0);
+			if (!normalize) return null;
+			final StringWriter out = new StringWriter();
+			kit.write(out, doc, 0, doc.getLength());
+			return out.toString();
+		}
+		catch (final IOException | BadLocationException exc) {
+			// NB: Show whatever could be parsed, and never treat it as unchanged.
+			return null;
+		}
+	}
+}
@@ -31,18 +31,36 @@ package org.scijava.ui.swing.console;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
+import java.awt.datatransfer.StringSelection;
+import java.awt.datatransfer.Transferable;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.swing.JComponent;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.JTextPane;
+import javax.swing.TransferHandler;
 import javax.swing.UIManager;
+import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.Position;
+import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.Style;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
@@ -56,18 +74,38 @@ import org.scijava.log.IgnoreAsCallingClass;
 import org.scijava.plugin.Parameter;
 import org.scijava.thread.ThreadService;
 import org.scijava.ui.swing.StaticSwingUtils;
+import org.scijava.ui.swing.text.CompactDocuments;
 
 /**
  * {@link ConsolePanel} is a {@link JPanel} holding a {@link JTextArea}. It can
  * be used to display text written to {@code System.out} and {@code System.err}.
  * Therefore, it can be added as {@link OutputListener} to
  * {@link org.scijava.console.ConsoleService}.
+ * <p>
+ * Lines longer than {@link #getMaxLineLength()} characters are displayed
+ * truncated, followed by a clickable expander which reveals the rest of the
+ * line on demand. The hidden part of the line is kept, so copying a selection
+ * or calling {@link #getText()} always yields the complete output.
+ * </p>
  *
  * @author Matthias Arzt
  */
 @IgnoreAsCallingClass
 public class ConsolePanel extends JPanel implements OutputListener
 {
+	/**
+	 * Default maximum number of characters per line shown before the line gets
+	 * truncated.
+	 */
+	public static final int DEFAULT_MAX_LINE_LENGTH = 10000;
+
+	/**
+	 * Time the event dispatch thread spends inserting output at once, before it
+	 * handles other events, such as repainting and user input.
+	 */
+	private static final long INSERT_BUDGET_NANOS = TimeUnit.MILLISECONDS
+		.toNanos(20);
+
 	private JTextPane textPane;
 	private JScrollPane scrollPane;
 
@@ -76,6 +114,27 @@ public class ConsolePanel extends JPanel implements OutputListener
 	private Style stderrLocal;
 	private Style stdoutGlobal;
 	private Style stderrGlobal;
+	private Style expanderStyle;
+
+	private int maxLineLength = DEFAULT_MAX_LINE_LENGTH;
+
+	/** Number of characters of the last line, which are shown in the document. */
+	private int currentLineLength;
+
+	/** The last line, if it was truncated; null otherwise. */
+	private LongLine currentLongLine;
+
+	/**
+	 * Whether the last line was truncated and then expanded, so that output
+	 * appended to it is shown in full.
+	 */
+	private boolean currentLineExpanded;
+
+	private final ConsoleStats stats = new ConsoleStats();
+
+	/** Output waiting to be inserted into the document. */
+	private final Queue<PendingOutput> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean insertScheduled = new AtomicBoolean();
 
 	@Parameter
 	private ThreadService threadService;
@@ -87,31 +146,52 @@ public class ConsolePanel extends JPanel implements OutputListener
 
 	public void clear() {
 		textPane.setText("");
+		currentLineLength = 0;
+		currentLongLine = null;
+		currentLineExpanded = false;
+	}
+
+	/**
+	 * Gets the maximum number of characters per line, which are displayed
+	 * before the line gets truncated. Zero or a negative value means that lines
+	 * are never truncated.
+	 */
+	public int getMaxLineLength() {
+		return maxLineLength;
+	}
+
+	/**
+	 * Sets the maximum number of characters per line, which are displayed
+	 * before the line gets truncated. Zero or a negative value disables
+	 * truncation. The new limit applies to output appended afterwards.
+	 */
+	public void setMaxLineLength(final int maxLineLength) {
+		this.maxLineLength = maxLineLength;
+	}
+
+	/**
+	 * Gets the complete console text, including the hidden parts of truncated
+	 * lines. Must be called on the event dispatch thread.
+	 */
+	public String getText() {
+		return getText(0, doc.getLength());
+	}
+
+	/** Gets statistics on how far the console lags behind its output. */
+	public ConsoleStats getStats() {
+		return stats;
 	}
 
 	@Override
 	public void outputOccurred(OutputEvent event) {
-		threadService.queue(new Runnable() {
-
-			@Override
-			public void run() {
-				final boolean atBottom =
-						StaticSwingUtils.isScrolledToBottom(scrollPane);
-				try {
-					doc.insertString(doc.getLength(), event.getOutput(), getStyle(event));
-				}
-				catch (final BadLocationException exc) {
-					throw new RuntimeException(exc);
-				}
-				if (atBottom) StaticSwingUtils.scrollToBottom(scrollPane);
-			}
-		});
+		pending.add(new PendingOutput(event, stats.queued()));
+		scheduleInsert();
 	}
 
 	private synchronized void initGui() {
 		setLayout(new MigLayout("inset 0", "[grow,fill]", "[grow,fill,align top]"));
 
-		textPane = new JTextPane();
+		textPane = new JTextPane(CompactDocuments.newStyledDocument());
 		textPane.setFont(new Font(Font.MONOSPACED, Font.PLAIN, textPane.getFont().getSize()));
 		textPane.setEditable(false);
 
@@ -121,6 +201,8 @@ public class ConsolePanel extends JPanel implements OutputListener
 		stderrLocal = createStyle("stderrLocal", null, Color.RED, null, null);
 		stdoutGlobal = createStyle("stdoutGlobal", stdoutLocal, null, null, true);
 		stderrGlobal = createStyle("stderrGlobal", stderrLocal, null, null, true);
+		expanderStyle = createStyle("expander", null, Color.GRAY, null, true);
+		StyleConstants.setUnderline(expanderStyle, true);
 
 		// NB: We wrap the JTextPane in a JPanel to disable 
 		// the text pane's intelligent line wrapping behavior.
@@ -141,6 +223,10 @@ public class ConsolePanel extends JPanel implements OutputListener
 		scrollPane.getHorizontalScrollBar().setUnitIncrement(charWidth);
 		scrollPane.getVerticalScrollBar().setUnitIncrement(2 * lineHeight);
 		textPane.setComponentPopupMenu(initMenu());
+		textPane.setTransferHandler(new FullTextTransferHandler());
+		final ExpanderMouseListener expanderListener = new ExpanderMouseListener();
+		textPane.addMouseListener(expanderListener);
+		textPane.addMouseMotionListener(expanderListener);
 		add(scrollPane);
 	}
 
@@ -155,9 +241,22 @@ public class ConsolePanel extends JPanel implements OutputListener
 		item = new JMenuItem("Select All");
 		item.addActionListener(e -> textPane.selectAll());
 		menu.add(item);
+		menu.addSeparator();
+		item = new JMenuItem("Console Stats");
+		item.addActionListener(e -> showStats());
+		menu.add(item);
 		return menu;
 	}
 
+	private void showStats() {
+		final JTextArea text = new JTextArea(stats.toString());
+		text.setFont(textPane.getFont());
+		text.setEditable(false);
+		text.setOpaque(false);
+		JOptionPane.showMessageDialog(this, text, "Console Stats",
+			JOptionPane.INFORMATION_MESSAGE);
+	}
+
 	@Override
 	public void updateUI() {
 		if (stdoutLocal != null)
@@ -167,6 +266,129 @@ public class ConsolePanel extends JPanel implements OutputListener
 
 	// -- Helper methods --
 
+	private void scheduleInsert() {
+		if (insertScheduled.compareAndSet(false, true)) {
+			threadService.queue(this::insertPending);
+		}
+	}
+
+	/**
+	 * Inserts the pending output into the document. If there is more output than
+	 * can be inserted within {@link #INSERT_BUDGET_NANOS}, the rest is inserted
+	 * later, so the user interface stays responsive.
+	 */
+	private void insertPending() {
+		final boolean atBottom = StaticSwingUtils.isScrolledToBottom(scrollPane);
+		final long deadline = System.nanoTime() + INSERT_BUDGET_NANOS;
+		PendingOutput output;
+		while ((output = pending.poll()) != null) {
+			append(output.event.getOutput(), getStyle(output.event));
+			stats.inserted(output.queued);
+			if (System.nanoTime() > deadline) break;
+		}
+		if (currentLongLine != null) currentLongLine.updateExpander();
+		if (atBottom) StaticSwingUtils.scrollToBottom(scrollPane);
+		insertScheduled.set(false);
+		if (!pending.isEmpty()) scheduleInsert();
+	}
+
+	/** Appends the given text, truncating lines which are too long. */
+	private void append(final String text, final AttributeSet style) {
+		int start = 0;
+		while (start < text.length()) {
+			final int newline = text.indexOf('\n', start);
+			final int end = newline < 0 ? text.length() : newline;
+			if (end > start) appendToLine(text.substring(start, end), style);
+			if (newline < 0) break;
+			if (currentLongLine != null) currentLongLine.updateExpander();
+			insert("\n", style);
+			currentLineLength = 0;
+			currentLongLine = null;
+			currentLineExpanded = false;
+			start = newline + 1;
+		}
+	}
+
+	/** Appends text, which does not contain a line break, to the last line. */
+	private void appendToLine(final String text, final AttributeSet style) {
+		if (currentLongLine != null) {
+			currentLongLine.append(text, style);
+			return;
+		}
+		final int room = maxLineLength <= 0 || currentLineExpanded
+			? Integer.MAX_VALUE : maxLineLength - currentLineLength;
+		if (text.length() <= room) {
+			insert(text, style);
+			currentLineLength += text.length();
+			return;
+		}
+		// NB: The line is too long. Show its beginning and hide the rest.
+		if (room > 0) insert(text.substring(0, room), style);
+		currentLineLength += Math.max(room, 0);
+		currentLongLine = new LongLine(doc.getLength());
+		currentLongLine.append(text.substring(Math.max(room, 0)), style);
+	}
+
+	private void insert(final String text, final AttributeSet style) {
+		insert(doc.getLength(), text, style);
+	}
+
+	private void insert(final int offset, final String text,
+		final AttributeSet style)
+	{
+		try {
+			doc.insertString(offset, text, style);
+		}
+		catch (final BadLocationException exc) {
+			throw new RuntimeException(exc);
+		}
+	}
+
+	private void remove(final int offset, final int length) {
+		try {
+			doc.remove(offset, length);
+		}
+		catch (final BadLocationException exc) {
+			throw new RuntimeException(exc);
+		}
+	}
+
+	/**
+	 * Gets the text in the given range of the document. Expanders of truncated
+	 * lines are replaced by the hidden text they stand for.
+	 */
+	private String getText(final int start, final int end) {
+		final StringBuilder sb = new StringBuilder(end - start);
+		int offset = start;
+		while (offset < end) {
+			final Element element = doc.getCharacterElement(offset);
+			final int elementEnd = Math.min(element.getEndOffset(), end);
+			final LongLine line = longLine(element.getAttributes());
+			if (line != null) line.appendHiddenText(sb);
+			else {
+				try {
+					sb.append(doc.getText(offset, elementEnd - offset));
+				}
+				catch (final BadLocationException exc) {
+					throw new RuntimeException(exc);
+				}
+			}
+			offset = elementEnd;
+		}
+		return sb.toString();
+	}
+
+	private LongLine longLineAt(final MouseEvent e) {
+		final int offset = textPane.viewToModel(e.getPoint());
+		if (offset < 0 || offset >= doc.getLength()) return null;
+		return longLine(doc.getCharacterElement(offset).getAttributes());
+	}
+
+	private static LongLine longLine(final AttributeSet attributes) {
+		final Object line = attributes.getAttribute(LongLine.class);
+		return line instanceof LongLine ? (LongLine) line : null;
+	}
+
 	private static Color defaultFontColor() {
 		final Color color = UIManager.getColor("TextPane.foreground");
 		return (color == null) ? Color.BLACK : color;
@@ -192,4 +414,150 @@ public class ConsolePanel extends JPanel implements OutputListener
 	public JTextPane getTextPane() {
 		return textPane;
 	}
+
+	// -- Helper classes --
+
+	private static class PendingOutput {
+
+		private final OutputEvent event;
+		private final long queued;
+
+		private PendingOutput(final OutputEvent event, final long queued) {
+			this.event = event;
+			this.queued = queued;
+		}
+	}
+
+	/**
+	 * The hidden part of a truncated line. It is represented in the document by
+	 * an expander, which displays the number of hidden characters. The number
+	 * is brought up to date once per batch of inserted output, and only its
+	 * digits are replaced.
+	 */
+	private class LongLine {
+
+		private static final String EXPANDER_PREFIX = " \u2026 [";
+		private static final String EXPANDER_SUFFIX =
+			" more characters, click to expand]";
+
+		private final List<StringBuilder> texts = new ArrayList<>();
+		private final List<AttributeSet> styles = new ArrayList<>();
+		private final SimpleAttributeSet expanderAttributes;
+		private Position expanderStart;
+		private int expanderLength;
+		private long hiddenLength;
+
+		/** The number of hidden characters shown by the expander. */
+		private long shownLength;
+
+		private LongLine(final int offset) {
+			expanderAttributes = new SimpleAttributeSet(expanderStyle);
+			expanderAttributes.addAttribute(LongLine.class, this);
+			try {
+				expanderStart = doc.createPosition(offset);
+			}
+			catch (final BadLocationException exc) {
+				throw new RuntimeException(exc);
+			}
+		}
+
+		private void append(final String text, final AttributeSet style) {
+			final int last = styles.size() - 1;
+			if (last >= 0 && styles.get(last) == style) texts.get(last).append(text);
+			else {
+				texts.add(new StringBuilder(text));
+				styles.add(style);
+			}
+			hiddenLength += text.length();
+		}
+
+		private void appendHiddenText(final StringBuilder sb) {
+			for (final StringBuilder text : texts)
+				sb.append(text);
+		}
+
+		/** Shows the current number of hidden characters in the expander. */
+		private void updateExpander() {
+			if (expanderLength > 0 && shownLength == hiddenLength) return;
+			final String count = String.format("%,d", hiddenLength);
+			final int offset = expanderStart.getOffset();
+			if (expanderLength == 0) {
+				final String label = EXPANDER_PREFIX + count + EXPANDER_SUFFIX;
+				insert(offset, label, expanderAttributes);
+				expanderLength = label.length();
+				// NB: Inserting at the position's offset moves the position.
+				try {
+					expanderStart = doc.createPosition(offset);
+				}
+				catch (final BadLocationException exc) {
+					throw new RuntimeException(exc);
+				}
+			}
+			else {
+				// NB: Replace only the digits, within the expander.
+				final int countStart = offset + EXPANDER_PREFIX.length();
+				final int countLength = expanderLength - EXPANDER_PREFIX.length() -
+					EXPANDER_SUFFIX.length();
+				insert(countStart + countLength, count, expanderAttributes);
+				remove(countStart, countLength);
+				expanderLength += count.length() - countLength;
+			}
+			shownLength = hiddenLength;
+		}
+
+		/** Replaces the expander by the hidden text. */
+		private void expand() {
+			int offset = expanderStart.getOffset();
+			remove(offset, expanderLength);
+			for (int i = 0; i < texts.size(); i++) {
+				insert(offset, texts.get(i).toString(), styles.get(i));
+				offset += texts.get(i).length();
+			}
+			if (currentLongLine == this) {
+				// NB: Output appended to this line is now displayed in full.
+				currentLongLine = null;
+				currentLineExpanded = true;
+			}
+		}
+	}
+
+	/** Expands truncated lines when their expander is clicked. */
+	private class ExpanderMouseListener extends MouseAdapter {
+
+		@Override
+		public void mouseClicked(final MouseEvent e) {
+			if (e.getButton() != MouseEvent.BUTTON1) return;
+			final LongLine line = longLineAt(e);
+			if (line == null) return;
+			final boolean atBottom = StaticSwingUtils.isScrolledToBottom(scrollPane);
+			line.expand();
+			if (atBottom) StaticSwingUtils.scrollToBottom(scrollPane);
+		}
+
+		@Override
+		public void mouseMoved(final MouseEvent e) {
+			final int cursor = longLineAt(e) == null ? Cursor.TEXT_CURSOR
+				: Cursor.HAND_CURSOR;
+			textPane.setCursor(Cursor.getPredefinedCursor(cursor));
+		}
+	}
+
+	/**
+	 * Copies the selected text, including the hidden parts of truncated lines.
+	 */
+	private class FullTextTransferHandler extends TransferHandler {
+
+		@Override
+		public int getSourceActions(final JComponent c) {
+			return COPY;
+		}
+
+		@Override
+		protected Transferable createTransferable(final JComponent c) {
+			final int start = textPane.getSelectionStart();
+			final int end = textPane.getSelectionEnd();
+			if (start == end) return null;
+			return new StringSelection(getText(start, end));
+		}
+	}
 }
@@ -0,0 +1,215 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.console;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ConsoleRateLimiter} protects the console from runaway producers. Each
+ * thread which emits output gets its own token bucket: up to a burst of
+ * characters can be emitted at once, after which the thread is limited to a
+ * steady rate of characters per second. Output exceeding the limit is dropped
+ * and summarized, e.g.
+ * "{@code ... 48,213 lines suppressed from thread worker-3}". Of a chunk of
+ * output exceeding the limit, the prefix which still fits is admitted.
+ * <p>
+ * The limiter is disabled until {@link #setLimit(double, long)} is called;
+ * {@link SwingConsolePane} enables it with a default limit.
+ * </p>
+ * <p>
+ * The summary of a thread's suppressed output is emitted as soon as the thread
+ * is admitted again, before the admitted text, or by {@link #flush(Consumer)}
+ * once the thread went quiet.
+ * </p>
+ */
+class ConsoleRateLimiter {
+
+	/** Time without suppressed output, after which a summary is flushed. */
+	private static final long QUIET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final Map<Thread, Bucket> buckets = new ConcurrentHashMap<>();
+	private final LongSupplier clock;
+
+	private volatile double rate;
+	private volatile long burst;
+
+	ConsoleRateLimiter() {
+		this(System::nanoTime);
+	}
+
+	/** Creates a rate limiter using the given nanosecond clock. */
+	ConsoleRateLimiter(final LongSupplier clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Sets the limits applied to each thread.
+	 *
+	 * @param rate Number of characters per second a thread may emit in the long
+	 *          run; zero or a negative value disables rate limiting.
+	 * @param burst Number of characters a thread may emit at once.
+	 */
+	void setLimit(final double rate, final long burst) {
+		this.rate = rate;
+		this.burst = burst;
+	}
+
+	boolean isEnabled() {
+		return rate > 0;
+	}
+
+	/**
+	 * Checks how much of the given text the current thread may emit.
+	 *
+	 * @param text The output about to be emitted.
+	 * @param summaries Receives the summary of output which was suppressed
+	 *          before, if any text is admitted.
+	 * @return The text, or the prefix of it which may be displayed, or null if
+	 *         all of it must be dropped.
+	 */
+	String admit(final String text, final Consumer<String> summaries) {
+		if (!isEnabled()) return text;
+		final Thread thread = Thread.currentThread();
+		Bucket bucket = buckets.get(thread);
+		if (bucket == null) {
+			bucket = new Bucket(thread.getName());
+			buckets.put(thread, bucket);
+		}
+		final String summary;
+		int admitted;
+		synchronized (bucket) {
+			admitted = bucket.acquire(text.length());
+			// NB: Do not split a surrogate pair.
+			if (admitted > 0 && admitted < text.length() && Character
+				.isHighSurrogate(text.charAt(admitted - 1)))
+			{
+				admitted--;
+			}
+			if (admitted == 0) {
+				bucket.suppress(text, 0);
+				return null;
+			}
+			// NB: Summarize the earlier output before the admitted text, and leave
+			// the summary of the text's suppressed tail for later.
+			summary = bucket.takeSummary();
+			if (admitted < text.length()) bucket.suppress(text, admitted);
+			bucket.midLine = text.charAt(admitted - 1) != '\n';
+		}
+		if (summary != null) summaries.accept(summary);
+		return admitted == text.length() ? text : text.substring(0, admitted);
+	}
+
+	/**
+	 * Emits the summaries of threads which have not produced suppressed output
+	 * for a while, and forgets about terminated threads.
+	 */
+	void flush(final Consumer<String> summaries) {
+		final long now = clock.getAsLong();
+		final Iterator<Map.Entry<Thread, Bucket>> iter = buckets.entrySet()
+			.iterator();
+		while (iter.hasNext()) {
+			final Map.Entry<Thread, Bucket> entry = iter.next();
+			final Bucket bucket = entry.getValue();
+			final String summary;
+			synchronized (bucket) {
+				summary = now - bucket.lastSuppressed >= QUIET_NANOS ? bucket
+					.takeSummary() : null;
+				if (!entry.getKey().isAlive() && bucket.suppressedChars == 0) {
+					iter.remove();
+				}
+			}
+			if (summary != null) summaries.accept(summary);
+		}
+	}
+
+	// -- Helper classes --
+
+	private class Bucket {
+
+		private final String name;
+		private double tokens = burst;
+		private long lastRefill = clock.getAsLong();
+		private long lastSuppressed;
+		private long suppressedLines;
+		private long suppressedChars;
+
+		/** Whether the last admitted text ended without a line break. */
+		private boolean midLine;
+
+		private Bucket(final String name) {
+			this.name = name;
+		}
+
+		/** Takes up to the given number of tokens, returning how many it took. */
+		private int acquire(final int chars) {
+			final long now = clock.getAsLong();
+			tokens = Math.min(burst, tokens + (now - lastRefill) * rate / 1e9);
+			lastRefill = now;
+			final int acquired = (int) Math.min(chars, Math.max(0, tokens));
+			tokens -= acquired;
+			return acquired;
+		}
+
+		/** Records the text from the given index on as suppressed. */
+		private void suppress(final String text, final int from) {
+			lastSuppressed = clock.getAsLong();
+			suppressedChars += text.length() - from;
+			for (int i = text.indexOf('\n', from); i >= 0; i = text.indexOf('\n',
+				i + 1))
+			{
+				suppressedLines++;
+			}
+		}
+
+		private String takeSummary() {
+			if (suppressedChars == 0) return null;
+			final String what = suppressedLines > 0 ? //
+				plural(suppressedLines, "line") : //
+				plural(suppressedChars, "character");
+			// NB: Start the summary on a line of its own.
+			final String start = midLine ? "\n" : "";
+			suppressedLines = 0;
+			suppressedChars = 0;
+			midLine = false;
+			return start + "\u2026 " + what + " suppressed from thread " + name +
+				"\n";
+		}
+
+		private String plural(final long count, final String noun) {
+			return String.format("%,d %s%s", count, noun, count == 1 ? "" : "s");
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.console;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics on how far the {@link ConsolePanel} lags behind the output it
+ * receives.
+ * <p>
+ * The time an output event is received from {@link SwingConsolePane#append} is
+ * compared to the time its text is inserted into the document on the event
+ * dispatch thread. Additionally, the number of events waiting to be inserted
+ * is tracked. All methods are thread safe and lock-free.
+ * </p>
+ */
+public class ConsoleStats {
+
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final AtomicLong events = new AtomicLong();
+	private final AtomicInteger queueDepth = new AtomicInteger();
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+	/**
+	 * Notes that an output event was received and is waiting to be inserted.
+	 *
+	 * @return The time stamp to pass to {@link #inserted(long)}.
+	 */
+	public long queued() {
+		final int depth = queueDepth.incrementAndGet();
+		int max = maxQueueDepth.get();
+		while (depth > max && !maxQueueDepth.compareAndSet(max, depth)) {
+			max = maxQueueDepth.get();
+		}
+		return System.nanoTime();
+	}
+
+	/**
+	 * Notes that the text of an output event was inserted into the document.
+	 *
+	 * @param queued The time stamp returned by {@link #queued()}.
+	 */
+	public void inserted(final long queued) {
+		latency.record(System.nanoTime() - queued);
+		queueDepth.decrementAndGet();
+		events.incrementAndGet();
+	}
+
+	/** Gets the number of output events inserted into the document. */
+	public long getEventCount() {
+		return events.get();
+	}
+
+	/** Gets the number of output events currently waiting to be inserted. */
+	public int getQueueDepth() {
+		return queueDepth.get();
+	}
+
+	/** Gets the largest number of output events that waited at once. */
+	public int getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	/** Gets the histogram of delays from receiving to displaying output. */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	/** Discards the recorded latencies, event count and maximum queue depth. */
+	public void reset() {
+		latency.reset();
+		events.set(0);
+		maxQueueDepth.set(queueDepth.get());
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Events displayed:    %,d%n" +
+			"Queue depth:         %,d (max %,d)%n" +
+			"Latency mean:        %s%n" +
+			"Latency 50%%:         %s%n" +
+			"Latency 90%%:         %s%n" +
+			"Latency 99%%:         %s%n" +
+			"Latency max:         %s", getEventCount(), getQueueDepth(),
+			getMaxQueueDepth(), millis((long) latency.getMean()), millis(latency
+				.getValueAtQuantile(0.5)), millis(latency.getValueAtQuantile(0.9)),
+			millis(latency.getValueAtQuantile(0.99)), millis(latency.getMax()));
+	}
+
+	// -- Helper methods --
+
+	private static String millis(final long nanos) {
+		return String.format("%.1f ms", nanos / (double) TimeUnit.MILLISECONDS
+			.toNanos(1));
+	}
+
+}
@@ -39,13 +39,13 @@ import javax.swing.JScrollPane;
 import javax.swing.JTextPane;
 import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
-import javax.swing.text.DefaultStyledDocument;
 import javax.swing.text.StyledDocument;
 
 import org.scijava.Context;
 import org.scijava.plugin.Parameter;
 import org.scijava.thread.ThreadService;
 import org.scijava.ui.swing.StaticSwingUtils;
+import org.scijava.ui.swing.text.CompactDocuments;
 
 /**
  * {@link ItemTextPane} provides a {@link JTextPane} in a {@link JScrollPane}.
@@ -196,7 +196,8 @@ class ItemTextPane {
 
 		private final Iterator<Item> data;
 
-		private final StyledDocument document = new DefaultStyledDocument();
+		private final StyledDocument document = CompactDocuments
+			.newStyledDocument();
 
 		private boolean canceled = false;
 
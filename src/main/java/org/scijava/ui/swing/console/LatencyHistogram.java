@@ -0,0 +1,135 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.console;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations in nanoseconds.
+ * <p>
+ * The buckets are log-linear, in the spirit of an HDR histogram: every power
+ * of two is divided into 32 equally sized buckets. Recorded values are
+ * therefore reported with a relative error below 1/32, using a small and fixed
+ * amount of memory. Recording a value is lock-free and safe to do from any
+ * thread.
+ * </p>
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Values above 2^42 ns (more than an hour) are clamped. */
+	private static final int MAX_EXPONENT = 42;
+
+	private final AtomicLongArray counts = new AtomicLongArray(
+		(MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/** Records a duration in nanoseconds. Negative values count as zero. */
+	public void record(final long nanos) {
+		final long value = Math.max(nanos, 0);
+		counts.incrementAndGet(index(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	/** Gets the number of recorded values. */
+	public long getCount() {
+		return count.get();
+	}
+
+	/** Gets the largest recorded value in nanoseconds. */
+	public long getMax() {
+		return max.get();
+	}
+
+	/** Gets the mean of the recorded values in nanoseconds. */
+	public double getMean() {
+		final long n = count.get();
+		return n == 0 ? 0 : sum.get() / (double) n;
+	}
+
+	/**
+	 * Gets the value below which the given fraction of the recorded values
+	 * fall, in nanoseconds.
+	 *
+	 * @param quantile A number between 0 and 1; e.g. 0.99 for the 99th
+	 *          percentile.
+	 */
+	public long getValueAtQuantile(final double quantile) {
+		final long n = count.get();
+		if (n == 0) return 0;
+		final long rank = Math.max(1, (long) Math.ceil(quantile * n));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= rank) return Math.min(representativeValue(i), getMax());
+		}
+		return getMax();
+	}
+
+	/** Discards all recorded values. */
+	public void reset() {
+		for (int i = 0; i < counts.length(); i++)
+			counts.set(i, 0);
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	// -- Helper methods --
+
+	private static int index(final long value) {
+		if (value < SUB_BUCKETS) return (int) value;
+		final int exponent = Math.min(63 - Long.numberOfLeadingZeros(value),
+			MAX_EXPONENT);
+		final int shift = exponent - SUB_BUCKET_BITS;
+		final int subBucket = value >= 1L << (MAX_EXPONENT + 1) ? SUB_BUCKETS - 1
+			: (int) (value >>> shift) & (SUB_BUCKETS - 1);
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/** Gets the middle of the range of values counted by the given bucket. */
+	private static long representativeValue(final int index) {
+		if (index < SUB_BUCKETS) return index;
+		final int shift = index / SUB_BUCKETS - 1;
+		final long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lower + ((1L << shift) >> 1);
+	}
+
+}
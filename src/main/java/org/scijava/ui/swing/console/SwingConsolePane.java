@@ -30,10 +30,17 @@
 package org.scijava.ui.swing.console;
 
 import java.awt.Component;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 
 import javax.swing.JPanel;
 import javax.swing.JTabbedPane;
 import javax.swing.JTextPane;
+import javax.swing.Timer;
 
 import net.miginfocom.swing.MigLayout;
 
@@ -64,6 +71,22 @@ public class SwingConsolePane extends AbstractConsolePane<JPanel> {
 	 */
 	private static final String LOG_FORMATTING_SETTINGS_KEY = "log-formatting";
 
+	/** Interval in which suppressed output is summarized and files flushed. */
+	private static final int FLUSH_INTERVAL_MILLIS = 1000;
+
+	/**
+	 * Default number of characters per second each thread may display. Well
+	 * above what anyone can read, but low enough to keep a runaway producer
+	 * from flooding the console.
+	 */
+	private static final double DEFAULT_RATE = 100000;
+
+	/** Default number of characters each thread may display at once. */
+	private static final long DEFAULT_BURST = 1000000;
+
+	/** Queue on which output is written to the file sink. */
+	private static final String SINK_QUEUE = "console-file-sink";
+
 	@Parameter
 	private Context context;
 
@@ -90,8 +113,30 @@ public class SwingConsolePane extends AbstractConsolePane<JPanel> {
 
 	private boolean initializing;
 
+	private final ConsoleRateLimiter rateLimiter = new ConsoleRateLimiter();
+
+	/**
+	 * Receives the complete output, including output suppressed on screen. Only
+	 * accessed on the {@link #SINK_QUEUE}.
+	 */
+	private Writer fileSink;
+
+	/** Whether output is collected for the file sink. */
+	private volatile boolean sinkOpen;
+
+	private final Object sinkLock = new Object();
+
+	/** Output not yet written to the file sink, guarded by sinkLock. */
+	private final StringBuilder sinkBuffer = new StringBuilder();
+
+	/** Whether a write of the sink buffer is queued, guarded by sinkLock. */
+	private boolean sinkWriteQueued;
+
+	private Timer flushTimer;
+
 	public SwingConsolePane(final Context context) {
 		super(context);
+		rateLimiter.setLimit(DEFAULT_RATE, DEFAULT_BURST);
 	}
 
 	// -- SwingConsolePane methods --
@@ -105,11 +150,83 @@ public class SwingConsolePane extends AbstractConsolePane<JPanel> {
 		consolePanel().clear();
 	}
 
+	/**
+	 * Gets statistics on how far the console lags behind the output passed to
+	 * {@link #append(OutputEvent)}.
+	 */
+	public ConsoleStats getStats() {
+		return consolePanel().getStats();
+	}
+
+	/**
+	 * Limits how much output each thread may display. A thread may display a
+	 * burst of characters at once, and is then limited to the given number of
+	 * characters per second. Output exceeding the limit is not displayed, but
+	 * summarized once the thread slows down again. By default, each thread may
+	 * display a burst of 1,000,000 characters, and then 100,000 characters per
+	 * second.
+	 *
+	 * @param charactersPerSecond Steady rate of characters per second and
+	 *          thread; zero or a negative value disables the limit.
+	 * @param burstCharacters Number of characters a thread may display at once.
+	 * @see #setFileSink(File)
+	 */
+	public void setRateLimit(final double charactersPerSecond,
+		final long burstCharacters)
+	{
+		rateLimiter.setLimit(charactersPerSecond, burstCharacters);
+	}
+
+	/**
+	 * Appends all output to the given file, including output which is not
+	 * displayed due to the rate limit.
+	 *
+	 * @param file The file to append to, or null to stop writing output to a
+	 *          file.
+	 * @throws IOException if the file cannot be opened.
+	 * @see #setRateLimit(double, long)
+	 */
+	public void setFileSink(final File file) throws IOException {
+		final Writer writer = file == null ? null : Files.newBufferedWriter(file
+			.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+			StandardOpenOption.APPEND);
+		if (writer != null) sinkOpen = true;
+		threadService.queue(SINK_QUEUE, () -> {
+			// NB: Output collected so far still belongs to the previous file.
+			writeSinkBuffer();
+			closeFileSink();
+			fileSink = writer;
+			sinkOpen = writer != null;
+		});
+	}
+
+	/**
+	 * Stops the periodic flushing of this pane, and closes its file sink once
+	 * all collected output is written.
+	 */
+	public void dispose() {
+		if (flushTimer != null) flushTimer.stop();
+		if (loggingPanel != null) logService.removeLogListener(loggingPanel);
+		sinkOpen = false;
+		threadService.queue(SINK_QUEUE, () -> {
+			writeSinkBuffer();
+			closeFileSink();
+		});
+	}
+
 	// -- ConsolePane methods --
 
 	@Override
 	public void append(final OutputEvent event) {
-		consolePanel().outputOccurred(event);
+		final String output = event.getOutput();
+		if (sinkOpen) collectForFileSink(output);
+		final ConsolePanel panel = consolePanel();
+		final String admitted = rateLimiter.admit(output, this::appendSummary);
+		if (admitted == output) panel.outputOccurred(event);
+		else if (admitted != null) {
+			panel.outputOccurred(new OutputEvent(context, event.getSource(),
+				admitted, event.isContextual()));
+		}
 	}
 
 	@Override
@@ -194,9 +311,89 @@ public class SwingConsolePane extends AbstractConsolePane<JPanel> {
 		tabs.addTab("Console", consolePanel);
 		tabs.addTab("Log", loggingPanel);
 		component.add(tabs, "grow");
+		flushTimer = new Timer(FLUSH_INTERVAL_MILLIS, e -> flush());
+		flushTimer.start();
 		initializing = false;
 	}
 
+	// -- Helper methods - output --
+
+	private void appendSummary(final String summary) {
+		consolePanel().outputOccurred(new OutputEvent(context,
+			OutputEvent.Source.STDERR, summary, false));
+	}
+
+	private void collectForFileSink(final String output) {
+		final boolean queue;
+		synchronized (sinkLock) {
+			sinkBuffer.append(output);
+			queue = !sinkWriteQueued;
+			sinkWriteQueued = true;
+		}
+		if (queue) threadService.queue(SINK_QUEUE, this::writeSinkBuffer);
+	}
+
+	private void flush() {
+		rateLimiter.flush(this::appendSummary);
+		if (sinkOpen) threadService.queue(SINK_QUEUE, this::flushFileSink);
+	}
+
+	// -- Helper methods - file sink queue --
+
+	private void writeSinkBuffer() {
+		final String output;
+		synchronized (sinkLock) {
+			output = sinkBuffer.toString();
+			sinkBuffer.setLength(0);
+			if (sinkBuffer.capacity() > 1 << 20) sinkBuffer.trimToSize();
+			sinkWriteQueued = false;
+		}
+		if (fileSink == null || output.isEmpty()) return;
+		try {
+			fileSink.write(output);
+		}
+		catch (final IOException exc) {
+			failFileSink(exc);
+		}
+	}
+
+	private void flushFileSink() {
+		writeSinkBuffer();
+		if (fileSink == null) return;
+		try {
+			fileSink.flush();
+		}
+		catch (final IOException exc) {
+			failFileSink(exc);
+		}
+	}
+
+	private void closeFileSink() {
+		if (fileSink == null) return;
+		try {
+			fileSink.close();
+		}
+		catch (final IOException exc) {
+			logService.error("Cannot write console output to file", exc);
+		}
+		fileSink = null;
+	}
+
+	/** Stops writing to the file sink after an error. */
+	private void failFileSink(final IOException exc) {
+		final Writer writer = fileSink;
+		fileSink = null;
+		sinkOpen = false;
+		try {
+			writer.close();
+		}
+		catch (final IOException closeExc) {
+			exc.addSuppressed(closeExc);
+		}
+		// NB: The file sink is already closed, so this cannot recurse.
+		logService.error("Cannot write console output to file", exc);
+	}
+
 	// -- Helper methods - testing --
 
 	JTextPane getTextPane() {
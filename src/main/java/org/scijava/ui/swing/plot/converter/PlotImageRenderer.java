@@ -0,0 +1,278 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.plot.converter;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+import org.jfree.chart.JFreeChart;
+import org.scijava.convert.ConvertService;
+import org.scijava.plot.Plot;
+import org.scijava.prefs.PrefService;
+
+/**
+ * Renders {@link Plot}s to {@link BufferedImage}s, one at a time or many
+ * concurrently.
+ * <p>
+ * A batch is rendered by a bounded pool of workers, each of which takes the
+ * next plot from a shared counter and draws it with its own image buffer and
+ * {@link Graphics2D}. Rendering needs no display, so it works with
+ * {@code java.awt.headless=true}.
+ * </p>
+ * <p>
+ * The output size is that of each plot unless set otherwise, in points of
+ * 1/72 inch. A resolution other than 72 DPI scales the image, but not the
+ * layout of the chart. {@link PlotsToBufferedImagesConverter} takes these
+ * settings from the preferences of this class, so that they can be set for
+ * batches of plots converted by the {@link ConvertService}.
+ * </p>
+ */
+public class PlotImageRenderer {
+
+	/** Resolution at which one point of the plot becomes one pixel. */
+	public static final double DEFAULT_DPI = 72;
+
+	/** Preference key of the width used for batches of plots, in points. */
+	public static final String WIDTH_PREF = "width";
+
+	/** Preference key of the height used for batches of plots, in points. */
+	public static final String HEIGHT_PREF = "height";
+
+	/** Preference key of the resolution used for batches of plots. */
+	public static final String DPI_PREF = "dpi";
+
+	private final ConvertService convertService;
+
+	private int width;
+	private int height;
+	private double dpi = DEFAULT_DPI;
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	public PlotImageRenderer(final ConvertService convertService) {
+		this.convertService = convertService;
+	}
+
+	// -- Settings --
+
+	/**
+	 * Sets the size of the chart, in points. Zero or less for either dimension,
+	 * the default, uses the preferred size of each plot.
+	 */
+	public void setSize(final int width, final int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	/** Sets the resolution of the images, in dots per inch. */
+	public void setDpi(final double dpi) {
+		if (!(dpi > 0)) throw new IllegalArgumentException("Invalid DPI: " + dpi);
+		this.dpi = dpi;
+	}
+
+	public double getDpi() {
+		return dpi;
+	}
+
+	/**
+	 * Sets the maximal number of plots rendered at the same time. Defaults to
+	 * the number of available processors.
+	 */
+	public void setThreads(final int threads) {
+		if (threads < 1) throw new IllegalArgumentException(
+			"Invalid thread count: " + threads);
+		this.threads = threads;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Applies the size and resolution stored in the preferences of this class,
+	 * under {@link #WIDTH_PREF}, {@link #HEIGHT_PREF} and {@link #DPI_PREF}.
+	 * Settings which are not stored, or invalid, are left unchanged.
+	 *
+	 * @param prefService The preferences, or null to change nothing.
+	 */
+	public void loadPreferences(final PrefService prefService) {
+		if (prefService == null) return;
+		setSize(prefService.getInt(PlotImageRenderer.class, WIDTH_PREF, width),
+			prefService.getInt(PlotImageRenderer.class, HEIGHT_PREF, height));
+		final double prefDpi = prefService.getDouble(PlotImageRenderer.class,
+			DPI_PREF, dpi);
+		if (prefDpi > 0) dpi = prefDpi;
+	}
+
+	// -- Rendering --
+
+	/** Renders one plot into a new image, on the calling thread. */
+	public BufferedImage render(final Plot plot) {
+		final Worker worker = new Worker();
+		worker.draw(plot, true);
+		return worker.image;
+	}
+
+	/**
+	 * Renders the plots concurrently, each into a new image.
+	 *
+	 * @return the images, in the order of the plots
+	 * @throws InterruptedException if the calling thread is interrupted, in
+	 *           which case no further plots are rendered
+	 */
+	public List<BufferedImage> renderAll(final List<? extends Plot> plots)
+		throws InterruptedException
+	{
+		final BufferedImage[] images = new BufferedImage[plots.size()];
+		renderAll(plots, true, (image, index) -> images[index] = image);
+		return Arrays.asList(images);
+	}
+
+	/**
+	 * Renders the plots concurrently and passes each image with the index of its
+	 * plot to the consumer, from the thread that rendered it. The image is the
+	 * buffer of that thread, which is reused for its next plot, so the consumer
+	 * has to finish with it (e.g. write it to a file) before returning.
+	 */
+	public void renderAll(final List<? extends Plot> plots,
+		final ObjIntConsumer<BufferedImage> consumer) throws InterruptedException
+	{
+		renderAll(plots, false, consumer);
+	}
+
+	// -- Helper methods --
+
+	private void renderAll(final List<? extends Plot> plots,
+		final boolean newImages, final ObjIntConsumer<BufferedImage> consumer)
+		throws InterruptedException
+	{
+		final int workers = Math.min(threads, plots.size());
+		if (workers == 0) return;
+		final AtomicInteger next = new AtomicInteger();
+		final Runnable task = () -> {
+			final Worker worker = new Worker();
+			for (int i = next.getAndIncrement(); i < plots.size(); i = next
+				.getAndIncrement())
+			{
+				// NB: Stop when the caller is interrupted, or the pool shut down.
+				if (Thread.currentThread().isInterrupted()) break;
+				worker.draw(plots.get(i), newImages);
+				consumer.accept(worker.image, i);
+			}
+			worker.dispose();
+		};
+		if (workers == 1) {
+			task.run();
+			if (Thread.interrupted()) throw new InterruptedException();
+			return;
+		}
+		final ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+			final Thread thread = new Thread(r, "PlotImageRenderer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int w = 0; w < workers; w++)
+				futures.add(pool.submit(task));
+			for (final Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (final ExecutionException exc) {
+					// NB: Stop the other workers from taking further plots.
+					next.set(plots.size());
+					final Throwable cause = exc.getCause();
+					if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+					if (cause instanceof Error) throw (Error) cause;
+					throw new IllegalStateException(cause);
+				}
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// -- Helper classes --
+
+	/** Image buffer and graphics of one rendering thread. */
+	private class Worker {
+
+		private BufferedImage image;
+		private Graphics2D g;
+
+		void draw(final Plot plot, final boolean newImage) {
+			final int w = width > 0 && height > 0 ? width : plot.getPreferredWidth();
+			final int h = width > 0 && height > 0 ? height : plot
+				.getPreferredHeight();
+			final double scale = dpi / DEFAULT_DPI;
+			final int pixelWidth = Math.max(1, (int) Math.round(w * scale));
+			final int pixelHeight = Math.max(1, (int) Math.round(h * scale));
+			if (newImage || image == null || image.getWidth() != pixelWidth ||
+				image.getHeight() != pixelHeight)
+			{
+				dispose();
+				image = new BufferedImage(pixelWidth, pixelHeight,
+					BufferedImage.TYPE_INT_ARGB);
+				g = image.createGraphics();
+			}
+			else {
+				// NB: Reset what the previous chart may have left behind.
+				g.setTransform(new AffineTransform());
+				g.setClip(null);
+				g.setComposite(AlphaComposite.Clear);
+				g.fillRect(0, 0, pixelWidth, pixelHeight);
+				g.setComposite(AlphaComposite.SrcOver);
+			}
+			g.scale(scale, scale);
+			final JFreeChart chart = convertService.convert(plot, JFreeChart.class);
+			chart.draw(g, new Rectangle2D.Double(0, 0, w, h));
+			if (newImage) dispose();
+		}
+
+		void dispose() {
+			if (g != null) g.dispose();
+			g = null;
+		}
+	}
+
+}
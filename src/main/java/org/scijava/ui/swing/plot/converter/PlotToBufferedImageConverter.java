@@ -38,11 +38,12 @@ import org.scijava.plot.Plot;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 
-import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 
 /**
  * Converter plugin, that converts an {@link Plot} to {@link BufferedImage}.
+ * The image has the preferred size of the plot. Many plots are converted
+ * concurrently by {@link PlotsToBufferedImagesConverter}.
  *
  * @author Matthias Arzt
  * @see ConvertService
@@ -73,10 +74,7 @@ public class PlotToBufferedImageConverter extends AbstractConverter<Plot, Buffer
 	}
 
 	private BufferedImage toBufferedImage(Plot plot) {
-		BufferedImage image = new BufferedImage( plot.getPreferredWidth(), plot.getPreferredHeight(), BufferedImage.TYPE_INT_ARGB );
-		JFreeChart chart = convertService.convert(plot, JFreeChart.class);
-		chart.draw(image.createGraphics(), new Rectangle2D.Float(0, 0, image.getWidth(), image.getHeight()));
-		return image;
+		return new PlotImageRenderer(convertService).render(plot);
 	}
 
 	@Override
@@ -0,0 +1,119 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.plot.converter;
+
+import org.jfree.chart.JFreeChart;
+import org.scijava.Priority;
+import org.scijava.convert.AbstractConverter;
+import org.scijava.convert.ConversionRequest;
+import org.scijava.convert.ConvertService;
+import org.scijava.convert.Converter;
+import org.scijava.plot.Plot;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+import org.scijava.prefs.PrefService;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Converter plugin, that converts an array of {@link Plot}s to an array of
+ * {@link BufferedImage}s, rendering the plots concurrently with a
+ * {@link PlotImageRenderer}. The images have the preferred size of each plot,
+ * unless the size or resolution is set in the preferences of
+ * {@link PlotImageRenderer}. A single plot, converted by
+ * {@link PlotToBufferedImageConverter}, always has its preferred size.
+ * <p>
+ * If the converting thread is interrupted, the conversion throws a
+ * {@link CancellationException}, and the thread stays interrupted.
+ * </p>
+ *
+ * @see ConvertService
+ */
+@Plugin(type = Converter.class, priority = Priority.NORMAL)
+public class PlotsToBufferedImagesConverter extends AbstractConverter<Plot[], BufferedImage[]>
+{
+
+	@Parameter
+	ConvertService convertService;
+
+	@Parameter(required = false)
+	PrefService prefService;
+
+	@Override
+	public boolean canConvert(ConversionRequest request) {
+		if (!request.destClass().isAssignableFrom( BufferedImage[].class ) ||
+				!Plot[].class.isAssignableFrom( request.sourceClass() ))
+			return false;
+		if (!(request.sourceObject() instanceof Plot[]))
+			return true;
+		for (Plot plot : (Plot[]) request.sourceObject())
+			if (!convertService.supports(plot, JFreeChart.class))
+				return false;
+		return true;
+	}
+
+	@Override
+	public <T> T convert(Object o, Class<T> aClass) {
+		if(o instanceof Plot[] && BufferedImage[].class.equals(aClass)) {
+			@SuppressWarnings("unchecked")
+			T t = (T) toBufferedImages((Plot[]) o);
+			return t;
+		}
+		return null;
+	}
+
+	private BufferedImage[] toBufferedImages(Plot[] plots) {
+		final PlotImageRenderer renderer = new PlotImageRenderer(convertService);
+		renderer.loadPreferences(prefService);
+		try {
+			return renderer.renderAll(Arrays.asList(plots))
+					.toArray(new BufferedImage[plots.length]);
+		}
+		catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			final CancellationException cancelled =
+					new CancellationException("Interrupted while rendering plots");
+			cancelled.initCause(exc);
+			throw cancelled;
+		}
+	}
+
+	@Override
+	public Class<BufferedImage[]> getOutputType() {
+		return BufferedImage[].class;
+	}
+
+	@Override
+	public Class<Plot[]> getInputType() {
+		return Plot[].class;
+	}
+}
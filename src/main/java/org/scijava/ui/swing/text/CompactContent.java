@@ -0,0 +1,462 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.text;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.undo.UndoableEdit;
+
+/**
+ * {@link AbstractDocument.Content} which keeps text in compact byte arrays
+ * instead of UTF-16 chars, roughly halving the memory needed for the mostly
+ * ASCII output shown by the console, the log and text displays.
+ * <p>
+ * The text is split into segments of a few thousand characters. A segment
+ * containing only Latin-1 characters is stored with one byte per character,
+ * any other segment is stored in (modified) UTF-8. Only the most recently
+ * modified segment is kept as chars, so that appending text is cheap; all
+ * other segments are decoded only when they are painted or copied.
+ * </p>
+ * <p>
+ * Positions behave like those of {@link javax.swing.text.StringContent}.
+ * Edits cannot be undone.
+ * </p>
+ * <p>
+ * Documents using this content are created by {@link CompactDocuments}.
+ * </p>
+ */
+class CompactContent implements AbstractDocument.Content {
+
+	/** Number of chars a segment is split into, once it grows too large. */
+	private static final int SEGMENT_SIZE = 4096;
+
+	/** Maximal number of chars of a segment. */
+	private static final int MAX_SEGMENT_SIZE = 2 * SEGMENT_SIZE;
+
+	private final List<Chunk> chunks = new ArrayList<>();
+
+	/** The chunk which is currently kept as chars, or null. */
+	private Chunk open;
+
+	private int length;
+
+	/** Marks of all positions, sorted by offset. */
+	private final List<MarkRef> marks = new ArrayList<>();
+
+	private final ReferenceQueue<Mark> collected = new ReferenceQueue<>();
+
+	private int collectedCount;
+
+	CompactContent() {
+		// NB: Like any content, we start with the implied trailing newline.
+		final Chunk chunk = new Chunk(0);
+		chunks.add(chunk);
+		insert(chunk, 0, "\n");
+		length = 1;
+	}
+
+	// -- Content methods --
+
+	@Override
+	public synchronized Position createPosition(final int offset)
+		throws BadLocationException
+	{
+		if (offset < 0 || offset > length) {
+			throw new BadLocationException("Invalid position", offset);
+		}
+		purgeMarks();
+		// NB: Positions at the same offset share their mark, so that only few
+		// marks need to be moved when appending, even before garbage collection
+		// discarded the positions of replaced elements.
+		final int index = firstMark(offset);
+		Mark mark = index < marks.size() && marks.get(index).offset == offset
+			? marks.get(index).get() : null;
+		if (mark == null) {
+			mark = new Mark(offset);
+			marks.add(index, new MarkRef(mark, collected));
+		}
+		return new StickyPosition(mark);
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public synchronized UndoableEdit insertString(final int where,
+		final String str) throws BadLocationException
+	{
+		if (where < 0 || where > length) {
+			throw new BadLocationException("Invalid insert", where);
+		}
+		if (str.isEmpty()) return null;
+		// NB: Inserting at a chunk boundary appends to the preceding chunk.
+		final int index = where == 0 ? 0 : chunkIndex(where - 1);
+		final Chunk chunk = chunks.get(index);
+		insert(chunk, where - chunk.start, str);
+		length += str.length();
+		split(index);
+		updateStarts(index);
+		updateMarksForInsert(where, str.length());
+		return null;
+	}
+
+	@Override
+	public synchronized UndoableEdit remove(final int where, final int nitems)
+		throws BadLocationException
+	{
+		if (where < 0 || nitems < 0 || where + nitems >= length) {
+			throw new BadLocationException("Invalid remove", where + nitems);
+		}
+		if (nitems == 0) return null;
+		final int first = chunkIndex(where);
+		int index = first;
+		int remaining = nitems;
+		while (remaining > 0) {
+			final Chunk chunk = chunks.get(index);
+			final int from = Math.max(where - chunk.start, 0);
+			final int n = Math.min(chunk.length - from, remaining);
+			remaining -= n;
+			if (n == chunk.length) {
+				if (chunk == open) open = null;
+				chunks.remove(index);
+			}
+			else {
+				open(chunk);
+				System.arraycopy(chunk.chars, from + n, chunk.chars, from,
+					chunk.length - from - n);
+				chunk.length -= n;
+				index++;
+			}
+		}
+		length -= nitems;
+		updateStarts(Math.max(first - 1, 0));
+		updateMarksForRemove(where, nitems);
+		return null;
+	}
+
+	@Override
+	public String getString(final int where, final int len)
+		throws BadLocationException
+	{
+		final Segment segment = new Segment();
+		getChars(where, len, segment);
+		return segment.toString();
+	}
+
+	@Override
+	public synchronized void getChars(final int where, final int len,
+		final Segment txt) throws BadLocationException
+	{
+		if (where < 0 || len < 0 || where + len > length) {
+			throw new BadLocationException("Invalid location", where + len);
+		}
+		final char[] dest = new char[len];
+		int index = len == 0 ? 0 : chunkIndex(where);
+		int copied = 0;
+		while (copied < len) {
+			final Chunk chunk = chunks.get(index++);
+			final int from = Math.max(where - chunk.start, 0);
+			final int n = Math.min(chunk.length - from, len - copied);
+			chunk.copy(from, dest, copied, n);
+			copied += n;
+		}
+		txt.array = dest;
+		txt.offset = 0;
+		txt.count = len;
+	}
+
+	// -- Helper methods - chunks --
+
+	/** Gets the index of the chunk containing the given offset. */
+	private int chunkIndex(final int offset) {
+		int lo = 0;
+		int hi = chunks.size() - 1;
+		while (lo < hi) {
+			final int mid = (lo + hi + 1) >>> 1;
+			if (chunks.get(mid).start <= offset) lo = mid;
+			else hi = mid - 1;
+		}
+		return lo;
+	}
+
+	private void insert(final Chunk chunk, final int offset, final String str) {
+		open(chunk);
+		final int newLength = chunk.length + str.length();
+		if (newLength > chunk.chars.length) {
+			final char[] chars = new char[Math.max(newLength, Math.min(
+				MAX_SEGMENT_SIZE, 2 * chunk.chars.length))];
+			System.arraycopy(chunk.chars, 0, chars, 0, chunk.length);
+			chunk.chars = chars;
+		}
+		System.arraycopy(chunk.chars, offset, chunk.chars, offset + str.length(),
+			chunk.length - offset);
+		str.getChars(0, str.length(), chunk.chars, offset);
+		chunk.length = newLength;
+	}
+
+	/**
+	 * Splits the given chunk into chunks of {@link #SEGMENT_SIZE} chars, if it
+	 * became too large. The last part stays open.
+	 */
+	private void split(final int index) {
+		final Chunk chunk = chunks.get(index);
+		if (chunk.length <= MAX_SEGMENT_SIZE) return;
+		final char[] chars = chunk.chars;
+		final int total = chunk.length;
+		final List<Chunk> parts = new ArrayList<>();
+		for (int offset = 0; offset < total; offset += SEGMENT_SIZE) {
+			final Chunk part = new Chunk(chunk.start + offset);
+			part.chars = chars;
+			part.length = Math.min(SEGMENT_SIZE, total - offset);
+			// NB: Encoding copies the chars, so they can all share one array.
+			if (offset + SEGMENT_SIZE < total) part.seal(offset);
+			else {
+				part.chars = new char[MAX_SEGMENT_SIZE];
+				System.arraycopy(chars, offset, part.chars, 0, part.length);
+				open = part;
+			}
+			parts.add(part);
+		}
+		chunks.remove(index);
+		chunks.addAll(index, parts);
+	}
+
+	/** Decodes the given chunk, sealing the previously open chunk. */
+	private void open(final Chunk chunk) {
+		if (open == chunk) return;
+		if (open != null) open.seal(0);
+		final char[] chars = new char[Math.max(chunk.length, SEGMENT_SIZE / 4)];
+		chunk.copy(0, chars, 0, chunk.length);
+		chunk.chars = chars;
+		chunk.bytes = null;
+		open = chunk;
+	}
+
+	private void updateStarts(final int index) {
+		int start = index == 0 ? 0 : chunks.get(index - 1).start + chunks.get(
+			index - 1).length;
+		for (int i = index; i < chunks.size(); i++) {
+			final Chunk chunk = chunks.get(i);
+			chunk.start = start;
+			start += chunk.length;
+		}
+	}
+
+	// -- Helper methods - marks --
+
+	/** Gets the index of the first mark with an offset of at least the given. */
+	private int firstMark(final int offset) {
+		int lo = 0;
+		int hi = marks.size();
+		while (lo < hi) {
+			final int mid = (lo + hi) >>> 1;
+			if (marks.get(mid).offset < offset) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	private void updateMarksForInsert(final int offset, final int len) {
+		// NB: Like StringContent, marks at offset 0 never move.
+		for (int i = firstMark(Math.max(offset, 1)); i < marks.size(); i++) {
+			final MarkRef ref = marks.get(i);
+			ref.setOffset(ref.offset + len);
+		}
+	}
+
+	private void updateMarksForRemove(final int offset, final int len) {
+		final int end = offset + len;
+		for (int i = firstMark(offset); i < marks.size(); i++) {
+			final MarkRef ref = marks.get(i);
+			ref.setOffset(ref.offset >= end ? ref.offset - len : offset);
+		}
+	}
+
+	/** Discards marks of collected positions, once they make up half. */
+	private void purgeMarks() {
+		while (collected.poll() != null)
+			collectedCount++;
+		if (collectedCount < 64 || 2 * collectedCount < marks.size()) return;
+		marks.removeIf(ref -> ref.get() == null);
+		collectedCount = 0;
+	}
+
+	// -- Helper classes --
+
+	/** Part of the text, stored either as chars or as bytes. */
+	private static class Chunk {
+
+		private int start;
+		private int length;
+
+		/** The text, while this chunk is open. */
+		private char[] chars;
+
+		/** The text, while this chunk is sealed. */
+		private byte[] bytes;
+
+		/** Whether {@link #bytes} holds Latin-1 rather than UTF-8. */
+		private boolean latin1;
+
+		private Chunk(final int start) {
+			this.start = start;
+		}
+
+		/** Encodes the chars, starting at the given offset, into bytes. */
+		private void seal(final int offset) {
+			int size = 0;
+			for (int i = offset; i < offset + length; i++) {
+				final char c = chars[i];
+				size += c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+			}
+			latin1 = true;
+			for (int i = offset; i < offset + length && latin1; i++) {
+				latin1 = chars[i] <= 0xff;
+			}
+			bytes = new byte[latin1 ? length : size];
+			if (latin1) {
+				for (int i = 0; i < length; i++) {
+					bytes[i] = (byte) chars[offset + i];
+				}
+			}
+			else {
+				// NB: Surrogates are encoded one by one, as in modified UTF-8.
+				int b = 0;
+				for (int i = offset; i < offset + length; i++) {
+					final char c = chars[i];
+					if (c < 0x80) bytes[b++] = (byte) c;
+					else if (c < 0x800) {
+						bytes[b++] = (byte) (0xc0 | c >> 6);
+						bytes[b++] = (byte) (0x80 | c & 0x3f);
+					}
+					else {
+						bytes[b++] = (byte) (0xe0 | c >> 12);
+						bytes[b++] = (byte) (0x80 | c >> 6 & 0x3f);
+						bytes[b++] = (byte) (0x80 | c & 0x3f);
+					}
+				}
+			}
+			chars = null;
+		}
+
+		/** Copies n chars, starting at the given offset, into dest. */
+		private void copy(final int from, final char[] dest, final int destPos,
+			final int n)
+		{
+			if (chars != null) {
+				System.arraycopy(chars, from, dest, destPos, n);
+			}
+			else if (latin1) {
+				for (int i = 0; i < n; i++) {
+					dest[destPos + i] = (char) (bytes[from + i] & 0xff);
+				}
+			}
+			else {
+				int b = 0;
+				for (int i = 0; i < from + n; i++) {
+					final int c = bytes[b] & 0xff;
+					final char decoded;
+					if (c < 0x80) {
+						decoded = (char) c;
+						b += 1;
+					}
+					else if (c < 0xe0) {
+						decoded = (char) ((c & 0x1f) << 6 | bytes[b + 1] & 0x3f);
+						b += 2;
+					}
+					else {
+						decoded = (char) ((c & 0x0f) << 12 | (bytes[b + 1] & 0x3f) << 6 |
+							bytes[b + 2] & 0x3f);
+						b += 3;
+					}
+					if (i >= from) dest[destPos + i - from] = decoded;
+				}
+			}
+		}
+	}
+
+	/** Offset of the positions created at the same offset. */
+	private static class Mark {
+
+		private int offset;
+
+		private Mark(final int offset) {
+			this.offset = offset;
+		}
+	}
+
+	/**
+	 * Reference to a {@link Mark}, which is discarded once all of its positions
+	 * are gone. Remembers the offset, to keep the marks sorted until then.
+	 */
+	private static class MarkRef extends WeakReference<Mark> {
+
+		private int offset;
+
+		private MarkRef(final Mark mark, final ReferenceQueue<Mark> queue) {
+			super(mark, queue);
+			offset = mark.offset;
+		}
+
+		private void setOffset(final int offset) {
+			this.offset = offset;
+			final Mark mark = get();
+			if (mark != null) mark.offset = offset;
+		}
+	}
+
+	private static class StickyPosition implements Position {
+
+		private final Mark mark;
+
+		private StickyPosition(final Mark mark) {
+			this.mark = mark;
+		}
+
+		@Override
+		public int getOffset() {
+			return mark.offset;
+		}
+
+		@Override
+		public String toString() {
+			return Integer.toString(getOffset());
+		}
+	}
+}
@@ -33,6 +33,8 @@ import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.scijava.convert.ConvertService;
 import org.scijava.plot.Plot;
+import org.scijava.ui.swing.viewer.plot.jfreechart.ChartUpdater;
+import org.scijava.ui.swing.viewer.plot.jfreechart.RingBufferXYDataset;
 import org.scijava.ui.viewer.DisplayWindow;
 import org.scijava.ui.viewer.plot.PlotDisplay;
 import org.scijava.ui.viewer.plot.PlotDisplayPanel;
@@ -43,17 +45,33 @@ import java.util.Objects;
 
 /**
  * A JFreeChart-driven display panel for {@link Plot}s.
+ * <p>
+ * Redraw requests are coalesced to one chart update per frame. The update
+ * changes the existing chart in place where possible, so a plot fed by a
+ * running analysis can refresh many times per second. Charts showing a
+ * {@link RingBufferXYDataset} are flushed once per frame while the panel is
+ * displayable, however fast items are added to the dataset.
+ * </p>
  * 
  * @author Curtis Rueden
  */
 public class SwingPlotDisplayPanel extends JPanel implements PlotDisplayPanel
 {
 
+	/**
+	 * Delay in milliseconds over which redraw requests are coalesced, and
+	 * between flushes of streaming datasets.
+	 */
+	private static final int FRAME_MILLIS = 33;
+
 	// -- instance variables --
 
 	private final DisplayWindow window;
 	private final PlotDisplay display;
 	private final ConvertService convertService;
+	private final Timer redrawTimer;
+	private final Timer streamTimer;
+	private ChartPanel chartPanel;
 	private Dimension prefferedSize;
 
 	// -- constructor --
@@ -64,6 +82,10 @@ public class SwingPlotDisplayPanel extends JPanel implements PlotDisplayPanel
 		this.display = display;
 		this.window = window;
 		this.convertService = convertService;
+		redrawTimer = new Timer(FRAME_MILLIS, e -> updateChart());
+		redrawTimer.setRepeats(false);
+		streamTimer = new Timer(FRAME_MILLIS, e -> ChartUpdater.flush(chartPanel
+			.getChart()));
 		setLayout(new BorderLayout());
 		initPreferredSize();
 		setupChart();
@@ -77,7 +99,23 @@ public class SwingPlotDisplayPanel extends JPanel implements PlotDisplayPanel
 
 	private void setupChart() {
 		final JFreeChart chart = convertToJFreeChart(display.get(0));
-		add(new ChartPanel(chart));
+		chartPanel = new ChartPanel(chart);
+		add(chartPanel);
+	}
+
+	private void updateChart() {
+		final Plot plot = display.get(0);
+		if (!ChartUpdater.update(plot, chartPanel.getChart())) {
+			chartPanel.setChart(convertToJFreeChart(plot));
+			updateStreaming();
+		}
+	}
+
+	private void updateStreaming() {
+		if (isDisplayable() && ChartUpdater.isStreaming(chartPanel.getChart())) {
+			if (!streamTimer.isRunning()) streamTimer.start();
+		}
+		else streamTimer.stop();
 	}
 
 	private JFreeChart convertToJFreeChart(Plot plot) {
@@ -88,6 +126,20 @@ public class SwingPlotDisplayPanel extends JPanel implements PlotDisplayPanel
 		return convertService.supports(abstractPlot, JFreeChart.class);
 	}
 
+	// -- Component methods --
+
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		updateStreaming();
+	}
+
+	@Override
+	public void removeNotify() {
+		super.removeNotify();
+		updateStreaming();
+	}
+
 	// -- PlotDisplayPanel methods --
 
 	@Override
@@ -109,7 +161,9 @@ public class SwingPlotDisplayPanel extends JPanel implements PlotDisplayPanel
 	public void setLabel(final String s) { }
 
 	@Override
-	public void redraw() { }
+	public void redraw() {
+		if (!redrawTimer.isRunning()) redrawTimer.start();
+	}
 
 	@Override
 	public Dimension getPreferredSize() {
@@ -0,0 +1,106 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.data.xy.XYDataset;
+import org.scijava.plot.Plot;
+import org.scijava.plot.XYPlot;
+
+/**
+ * Updates {@link JFreeChart}s created by the converters of this package when
+ * their {@link Plot} has changed, without creating them again.
+ */
+public final class ChartUpdater {
+
+	private ChartUpdater() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Brings the chart up to date with the plot it was converted from. The chart
+	 * fires at most one change event.
+	 *
+	 * @return false if the chart can not be updated in place, for instance
+	 *         because series were added or removed; it then has to be converted
+	 *         again.
+	 */
+	public static boolean update(final Plot plot, final JFreeChart chart) {
+		if (plot instanceof XYPlot) return XYPlotGenerator.update((XYPlot) plot,
+			chart);
+		return false;
+	}
+
+	/** Whether the chart shows any {@link RingBufferXYDataset}. */
+	public static boolean isStreaming(final JFreeChart chart) {
+		if (!(chart.getPlot() instanceof org.jfree.chart.plot.XYPlot)) return false;
+		for (final XYDataset dataset : ((org.jfree.chart.plot.XYPlot) chart
+			.getPlot()).getDatasets().values())
+		{
+			if (dataset instanceof RingBufferXYDataset) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Flushes the {@link RingBufferXYDataset}s shown by the chart. If any of
+	 * them had pending items, the chart fires one change event.
+	 *
+	 * @return false if there were no pending items
+	 */
+	public static boolean flush(final JFreeChart chart) {
+		if (!(chart.getPlot() instanceof org.jfree.chart.plot.XYPlot)) return false;
+		final List<RingBufferXYDataset> pending = new ArrayList<>();
+		for (final XYDataset dataset : ((org.jfree.chart.plot.XYPlot) chart
+			.getPlot()).getDatasets().values())
+		{
+			if (dataset instanceof RingBufferXYDataset &&
+				((RingBufferXYDataset) dataset).hasPending())
+			{
+				pending.add((RingBufferXYDataset) dataset);
+			}
+		}
+		if (pending.isEmpty()) return false;
+		final boolean notify = chart.isNotify();
+		chart.setNotify(false);
+		try {
+			for (final RingBufferXYDataset dataset : pending)
+				dataset.flush();
+		}
+		finally {
+			chart.setNotify(notify);
+		}
+		return true;
+	}
+
+}
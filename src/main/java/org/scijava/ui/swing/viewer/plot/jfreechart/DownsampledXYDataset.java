@@ -0,0 +1,417 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import static org.scijava.ui.swing.viewer.plot.jfreechart.XYArrayDataset.lowerBound;
+import static org.scijava.ui.swing.viewer.plot.jfreechart.XYArrayDataset.upperBound;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.IntPredicate;
+
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.XYDomainInfo;
+import org.jfree.data.xy.XYRangeInfo;
+
+/**
+ * View of an {@link XYArrayDataset} that presents each series reduced to the
+ * items which are visible at the current resolution of the plot.
+ * <p>
+ * {@link #resample} is called before each rendering with the domain values at
+ * the pixel column boundaries. For each column, a series with ascending x
+ * values keeps only its first, last, smallest and largest item (M4
+ * aggregation), which draws the same line as all of its items. The extremes
+ * come from a {@link MinMaxPyramid} that is built once per series and extended
+ * as items are appended, so the cost per column does not grow with the number
+ * of items in it. Series that show markers keep one item per pixel row of
+ * each column instead, found through the same pyramid. Series whose x values
+ * are not ascending are presented unchanged. Bounds are always those of the
+ * full data.
+ * </p>
+ */
+class DownsampledXYDataset extends AbstractXYDataset implements DomainInfo,
+	RangeInfo, XYDomainInfo, XYRangeInfo, DatasetChangeListener
+{
+
+	/**
+	 * Series with at most this many visible items per pixel column are not
+	 * reduced.
+	 */
+	static final int MIN_ITEMS_PER_COLUMN = 4;
+
+	/**
+	 * Columns with at most this many items per pixel row are sampled for
+	 * markers item by item, since that is faster than through the pyramid.
+	 */
+	private static final int MARKER_ITEMS_PER_ROW = 256;
+
+	/**
+	 * Number of pyramid scans per pixel row after which a column stops
+	 * splitting its items to find markers.
+	 */
+	private static final int MARKER_SCANS_PER_ROW = 16;
+
+	private final XYArrayDataset source;
+
+	private final List<Sample> samples = new ArrayList<>();
+
+	/** The pixel rows already used by a marker in the current column. */
+	private final BitSet marked = new BitSet();
+
+	/** Stack of the parts of a column still to be sampled for markers. */
+	private int[] parts = new int[0];
+
+	DownsampledXYDataset(final XYArrayDataset source) {
+		this.source = source;
+		source.addChangeListener(this);
+	}
+
+	/** Gets the dataset holding all items. */
+	public XYArrayDataset getSource() {
+		return source;
+	}
+
+	/**
+	 * Reduces each series to the items needed to draw it at the given
+	 * resolution.
+	 *
+	 * @param edges Ascending domain values at the boundaries of the pixel
+	 *          columns; one more than there are columns.
+	 * @param rows Number of pixel rows.
+	 * @param row Maps a y value to its pixel row, between 0 (inclusive) and
+	 *          {@code rows} (exclusive).
+	 * @param markersVisible Tells whether a series is drawn with markers.
+	 */
+	public void resample(final double[] edges, final int rows,
+		final DoubleToIntFunction row, final IntPredicate markersVisible)
+	{
+		for (int s = 0; s < source.getSeriesCount(); s++) {
+			final Sample sample = sample(s);
+			sample.count = -1;
+			final int size = source.getItemCount(s);
+			final int columns = edges.length - 1;
+			if (!source.isAscending(s) || columns < 1) continue;
+			final double[] x = source.getXValues(s);
+			// NB: Keep one item beyond each edge, so lines leave the plot area.
+			final int first = lowerBound(x, size, edges[0]);
+			final int last = upperBound(x, size, edges[columns]);
+			final int from = Math.max(0, first - 1);
+			final int to = Math.min(size, last + 1);
+			if (to - from <= MIN_ITEMS_PER_COLUMN * columns) continue;
+			if (from < first) sample.add(from);
+			if (markersVisible.test(s)) {
+				sampleMarkers(sample, x, s, size, edges, rows, row);
+			}
+			else sampleLines(sample, x, s, size, edges);
+			if (to > last) sample.add(last);
+		}
+	}
+
+	/** Presents all series unchanged until the next {@link #resample}. */
+	public void reset() {
+		for (final Sample sample : samples)
+			sample.count = -1;
+	}
+
+	// -- XYDataset methods --
+
+	@Override
+	public int getSeriesCount() {
+		return source.getSeriesCount();
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Comparable getSeriesKey(final int s) {
+		return source.getSeriesKey(s);
+	}
+
+	@Override
+	public int getItemCount(final int s) {
+		final int count = s < samples.size() ? samples.get(s).count : -1;
+		return count < 0 ? source.getItemCount(s) : count;
+	}
+
+	@Override
+	public DomainOrder getDomainOrder() {
+		return source.getDomainOrder();
+	}
+
+	@Override
+	public Number getX(final int s, final int item) {
+		return source.getX(s, item(s, item));
+	}
+
+	@Override
+	public double getXValue(final int s, final int item) {
+		return source.getXValue(s, item(s, item));
+	}
+
+	@Override
+	public Number getY(final int s, final int item) {
+		return source.getY(s, item(s, item));
+	}
+
+	@Override
+	public double getYValue(final int s, final int item) {
+		return source.getYValue(s, item(s, item));
+	}
+
+	// -- DomainInfo methods --
+
+	@Override
+	public double getDomainLowerBound(final boolean includeInterval) {
+		return source.getDomainLowerBound(includeInterval);
+	}
+
+	@Override
+	public double getDomainUpperBound(final boolean includeInterval) {
+		return source.getDomainUpperBound(includeInterval);
+	}
+
+	@Override
+	public Range getDomainBounds(final boolean includeInterval) {
+		return source.getDomainBounds(includeInterval);
+	}
+
+	// -- RangeInfo methods --
+
+	@Override
+	public double getRangeLowerBound(final boolean includeInterval) {
+		return source.getRangeLowerBound(includeInterval);
+	}
+
+	@Override
+	public double getRangeUpperBound(final boolean includeInterval) {
+		return source.getRangeUpperBound(includeInterval);
+	}
+
+	@Override
+	public Range getRangeBounds(final boolean includeInterval) {
+		return source.getRangeBounds(includeInterval);
+	}
+
+	// -- XYDomainInfo methods --
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Range getDomainBounds(final List visibleSeriesKeys,
+		final boolean includeInterval)
+	{
+		return source.getDomainBounds(visibleSeriesKeys, includeInterval);
+	}
+
+	// -- XYRangeInfo methods --
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Range getRangeBounds(final List visibleSeriesKeys, final Range xRange,
+		final boolean includeInterval)
+	{
+		return source.getRangeBounds(visibleSeriesKeys, xRange, includeInterval);
+	}
+
+	// -- DatasetChangeListener methods --
+
+	@Override
+	public void datasetChanged(final DatasetChangeEvent event) {
+		// NB: The items have changed, so the samples are stale. The pyramids are
+		// brought up to date by the next resampling.
+		reset();
+		fireDatasetChanged();
+	}
+
+	// -- Helper methods --
+
+	private Sample sample(final int s) {
+		while (samples.size() <= s)
+			samples.add(new Sample());
+		return samples.get(s);
+	}
+
+	private int item(final int s, final int item) {
+		final Sample sample = s < samples.size() ? samples.get(s) : null;
+		if (sample == null || sample.count < 0) return item;
+		if (item >= sample.count) throw new IndexOutOfBoundsException("" + item);
+		return sample.items[item];
+	}
+
+	/** Keeps the first, last, smallest and largest item of each column. */
+	private void sampleLines(final Sample sample, final double[] x, final int s,
+		final int size, final double[] edges)
+	{
+		final MinMaxPyramid pyramid = pyramid(sample, s, size);
+		final int[] m4 = new int[4];
+		final int columns = edges.length - 1;
+		int a = lowerBound(x, size, edges[0]);
+		for (int c = 0; c < columns; c++) {
+			final int b = c == columns - 1 ? upperBound(x, size, edges[columns])
+				: lowerBound(x, size, edges[c + 1]);
+			if (a < b) {
+				pyramid.scan(a, b);
+				m4[0] = a;
+				m4[1] = pyramid.getMin();
+				m4[2] = pyramid.getMax();
+				m4[3] = b - 1;
+				Arrays.sort(m4);
+				for (final int i : m4)
+					if (i >= 0) sample.add(i);
+			}
+			a = b;
+		}
+	}
+
+	/**
+	 * Keeps the first and last item of each column, and one item per pixel row
+	 * it covers. The items of a dense column are split in halves until the
+	 * values of a part fall into a single row, as told by the pyramid, and parts
+	 * whose rows all have a marker already are skipped, so the cost does not
+	 * grow with the number of items in the column. Once a column took
+	 * {@value #MARKER_SCANS_PER_ROW} scans per row, its remaining parts keep
+	 * only their smallest and largest items.
+	 */
+	private void sampleMarkers(final Sample sample, final double[] x,
+		final int s, final int size, final double[] edges, final int rows,
+		final DoubleToIntFunction row)
+	{
+		final MinMaxPyramid pyramid = pyramid(sample, s, size);
+		final double[] y = source.getYValues(s);
+		final int columns = edges.length - 1;
+		int a = lowerBound(x, size, edges[0]);
+		for (int c = 0; c < columns; c++) {
+			final int b = c == columns - 1 ? upperBound(x, size, edges[columns])
+				: lowerBound(x, size, edges[c + 1]);
+			marked.clear();
+			if (b - a <= MARKER_ITEMS_PER_ROW * rows) {
+				for (int i = a; i < b; i++) {
+					if (i == a || i == b - 1) sample.add(i);
+					if (!Double.isNaN(y[i])) mark(sample, i, row.applyAsInt(y[i]));
+				}
+			}
+			else {
+				final int depth = 32 - Integer.numberOfLeadingZeros(b - a);
+				int scans = MARKER_SCANS_PER_ROW * (rows + depth);
+				sample.add(a);
+				// NB: Parts still to split, as pairs of bounds, leftmost on top.
+				int top = 0;
+				parts = push(parts, top++, a, b);
+				while (top > 0) {
+					top--;
+					final int from = parts[2 * top], to = parts[2 * top + 1];
+					pyramid.scan(from, to);
+					scans--;
+					final int lo = pyramid.getMin(), hi = pyramid.getMax();
+					if (lo < 0) continue;
+					final int rowLo = row.applyAsInt(y[lo]);
+					final int rowHi = row.applyAsInt(y[hi]);
+					final int rowMin = Math.min(rowLo, rowHi);
+					final int rowMax = Math.max(rowLo, rowHi);
+					if (marked.nextClearBit(rowMin) > rowMax) continue;
+					if (rowLo == rowHi || to - from <= 2 || scans <= 0) {
+						mark(sample, Math.min(lo, hi), lo < hi ? rowLo : rowHi);
+						mark(sample, Math.max(lo, hi), lo < hi ? rowHi : rowLo);
+					}
+					else {
+						final int mid = (from + to) >>> 1;
+						parts = push(parts, top++, mid, to);
+						parts = push(parts, top++, from, mid);
+					}
+				}
+				sample.add(b - 1);
+			}
+			a = b;
+		}
+	}
+
+	/** Keeps the given item unless its row has a marker already. */
+	private void mark(final Sample sample, final int item, final int r) {
+		if (marked.get(r)) return;
+		marked.set(r);
+		sample.add(item);
+	}
+
+	/** Gets the pyramid of a series, bringing it up to date with the values. */
+	private MinMaxPyramid pyramid(final Sample sample, final int s,
+		final int size)
+	{
+		final long stamp = source.getStamp(s);
+		if (sample.pyramid == null || sample.stamp != stamp) {
+			sample.pyramid = new MinMaxPyramid(source.getYValues(s), size);
+			sample.stamp = stamp;
+		}
+		else sample.pyramid.update(source.getYValues(s), size);
+		return sample.pyramid;
+	}
+
+	private static int[] push(int[] parts, final int index, final int from,
+		final int to)
+	{
+		if (2 * index + 2 > parts.length) {
+			parts = Arrays.copyOf(parts, Math.max(16, 2 * parts.length));
+		}
+		parts[2 * index] = from;
+		parts[2 * index + 1] = to;
+		return parts;
+	}
+
+	// -- Helper classes --
+
+	/** Items of a series kept by the last resampling. */
+	private static class Sample {
+
+		private MinMaxPyramid pyramid;
+
+		/** Stamp of the series values the pyramid was built for. */
+		private long stamp;
+		private int[] items = new int[0];
+
+		/** Number of items kept, or -1 if the series is presented unchanged. */
+		private int count = -1;
+
+		void add(final int item) {
+			if (count < 0) count = 0;
+			else if (count > 0 && items[count - 1] == item) return;
+			if (count == items.length) {
+				items = Arrays.copyOf(items, Math.max(16, 2 * count));
+			}
+			items[count++] = item;
+		}
+	}
+
+}
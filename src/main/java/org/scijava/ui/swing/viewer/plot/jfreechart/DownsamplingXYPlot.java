@@ -0,0 +1,109 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * {@link org.jfree.chart.plot.XYPlot} that resamples each
+ * {@link DownsampledXYDataset} to the current axis ranges and size of the data
+ * area before rendering it, so drawing costs grow with the number of pixels
+ * rather than with the number of items.
+ */
+class DownsamplingXYPlot extends org.jfree.chart.plot.XYPlot {
+
+	@Override
+	public boolean render(final Graphics2D g2, final Rectangle2D dataArea,
+		final int index, final PlotRenderingInfo info,
+		final CrosshairState crosshairState)
+	{
+		final XYDataset dataset = getDataset(index);
+		if (dataset instanceof DownsampledXYDataset) {
+			resample((DownsampledXYDataset) dataset, dataArea, index);
+		}
+		return super.render(g2, dataArea, index, info, crosshairState);
+	}
+
+	// -- Helper methods --
+
+	private void resample(final DownsampledXYDataset dataset,
+		final Rectangle2D dataArea, final int index)
+	{
+		final XYItemRenderer renderer = getRendererForDataset(dataset);
+		final ValueAxis xAxis = getDomainAxisForDataset(index);
+		final ValueAxis yAxis = getRangeAxisForDataset(index);
+		if (!(renderer instanceof XYLineAndShapeRenderer) || xAxis == null ||
+			yAxis == null)
+		{
+			dataset.reset();
+			return;
+		}
+		final XYLineAndShapeRenderer lineRenderer =
+			(XYLineAndShapeRenderer) renderer;
+		final RectangleEdge xEdge = getDomainAxisEdge(Math.max(0,
+			getDomainAxisIndex(xAxis)));
+		final RectangleEdge yEdge = getRangeAxisEdge(Math.max(0, getRangeAxisIndex(
+			yAxis)));
+		final boolean vertical = getOrientation() == PlotOrientation.VERTICAL;
+		final double start = vertical ? dataArea.getMinX() : dataArea.getMinY();
+		final int columns = (int) Math.ceil(vertical ? dataArea.getWidth()
+			: dataArea.getHeight());
+		final double rowStart = vertical ? dataArea.getMinY() : dataArea.getMinX();
+		final int rows = Math.max(1, (int) Math.ceil(vertical ? dataArea
+			.getHeight() : dataArea.getWidth()));
+		final double[] edges = new double[columns + 1];
+		for (int c = 0; c <= columns; c++)
+			edges[c] = xAxis.java2DToValue(start + c, dataArea, xEdge);
+		if (columns > 0 && edges[0] > edges[columns]) reverse(edges);
+		dataset.resample(edges, rows, y -> {
+			final double r = yAxis.valueToJava2D(y, dataArea, yEdge) - rowStart;
+			return r <= 0 ? 0 : r >= rows ? rows - 1 : (int) r;
+		}, s -> lineRenderer.getItemShapeVisible(s, 0));
+	}
+
+	private static void reverse(final double[] values) {
+		for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+			final double t = values[i];
+			values[i] = values[j];
+			values[j] = t;
+		}
+	}
+
+}
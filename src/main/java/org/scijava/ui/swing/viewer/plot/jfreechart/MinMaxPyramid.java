@@ -0,0 +1,188 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed minima and maxima of consecutive blocks of y values, at several
+ * block sizes.
+ * <p>
+ * Level 0 holds the indices of the smallest and largest value of each block of
+ * {@link #BASE} items, and every further level combines {@link #FANOUT} blocks
+ * of the level below. The extremes of any index range are then found by
+ * combining at most a few blocks per level with the items at both ends of the
+ * range, i.e. in time logarithmic in the length of the range. Values
+ * appended later only require the blocks containing them to be updated.
+ * </p>
+ */
+class MinMaxPyramid {
+
+	/** Number of items in each block of the lowest level. */
+	static final int BASE = 16;
+
+	/** Number of blocks combined into one block of the next level. */
+	static final int FANOUT = 4;
+
+	private double[] y = new double[0];
+	private int size;
+	private int[] blockSizes = new int[0];
+	private int[][] minIndices = new int[0][];
+	private int[][] maxIndices = new int[0][];
+
+	private int min = -1;
+	private int max = -1;
+
+	MinMaxPyramid(final double[] y, final int size) {
+		update(y, size);
+	}
+
+	/**
+	 * Adapts the pyramid to the given values, of which only those from the
+	 * previous size on may have changed. Only the blocks containing those
+	 * values are recomputed.
+	 */
+	void update(final double[] values, final int newSize) {
+		final int oldSize = size;
+		final int oldLevels = blockSizes.length;
+		y = values;
+		size = newSize;
+		int levels = 0;
+		for (long blockSize = BASE; blockSize < size; blockSize *= FANOUT)
+			levels++;
+		if (levels > oldLevels) {
+			blockSizes = Arrays.copyOf(blockSizes, levels);
+			minIndices = Arrays.copyOf(minIndices, levels);
+			maxIndices = Arrays.copyOf(maxIndices, levels);
+		}
+		for (int level = 0; level < blockSizes.length; level++) {
+			final int blockSize = level == 0 ? BASE : blockSizes[level - 1] * FANOUT;
+			final int blocks = (int) ((size + (long) blockSize - 1) / blockSize);
+			final int first = level < oldLevels ? oldSize / blockSize : 0;
+			if (level >= oldLevels) {
+				blockSizes[level] = blockSize;
+				minIndices[level] = new int[blocks];
+				maxIndices[level] = new int[blocks];
+			}
+			else if (minIndices[level].length < blocks) {
+				final int capacity = Math.max(blocks, 2 * minIndices[level].length);
+				minIndices[level] = Arrays.copyOf(minIndices[level], capacity);
+				maxIndices[level] = Arrays.copyOf(maxIndices[level], capacity);
+			}
+			for (int b = first; b < blocks; b++)
+				computeBlock(level, b);
+		}
+	}
+
+	/**
+	 * Finds the smallest and largest y value among the items {@code from}
+	 * (inclusive) to {@code to} (exclusive). Their indices are then available
+	 * from {@link #getMin()} and {@link #getMax()}.
+	 */
+	void scan(final int from, final int to) {
+		int lo = -1, hi = -1;
+		int i = from;
+		while (i < to) {
+			// NB: Take the largest block starting at i that ends within the range.
+			int level = blockSizes.length - 1;
+			while (level >= 0 && (i % blockSizes[level] != 0 || //
+				Math.min(size, i + blockSizes[level]) > to))
+			{
+				level--;
+			}
+			if (level < 0) {
+				lo = lower(lo, i);
+				hi = higher(hi, i);
+				i++;
+			}
+			else {
+				final int b = i / blockSizes[level];
+				lo = lower(lo, minIndices[level][b]);
+				hi = higher(hi, maxIndices[level][b]);
+				i += blockSizes[level];
+			}
+		}
+		min = lo;
+		max = hi;
+	}
+
+	/**
+	 * Index of the smallest value found by the last scan, or -1 if all values
+	 * were NaN.
+	 */
+	int getMin() {
+		return min;
+	}
+
+	/**
+	 * Index of the largest value found by the last scan, or -1 if all values
+	 * were NaN.
+	 */
+	int getMax() {
+		return max;
+	}
+
+	// -- Helper methods --
+
+	private void computeBlock(final int level, final int b) {
+		int lo = -1, hi = -1;
+		if (level == 0) {
+			final int end = Math.min(size, (b + 1) * BASE);
+			for (int i = b * BASE; i < end; i++) {
+				lo = lower(lo, i);
+				hi = higher(hi, i);
+			}
+		}
+		else {
+			final int[] childMins = minIndices[level - 1];
+			final int[] childMaxs = maxIndices[level - 1];
+			final int children = (size + blockSizes[level - 1] - 1) /
+				blockSizes[level - 1];
+			final int end = Math.min(children, (b + 1) * FANOUT);
+			for (int c = b * FANOUT; c < end; c++) {
+				lo = lower(lo, childMins[c]);
+				hi = higher(hi, childMaxs[c]);
+			}
+		}
+		minIndices[level][b] = lo;
+		maxIndices[level][b] = hi;
+	}
+
+	private int lower(final int a, final int b) {
+		if (b < 0 || Double.isNaN(y[b])) return a;
+		return a < 0 || y[b] < y[a] ? b : a;
+	}
+
+	private int higher(final int a, final int b) {
+		if (b < 0 || Double.isNaN(y[b])) return a;
+		return a < 0 || y[b] > y[a] ? b : a;
+	}
+
+}
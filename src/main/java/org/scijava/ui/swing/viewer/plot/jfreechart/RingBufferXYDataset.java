@@ -0,0 +1,453 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.XYDomainInfo;
+import org.jfree.data.xy.XYRangeInfo;
+import org.scijava.plot.XYSeries;
+
+/**
+ * {@link org.jfree.data.xy.XYDataset} with a single series that keeps a
+ * fixed-size window of the most recently added items, for plots of
+ * continuously acquired data.
+ * <p>
+ * Items are kept in a ring of primitive arrays, so adding an item and evicting
+ * the oldest one take constant time. The minima and maxima of the window are
+ * maintained in monotonic queues while items come and go, so the bounds never
+ * require a scan of the window. Besides the capacity, the window can be
+ * limited to a domain width, e.g. the last ten seconds of a time series.
+ * </p>
+ * <p>
+ * {@link #add} may be called from any thread. Added items are buffered until
+ * {@link #flush()} is called on the event dispatch thread, which moves them
+ * into the window and fires a single change event. A {@link XYSeries} of a
+ * displayed plot can be {@link #bind bound} to a dataset, in which case the
+ * plot display shows the dataset instead of the values of the series, and
+ * flushes it once per frame.
+ * </p>
+ */
+public class RingBufferXYDataset extends AbstractXYDataset implements
+	DomainInfo, RangeInfo, XYDomainInfo, XYRangeInfo
+{
+
+	private static final Map<XYSeries, RingBufferXYDataset> BINDINGS =
+		Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final Comparable<?> key;
+	private final int capacity;
+	private final double[] x, y;
+
+	/** Sequence number of the oldest item in the window. */
+	private long head;
+
+	/** Sequence number the next item will get. */
+	private long tail;
+
+	/** Sequence number of the last item with a smaller x than its predecessor. */
+	private long lastDescent = -1;
+
+	private double window = Double.POSITIVE_INFINITY;
+
+	private final Extremes minX, maxX, minY, maxY;
+
+	// -- Items added but not yet flushed, guarded by pendingLock --
+
+	private final Object pendingLock = new Object();
+	private double[] pendingX = new double[16], pendingY = new double[16];
+	private int pendingStart, pendingCount;
+
+	/** Buffers swapped with the pending ones while flushing. */
+	private double[] flushX = new double[16], flushY = new double[16];
+
+	public RingBufferXYDataset(final Comparable<?> key, final int capacity) {
+		if (capacity < 1) throw new IllegalArgumentException("Capacity " +
+			capacity + " is not positive");
+		this.key = key;
+		this.capacity = capacity;
+		x = new double[capacity];
+		y = new double[capacity];
+		minX = new Extremes(x, false);
+		maxX = new Extremes(x, true);
+		minY = new Extremes(y, false);
+		maxY = new Extremes(y, true);
+	}
+
+	// -- Binding --
+
+	/**
+	 * Binds a new dataset of the given capacity to the series, keyed by the
+	 * label of the series. Plots converted from then on show the dataset in
+	 * place of the values of the series.
+	 */
+	public static RingBufferXYDataset bind(final XYSeries series,
+		final int capacity)
+	{
+		final RingBufferXYDataset dataset = new RingBufferXYDataset(series
+			.getLabel(), capacity);
+		BINDINGS.put(series, dataset);
+		return dataset;
+	}
+
+	/** Gets the dataset bound to the series, or null if there is none. */
+	public static RingBufferXYDataset getBinding(final XYSeries series) {
+		return BINDINGS.get(series);
+	}
+
+	/** Removes the dataset bound to the series, if any. */
+	public static void unbind(final XYSeries series) {
+		BINDINGS.remove(series);
+	}
+
+	// -- RingBufferXYDataset methods --
+
+	/** Gets the maximal number of items kept. */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Limits the window to the items whose x value is at most the given width
+	 * below that of the newest item. Infinity, the default, disables the limit.
+	 * Takes effect with the next item moved into the window.
+	 */
+	public void setWindow(final double width) {
+		window = width;
+	}
+
+	public double getWindow() {
+		return window;
+	}
+
+	/**
+	 * Adds an item, which becomes visible with the next {@link #flush()}. Safe
+	 * to call from any thread.
+	 */
+	public void add(final double xv, final double yv) {
+		synchronized (pendingLock) {
+			if (pendingCount == pendingX.length && pendingX.length < capacity) {
+				// NB: The pending items only wrap around at full capacity.
+				final int length = Math.min(capacity, 2 * pendingX.length);
+				pendingX = Arrays.copyOf(pendingX, length);
+				pendingY = Arrays.copyOf(pendingY, length);
+			}
+			final int i = (pendingStart + pendingCount) % pendingX.length;
+			pendingX[i] = xv;
+			pendingY[i] = yv;
+			if (pendingCount < pendingX.length) pendingCount++;
+			// NB: The oldest pending item would be evicted on flushing anyway.
+			else pendingStart = (pendingStart + 1) % pendingX.length;
+		}
+	}
+
+	/** Whether items were added since the last {@link #flush()}. */
+	public boolean hasPending() {
+		synchronized (pendingLock) {
+			return pendingCount > 0;
+		}
+	}
+
+	/**
+	 * Moves the items added since the last flush into the window, evicting the
+	 * oldest ones as needed, and fires one change event. Must be called on the
+	 * thread that renders the dataset, usually the event dispatch thread.
+	 *
+	 * @return false if there were no items to move
+	 */
+	public boolean flush() {
+		final double[] xs, ys;
+		final int start, count;
+		synchronized (pendingLock) {
+			if (pendingCount == 0) return false;
+			xs = pendingX;
+			ys = pendingY;
+			start = pendingStart;
+			count = pendingCount;
+			pendingX = flushX;
+			pendingY = flushY;
+			pendingStart = 0;
+			pendingCount = 0;
+		}
+		for (int i = 0; i < count; i++) {
+			final int j = (start + i) % xs.length;
+			push(xs[j], ys[j]);
+		}
+		flushX = xs;
+		flushY = ys;
+		fireDatasetChanged();
+		return true;
+	}
+
+	/** Removes all items from the window, and all pending ones. */
+	public void clear() {
+		synchronized (pendingLock) {
+			pendingStart = 0;
+			pendingCount = 0;
+		}
+		head = tail;
+		evicted();
+		fireDatasetChanged();
+	}
+
+	// -- XYDataset methods --
+
+	@Override
+	public int getSeriesCount() {
+		return 1;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Comparable getSeriesKey(final int s) {
+		if (s != 0) throw new IndexOutOfBoundsException("" + s);
+		return key;
+	}
+
+	@Override
+	public int getItemCount(final int s) {
+		return (int) (tail - head);
+	}
+
+	@Override
+	public DomainOrder getDomainOrder() {
+		// NB: A descent at the oldest item refers to an evicted predecessor.
+		return lastDescent <= head ? DomainOrder.ASCENDING : DomainOrder.NONE;
+	}
+
+	@Override
+	public Number getX(final int s, final int item) {
+		return getXValue(s, item);
+	}
+
+	@Override
+	public double getXValue(final int s, final int item) {
+		return x[index(item)];
+	}
+
+	@Override
+	public Number getY(final int s, final int item) {
+		final double yv = getYValue(s, item);
+		return Double.isNaN(yv) ? null : yv;
+	}
+
+	@Override
+	public double getYValue(final int s, final int item) {
+		return y[index(item)];
+	}
+
+	// -- DomainInfo methods --
+
+	@Override
+	public double getDomainLowerBound(final boolean includeInterval) {
+		return minX.get();
+	}
+
+	@Override
+	public double getDomainUpperBound(final boolean includeInterval) {
+		return maxX.get();
+	}
+
+	@Override
+	public Range getDomainBounds(final boolean includeInterval) {
+		return range(minX.get(), maxX.get());
+	}
+
+	// -- RangeInfo methods --
+
+	@Override
+	public double getRangeLowerBound(final boolean includeInterval) {
+		return minY.get();
+	}
+
+	@Override
+	public double getRangeUpperBound(final boolean includeInterval) {
+		return maxY.get();
+	}
+
+	@Override
+	public Range getRangeBounds(final boolean includeInterval) {
+		return range(minY.get(), maxY.get());
+	}
+
+	// -- XYDomainInfo methods --
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Range getDomainBounds(final List visibleSeriesKeys,
+		final boolean includeInterval)
+	{
+		return visibleSeriesKeys.contains(key) ? getDomainBounds(includeInterval)
+			: null;
+	}
+
+	// -- XYRangeInfo methods --
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Range getRangeBounds(final List visibleSeriesKeys, final Range xRange,
+		final boolean includeInterval)
+	{
+		if (!visibleSeriesKeys.contains(key)) return null;
+		if (xRange == null || xRange.getLowerBound() <= minX.get() && xRange
+			.getUpperBound() >= maxX.get())
+		{
+			return getRangeBounds(includeInterval);
+		}
+		final int count = getItemCount(0);
+		final boolean ascending = getDomainOrder() == DomainOrder.ASCENDING;
+		int first = 0;
+		if (ascending) {
+			int high = count;
+			while (first < high) {
+				final int mid = (first + high) >>> 1;
+				if (getXValue(0, mid) < xRange.getLowerBound()) first = mid + 1;
+				else high = mid;
+			}
+		}
+		double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+		for (int i = first; i < count; i++) {
+			final double xv = getXValue(0, i);
+			if (xv > xRange.getUpperBound()) {
+				if (ascending) break;
+				continue;
+			}
+			if (xv < xRange.getLowerBound()) continue;
+			final double yv = getYValue(0, i);
+			if (yv < lo) lo = yv;
+			if (yv > hi) hi = yv;
+		}
+		return lo <= hi ? new Range(lo, hi) : null;
+	}
+
+	// -- Helper methods --
+
+	/** Gets the array index of the item with the given sequence number. */
+	private int slot(final long seq) {
+		return (int) (seq % capacity);
+	}
+
+	private int index(final int item) {
+		if (item < 0 || item >= tail - head) {
+			throw new IndexOutOfBoundsException("" + item);
+		}
+		return slot(head + item);
+	}
+
+	private void push(final double xv, final double yv) {
+		if (tail - head == capacity) {
+			head++;
+			evicted();
+		}
+		final int i = slot(tail);
+		if (tail > head && !(xv >= x[slot(tail - 1)]) || Double.isNaN(xv)) {
+			lastDescent = tail;
+		}
+		x[i] = xv;
+		y[i] = yv;
+		minX.push(tail);
+		maxX.push(tail);
+		minY.push(tail);
+		maxY.push(tail);
+		tail++;
+		if (window < Double.POSITIVE_INFINITY && !Double.isNaN(xv)) {
+			final long oldHead = head;
+			while (head < tail && x[slot(head)] < xv - window)
+				head++;
+			if (head != oldHead) evicted();
+		}
+	}
+
+	private void evicted() {
+		minX.evict(head);
+		maxX.evict(head);
+		minY.evict(head);
+		maxY.evict(head);
+	}
+
+	private static Range range(final double min, final double max) {
+		return min <= max ? new Range(min, max) : null;
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Sequence numbers of the items that may still become the minimum (or
+	 * maximum) of the window as older items are evicted. Their values are
+	 * strictly increasing (or decreasing) from front to back, so the front is
+	 * the extreme of the window.
+	 */
+	private class Extremes {
+
+		private final double[] values;
+		private final boolean max;
+		private final long[] seqs = new long[capacity];
+		private int start, count;
+
+		Extremes(final double[] values, final boolean max) {
+			this.values = values;
+			this.max = max;
+		}
+
+		void push(final long seq) {
+			final double value = values[slot(seq)];
+			if (Double.isNaN(value)) return;
+			while (count > 0) {
+				final double back = values[slot(seqs[(start + count - 1) %
+					capacity])];
+				if (max ? back > value : back < value) break;
+				count--;
+			}
+			seqs[(start + count) % capacity] = seq;
+			count++;
+		}
+
+		void evict(final long first) {
+			while (count > 0 && seqs[start] < first) {
+				start = (start + 1) % capacity;
+				count--;
+			}
+		}
+
+		double get() {
+			return count == 0 ? Double.NaN : values[slot(seqs[start])];
+		}
+	}
+
+}
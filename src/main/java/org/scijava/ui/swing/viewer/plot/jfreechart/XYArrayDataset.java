@@ -0,0 +1,424 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.XYDomainInfo;
+import org.jfree.data.xy.XYRangeInfo;
+
+/**
+ * {@link org.jfree.data.xy.XYDataset} that keeps the values of each series in
+ * primitive {@code double[]} arrays.
+ * <p>
+ * Unlike {@link org.jfree.data.xy.XYSeriesCollection}, adding a series copies
+ * its values once, without boxing each point into an
+ * {@link org.jfree.data.xy.XYDataItem} and without firing one change event per
+ * point. The domain and range bounds of each series are computed in the same
+ * pass, so JFreeChart's auto range never has to iterate the data again unless
+ * the range is requested for part of the domain only. Missing values are
+ * stored as {@link Double#NaN} and ignored by the bounds.
+ * </p>
+ * <p>
+ * Items appended to a series extend its arrays and bounds in place, so a
+ * growing series costs time proportional to the new items only.
+ * </p>
+ */
+class XYArrayDataset extends AbstractXYDataset implements DomainInfo,
+	RangeInfo, XYDomainInfo, XYRangeInfo
+{
+
+	private final List<Series> series = new ArrayList<>();
+
+	/** Stamp of the most recently created series. */
+	private long stamps;
+
+	/**
+	 * Adds a series with the values of the given collections. Surplus values of
+	 * the longer collection are ignored and {@code null} values become NaN.
+	 */
+	public void addSeries(final Comparable<?> key, final Collection<Double> xs,
+		final Collection<Double> ys)
+	{
+		series.add(toSeries(key, xs, ys));
+		fireDatasetChanged();
+	}
+
+	/**
+	 * Adds a series backed by the first {@code size} values of the given
+	 * arrays. The arrays are not copied; the dataset owns them afterwards.
+	 */
+	public void addSeries(final Comparable<?> key, final double[] x,
+		final double[] y, final int size)
+	{
+		if (size > x.length || size > y.length) throw new IllegalArgumentException(
+			"Size " + size + " exceeds the given arrays");
+		series.add(new Series(key, x, y, size, ++stamps));
+		fireDatasetChanged();
+	}
+
+	/**
+	 * Replaces all values of a series, keeping its key. Values are taken as by
+	 * {@link #addSeries(Comparable, Collection, Collection)}.
+	 */
+	public void setSeries(final int s, final Collection<Double> xs,
+		final Collection<Double> ys)
+	{
+		series.set(s, toSeries(series.get(s).key, xs, ys));
+		fireDatasetChanged();
+	}
+
+	/**
+	 * Appends the values from index {@code from} (inclusive) to {@code to}
+	 * (exclusive) of the given lists to a series.
+	 */
+	public void append(final int s, final List<Double> xs, final List<Double> ys,
+		final int from, final int to)
+	{
+		if (from >= to) return;
+		final Series target = series.get(s);
+		target.ensureCapacity(target.size + to - from);
+		final Iterator<Double> xi = xs.listIterator(from);
+		final Iterator<Double> yi = ys.listIterator(from);
+		for (int i = from; i < to; i++)
+			target.add(toDouble(xi.next()), toDouble(yi.next()));
+		fireDatasetChanged();
+	}
+
+	/**
+	 * Gets the stamp of a series. It changes whenever the values of the series
+	 * are replaced, but not when values are appended.
+	 */
+	long getStamp(final int s) {
+		return series.get(s).stamp;
+	}
+
+	/**
+	 * Gets the array of x values of a series. It may be longer than the item
+	 * count of the series.
+	 */
+	double[] getXValues(final int s) {
+		return series.get(s).x;
+	}
+
+	/**
+	 * Gets the array of y values of a series. It may be longer than the item
+	 * count of the series.
+	 */
+	double[] getYValues(final int s) {
+		return series.get(s).y;
+	}
+
+	/** Whether the x values of a series are non-decreasing and not NaN. */
+	boolean isAscending(final int s) {
+		return series.get(s).ascending;
+	}
+
+	// -- XYDataset methods --
+
+	@Override
+	public int getSeriesCount() {
+		return series.size();
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Comparable getSeriesKey(final int s) {
+		return series.get(s).key;
+	}
+
+	@Override
+	public int getItemCount(final int s) {
+		return series.get(s).size;
+	}
+
+	@Override
+	public DomainOrder getDomainOrder() {
+		for (final Series s : series)
+			if (!s.ascending) return DomainOrder.NONE;
+		return DomainOrder.ASCENDING;
+	}
+
+	@Override
+	public Number getX(final int s, final int item) {
+		return getXValue(s, item);
+	}
+
+	@Override
+	public double getXValue(final int s, final int item) {
+		return series.get(s).x(item);
+	}
+
+	@Override
+	public Number getY(final int s, final int item) {
+		final double y = getYValue(s, item);
+		return Double.isNaN(y) ? null : y;
+	}
+
+	@Override
+	public double getYValue(final int s, final int item) {
+		return series.get(s).y(item);
+	}
+
+	// -- DomainInfo methods --
+
+	@Override
+	public double getDomainLowerBound(final boolean includeInterval) {
+		final Range r = getDomainBounds(includeInterval);
+		return r == null ? Double.NaN : r.getLowerBound();
+	}
+
+	@Override
+	public double getDomainUpperBound(final boolean includeInterval) {
+		final Range r = getDomainBounds(includeInterval);
+		return r == null ? Double.NaN : r.getUpperBound();
+	}
+
+	@Override
+	public Range getDomainBounds(final boolean includeInterval) {
+		final Bounds b = new Bounds();
+		for (final Series s : series)
+			b.add(s.minX, s.maxX);
+		return b.toRange();
+	}
+
+	// -- RangeInfo methods --
+
+	@Override
+	public double getRangeLowerBound(final boolean includeInterval) {
+		final Range r = getRangeBounds(includeInterval);
+		return r == null ? Double.NaN : r.getLowerBound();
+	}
+
+	@Override
+	public double getRangeUpperBound(final boolean includeInterval) {
+		final Range r = getRangeBounds(includeInterval);
+		return r == null ? Double.NaN : r.getUpperBound();
+	}
+
+	@Override
+	public Range getRangeBounds(final boolean includeInterval) {
+		final Bounds b = new Bounds();
+		for (final Series s : series)
+			b.add(s.minY, s.maxY);
+		return b.toRange();
+	}
+
+	// -- XYDomainInfo methods --
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Range getDomainBounds(final List visibleSeriesKeys,
+		final boolean includeInterval)
+	{
+		final Bounds b = new Bounds();
+		for (final Object key : visibleSeriesKeys) {
+			final int index = indexOf((Comparable) key);
+			if (index < 0) continue;
+			final Series s = series.get(index);
+			b.add(s.minX, s.maxX);
+		}
+		return b.toRange();
+	}
+
+	// -- XYRangeInfo methods --
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Range getRangeBounds(final List visibleSeriesKeys, final Range xRange,
+		final boolean includeInterval)
+	{
+		final Bounds b = new Bounds();
+		for (final Object key : visibleSeriesKeys) {
+			final int index = indexOf((Comparable) key);
+			if (index < 0) continue;
+			series.get(index).addRangeBounds(xRange, b);
+		}
+		return b.toRange();
+	}
+
+	// -- Helper methods --
+
+	private Series toSeries(final Comparable<?> key, final Collection<Double> xs,
+		final Collection<Double> ys)
+	{
+		final int size = Math.min(xs.size(), ys.size());
+		final double[] x = new double[size];
+		final double[] y = new double[size];
+		final Iterator<Double> xi = xs.iterator();
+		final Iterator<Double> yi = ys.iterator();
+		for (int i = 0; i < size; i++) {
+			x[i] = toDouble(xi.next());
+			y[i] = toDouble(yi.next());
+		}
+		return new Series(key, x, y, size, ++stamps);
+	}
+
+	private static double toDouble(final Double value) {
+		return value == null ? Double.NaN : value;
+	}
+
+	/**
+	 * Index of the first value in the first {@code size} entries of an ascending
+	 * array that is not less than {@code key}.
+	 */
+	static int lowerBound(final double[] values, final int size,
+		final double key)
+	{
+		int low = 0, high = size;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (values[mid] < key) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+	/**
+	 * Index of the first value in the first {@code size} entries of an ascending
+	 * array that is greater than {@code key}.
+	 */
+	static int upperBound(final double[] values, final int size,
+		final double key)
+	{
+		int low = 0, high = size;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (values[mid] <= key) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+	// -- Helper classes --
+
+	/** Running minimum and maximum, ignoring NaN. */
+	private static class Bounds {
+
+		private double min = Double.POSITIVE_INFINITY;
+		private double max = Double.NEGATIVE_INFINITY;
+
+		void add(final double lower, final double upper) {
+			if (lower < min) min = lower;
+			if (upper > max) max = upper;
+		}
+
+		Range toRange() {
+			return min <= max ? new Range(min, max) : null;
+		}
+	}
+
+	private static class Series {
+
+		private final Comparable<?> key;
+		private final long stamp;
+		private double[] x, y;
+		private int size;
+		private double minX = Double.POSITIVE_INFINITY;
+		private double maxX = Double.NEGATIVE_INFINITY;
+		private double minY = Double.POSITIVE_INFINITY;
+		private double maxY = Double.NEGATIVE_INFINITY;
+		private boolean ascending = true;
+
+		Series(final Comparable<?> key, final double[] x, final double[] y,
+			final int size, final long stamp)
+		{
+			this.key = key;
+			this.stamp = stamp;
+			this.x = x;
+			this.y = y;
+			for (int i = 0; i < size; i++)
+				add(x[i], y[i]);
+		}
+
+		void ensureCapacity(final int capacity) {
+			if (capacity <= x.length) return;
+			final int length = Math.max(capacity, x.length + (x.length >> 1));
+			x = Arrays.copyOf(x, length);
+			y = Arrays.copyOf(y, length);
+		}
+
+		/** Stores an item after the last one, which must fit into the arrays. */
+		void add(final double xv, final double yv) {
+			// NB: NaN fails every comparison, so it is neither min nor max.
+			if (xv < minX) minX = xv;
+			if (xv > maxX) maxX = xv;
+			if (yv < minY) minY = yv;
+			if (yv > maxY) maxY = yv;
+			if (size > 0 && !(xv >= x[size - 1]) || Double.isNaN(xv)) {
+				ascending = false;
+			}
+			x[size] = xv;
+			y[size] = yv;
+			size++;
+		}
+
+		double x(final int item) {
+			if (item >= size) throw new IndexOutOfBoundsException("" + item);
+			return x[item];
+		}
+
+		double y(final int item) {
+			if (item >= size) throw new IndexOutOfBoundsException("" + item);
+			return y[item];
+		}
+
+		/** Adds the bounds of the y values whose x value lies in the given range. */
+		void addRangeBounds(final Range xRange, final Bounds b) {
+			if (xRange == null || xRange.getLowerBound() <= minX && xRange
+				.getUpperBound() >= maxX)
+			{
+				b.add(minY, maxY);
+				return;
+			}
+			final double lower = xRange.getLowerBound();
+			final double upper = xRange.getUpperBound();
+			if (ascending) {
+				final int first = lowerBound(x, size, lower);
+				for (int i = first; i < size && x[i] <= upper; i++)
+					b.add(y[i], y[i]);
+			}
+			else {
+				for (int i = 0; i < size; i++)
+					if (x[i] >= lower && x[i] <= upper) b.add(y[i], y[i]);
+			}
+		}
+	}
+
+}
@@ -35,10 +35,12 @@ import org.scijava.plot.XYPlotItem;
 import org.scijava.plot.XYSeries;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
-import org.jfree.data.xy.XYSeriesCollection;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
 
 import static org.scijava.ui.swing.viewer.plot.jfreechart.Utils.*;
 
@@ -47,13 +49,16 @@ import static org.scijava.ui.swing.viewer.plot.jfreechart.Utils.*;
  */
 class XYPlotGenerator {
 
+	/** Number of known items compared to tell whether a series has only grown. */
+	private static final int PREFIX_SAMPLES = 64;
+
 	private final XYPlot xyPlot;
 
 	private final SortedLabelFactory sortedLabelFactory = new SortedLabelFactory();
 
-	private final org.jfree.chart.plot.XYPlot jfcPlot = new org.jfree.chart.plot.XYPlot();
+	private final org.jfree.chart.plot.XYPlot jfcPlot = new DownsamplingXYPlot();
 
-	private final XYSeriesCollection jfcDataSet = new XYSeriesCollection();
+	private final XYArrayDataset jfcDataSet = new XYArrayDataset();
 
 	private final XYLineAndShapeRenderer jfcRenderer = new XYLineAndShapeRenderer();
 
@@ -64,8 +69,66 @@ class XYPlotGenerator {
 	public static JFreeChart run(XYPlot xyPlot) { return new XYPlotGenerator(xyPlot).getJFreeChart();
 	}
 
+	/**
+	 * Brings a chart created by {@link #run} up to date with the plot. Values
+	 * appended to a series are added in bulk, other changes of a series replace
+	 * its values, as far as a sample of its known items shows them, and the
+	 * chart fires a single change event at the end. Series bound to a
+	 * {@link RingBufferXYDataset} are flushed.
+	 *
+	 * @return false if the series of the plot no longer match those of the
+	 *         chart, which then has to be created again.
+	 */
+	public static boolean update(XYPlot xyPlot, JFreeChart chart) {
+		if (!(chart.getPlot() instanceof org.jfree.chart.plot.XYPlot))
+			return false;
+		org.jfree.chart.plot.XYPlot jfcPlot = (org.jfree.chart.plot.XYPlot) chart.getPlot();
+		if (!(jfcPlot.getDataset() instanceof DownsampledXYDataset) ||
+				!(jfcPlot.getRenderer() instanceof XYLineAndShapeRenderer))
+			return false;
+		XYArrayDataset dataSet = ((DownsampledXYDataset) jfcPlot.getDataset()).getSource();
+		XYLineAndShapeRenderer renderer = (XYLineAndShapeRenderer) jfcPlot.getRenderer();
+		List<XYSeries> series = new ArrayList<>();
+		List<XYSeries> boundSeries = new ArrayList<>();
+		for (XYSeries s : getSeries(xyPlot))
+			(RingBufferXYDataset.getBinding(s) == null ? series : boundSeries).add(s);
+		if (series.size() != dataSet.getSeriesCount() ||
+				boundSeries.size() != jfcPlot.getDatasetCount() - 1)
+			return false;
+		for (int i = 0; i < series.size(); i++) {
+			Object label = ((SortedLabel) dataSet.getSeriesKey(i)).getLabel();
+			if (!label.equals(series.get(i).getLabel()))
+				return false;
+		}
+		for (int i = 0; i < boundSeries.size(); i++)
+			if (jfcPlot.getDataset(i + 1) != RingBufferXYDataset.getBinding(boundSeries.get(i)) ||
+					!(jfcPlot.getRenderer(i + 1) instanceof XYLineAndShapeRenderer))
+				return false;
+		boolean notify = chart.isNotify();
+		chart.setNotify(false);
+		try {
+			chart.setTitle(xyPlot.getTitle());
+			jfcPlot.getDomainAxis().setLabel(xyPlot.xAxis().getLabel());
+			jfcPlot.getRangeAxis().setLabel(xyPlot.yAxis().getLabel());
+			for (int i = 0; i < series.size(); i++) {
+				XYSeries s = series.get(i);
+				updateSeriesData(dataSet, i, s.getXValues(), s.getYValues());
+				setSeriesStyle(renderer, i, s.getStyle(), s.getLegendVisible());
+			}
+			for (int i = 0; i < boundSeries.size(); i++) {
+				XYSeries s = boundSeries.get(i);
+				((RingBufferXYDataset) jfcPlot.getDataset(i + 1)).flush();
+				setSeriesStyle((XYLineAndShapeRenderer) jfcPlot.getRenderer(i + 1), 0, s.getStyle(), s.getLegendVisible());
+			}
+		}
+		finally {
+			chart.setNotify(notify);
+		}
+		return true;
+	}
+
 	private JFreeChart getJFreeChart() {
-		jfcPlot.setDataset(jfcDataSet);
+		jfcPlot.setDataset(new DownsampledXYDataset(jfcDataSet));
 		jfcPlot.setDomainAxis(getJFreeChartAxis(xyPlot.xAxis()));
 		jfcPlot.setRangeAxis(getJFreeChartAxis(xyPlot.yAxis()));
 		jfcPlot.setRenderer(jfcRenderer);
@@ -74,32 +137,96 @@ class XYPlotGenerator {
 	}
 
 	private void addAllSeries() {
+		for(XYSeries series : getSeries(xyPlot))
+			addSeries(series);
+	}
+
+	private static List<XYSeries> getSeries(XYPlot xyPlot) {
+		List<XYSeries> result = new ArrayList<>();
 		for(XYPlotItem series : xyPlot.getItems())
 			if(series instanceof XYSeries )
-				addSeries((XYSeries) series);
+				result.add((XYSeries) series);
+		return result;
 	}
 
 	private void addSeries(XYSeries series) {
+		RingBufferXYDataset ring = RingBufferXYDataset.getBinding(series);
+		if (ring != null) {
+			addBoundSeries(series, ring);
+			return;
+		}
 		SortedLabel uniqueLabel = sortedLabelFactory.newLabel(series.getLabel());
 		addSeriesData(uniqueLabel, series.getXValues(), series.getYValues());
 		setSeriesStyle(uniqueLabel, series.getStyle(), series.getLegendVisible());
 	}
 
+	private void addBoundSeries(XYSeries series, RingBufferXYDataset ring) {
+		int index = jfcPlot.getDatasetCount();
+		XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer();
+		jfcPlot.setDataset(index, ring);
+		jfcPlot.setRenderer(index, renderer);
+		setSeriesStyle(renderer, 0, series.getStyle(), series.getLegendVisible());
+	}
+
 	private void addSeriesData(SortedLabel uniqueLabel, Collection<Double> xs, Collection<Double> ys) {
-		org.jfree.data.xy.XYSeries series = new org.jfree.data.xy.XYSeries(uniqueLabel, false, true);
-		Iterator<Double> xi = xs.iterator();
-		Iterator<Double> yi = ys.iterator();
-		while (xi.hasNext() && yi.hasNext())
-			series.add(xi.next(), yi.next());
-		jfcDataSet.addSeries(series);
+		jfcDataSet.addSeries(uniqueLabel, xs, ys);
+	}
+
+	private static void updateSeriesData(XYArrayDataset dataSet, int index, List<Double> xs, List<Double> ys) {
+		int oldSize = dataSet.getItemCount(index);
+		int size = Math.min(xs.size(), ys.size());
+		// NB: If the known items seem unchanged, the series has only grown.
+		if (size >= oldSize && isPrefix(dataSet, index, oldSize, xs, ys))
+			dataSet.append(index, xs, ys, oldSize, size);
+		else
+			dataSet.setSeries(index, xs, ys);
+	}
+
+	/**
+	 * Checks whether the first {@code count} values of the given lists are
+	 * still those of a series. Of lists with random access, only the last known
+	 * item and at most {@link #PREFIX_SAMPLES} others, spread evenly, are
+	 * compared, so that checking a series on every frame does not take time in
+	 * proportion to its size; a change of any other known item is only shown
+	 * once the series is replaced. Other lists are compared item by item.
+	 */
+	private static boolean isPrefix(XYArrayDataset dataSet, int index, int count, List<Double> xs, List<Double> ys) {
+		if (count == 0)
+			return true;
+		if (!(xs instanceof RandomAccess) || !(ys instanceof RandomAccess)) {
+			Iterator<Double> x = xs.iterator();
+			Iterator<Double> y = ys.iterator();
+			for (int item = 0; item < count; item++)
+				if (!sameValue(dataSet.getXValue(index, item), x.next()) ||
+						!sameValue(dataSet.getYValue(index, item), y.next()))
+					return false;
+			return true;
+		}
+		int step = Math.max(1, count / PREFIX_SAMPLES);
+		for (int item = 0; item < count; item += step)
+			if (!sameItem(dataSet, index, item, xs, ys))
+				return false;
+		return sameItem(dataSet, index, count - 1, xs, ys);
+	}
+
+	private static boolean sameItem(XYArrayDataset dataSet, int index, int item, List<Double> xs, List<Double> ys) {
+		return sameValue(dataSet.getXValue(index, item), xs.get(item)) &&
+				sameValue(dataSet.getYValue(index, item), ys.get(item));
+	}
+
+	private static boolean sameValue(double value, Double other) {
+		return Double.compare(value, other == null ? Double.NaN : other) == 0;
 	}
 
 	private void setSeriesStyle(SortedLabel label, SeriesStyle style, boolean legendVisible) {
+		setSeriesStyle(jfcRenderer, jfcDataSet.indexOf(label), style, legendVisible);
+	}
+
+	private static void setSeriesStyle(XYLineAndShapeRenderer renderer, int index, SeriesStyle style, boolean legendVisible) {
 		if (style == null)
 			return;
-		int index = jfcDataSet.getSeriesIndex(label);
-		RendererModifier.wrap(jfcRenderer).setSeriesStyle(index, style);
-		jfcRenderer.setSeriesVisibleInLegend(index, legendVisible);
+		RendererModifier.wrap(renderer).setSeriesStyle(index, style);
+		renderer.setSeriesVisibleInLegend(index, legendVisible);
 	}
 
 }
@@ -0,0 +1,226 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Bounded cache of the cell values of a {@link TableModel}, for tables which
+ * are large or compute their cells lazily, so that repainting and scrolling
+ * read each cell from the table only once.
+ * <p>
+ * Values are kept in blocks of consecutive rows of one column. The blocks are
+ * spread over several independently locked stripes, each evicting its least
+ * recently used blocks, so that readers on different threads do not contend.
+ * Cells are read on first access; when a block is first needed, the adjacent
+ * blocks of its column are read ahead in the background, one block per column
+ * at a time. Scans visiting every cell once, such as sorting or filtering,
+ * bypass the cache through {@link TableModel#readTableValue(int, int)}.
+ * </p>
+ */
+class CellCache {
+
+	/** Number of rows per block. */
+	static final int BLOCK_SIZE = 256;
+
+	/** Number of independently locked stripes. */
+	private static final int STRIPES = 16;
+
+	/** Maximal number of blocks kept per stripe. */
+	private static final int MAX_BLOCKS_PER_STRIPE = 256;
+
+	/** Placeholder for cells not read yet, since null is a valid value. */
+	private static final Object MISSING = new Object();
+
+	private final TableModel model;
+
+	private final ThreadService threadService;
+
+	private final Stripe[] stripes = new Stripe[STRIPES];
+
+	/** Columns with a block being read in the background. */
+	private final Set<Integer> prefetching = ConcurrentHashMap.newKeySet();
+
+	/** Incremented whenever cached values are discarded. */
+	private final AtomicInteger generation = new AtomicInteger();
+
+	/**
+	 * @param model The model whose values to cache.
+	 * @param threadService Service used to read blocks ahead, or null to not
+	 *          read ahead.
+	 */
+	CellCache(final TableModel model, final ThreadService threadService) {
+		this.model = model;
+		this.threadService = threadService;
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new Stripe();
+		}
+	}
+
+	/** Gets the value of the given cell, reading it if needed. */
+	Object get(final int row, final int col) {
+		final int block = row / BLOCK_SIZE;
+		final long key = key(col, block);
+		final int gen = generation.get();
+		Object[] values = stripe(key).get(key);
+		if (values == null) {
+			values = stripe(key).putIfAbsent(key, newBlock(), gen);
+			prefetch(col, block + 1);
+			prefetch(col, block - 1);
+		}
+		final int index = row - block * BLOCK_SIZE;
+		Object value = values[index];
+		if (value == MISSING) {
+			value = model.readTableValue(row, col);
+			values[index] = value;
+		}
+		return value;
+	}
+
+	/** Discards all cached values, since the table changed. */
+	void invalidate() {
+		generation.incrementAndGet();
+		for (final Stripe stripe : stripes) {
+			stripe.clear();
+		}
+	}
+
+	/** Discards the cached value of the given cell, since it changed. */
+	void invalidate(final int row, final int col) {
+		final long key = key(col, row / BLOCK_SIZE);
+		stripe(key).remove(key);
+	}
+
+	// -- Helper methods --
+
+	private static long key(final int col, final int block) {
+		return (long) col << 32 | block;
+	}
+
+	private Stripe stripe(final long key) {
+		// NB: Mix the bits, so that neighboring blocks land on different stripes.
+		final long h = key * 0x9E3779B97F4A7C15L;
+		return stripes[(int) (h >>> 60) & (STRIPES - 1)];
+	}
+
+	private static Object[] newBlock() {
+		final Object[] values = new Object[BLOCK_SIZE];
+		Arrays.fill(values, MISSING);
+		return values;
+	}
+
+	private void prefetch(final int col, final int block) {
+		if (threadService == null || block < 0 || //
+			block * BLOCK_SIZE >= model.getRowCount())
+		{
+			return;
+		}
+		final long key = key(col, block);
+		if (stripe(key).get(key) != null || !prefetching.add(col)) return;
+		final int gen = generation.get();
+		threadService.run(() -> {
+			try {
+				final Object[] values = newBlock();
+				final int first = block * BLOCK_SIZE;
+				final int rows = Math.min(BLOCK_SIZE, model.getRowCount() - first);
+				for (int r = 0; r < rows; r++) {
+					values[r] = model.readTableValue(first + r, col);
+				}
+				stripe(key).putIfAbsent(key, values, gen);
+			}
+			catch (final RuntimeException exc) {
+				// NB: The table changed while reading; the cells will be read again
+				// when they are needed.
+			}
+			finally {
+				prefetching.remove(col);
+			}
+		});
+	}
+
+	// -- Helper classes --
+
+	/** A least recently used map of blocks, with its own lock. */
+	private class Stripe {
+
+		private final Map<Long, Object[]> blocks =
+			new LinkedHashMap<Long, Object[]>(16, 0.75f, true)
+			{
+
+				@Override
+				protected boolean removeEldestEntry(
+					final Map.Entry<Long, Object[]> eldest)
+				{
+					return size() > MAX_BLOCKS_PER_STRIPE;
+				}
+			};
+
+		private synchronized Object[] get(final long key) {
+			return blocks.get(key);
+		}
+
+		/**
+		 * Stores the given block unless one is already there, or the cache was
+		 * invalidated since the given generation.
+		 *
+		 * @return The block stored for the key.
+		 */
+		private synchronized Object[] putIfAbsent(final long key,
+			final Object[] values, final int gen)
+		{
+			final Object[] existing = blocks.get(key);
+			if (existing != null) return existing;
+			if (gen == generation.get()) blocks.put(key, values);
+			return values;
+		}
+
+		/**
+		 * Discards the given block. The generation is advanced under the lock of
+		 * the stripe, so that a block read before the change, in the background
+		 * or by a concurrent {@link #get}, is not stored afterwards.
+		 */
+		private synchronized void remove(final long key) {
+			generation.incrementAndGet();
+			blocks.remove(key);
+		}
+
+		private synchronized void clear() {
+			blocks.clear();
+		}
+	}
+}
@@ -0,0 +1,280 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.FontMetrics;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+
+import javax.swing.JTable;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableColumnModel;
+
+import org.scijava.table.ByteColumn;
+import org.scijava.table.Column;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.FloatColumn;
+import org.scijava.table.IntColumn;
+import org.scijava.table.LongColumn;
+import org.scijava.table.ShortColumn;
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Sizes the columns of a {@link JTable} showing a {@link TableModel} to fit
+ * their contents.
+ * <p>
+ * Rather than preparing a renderer for every cell on the event dispatch
+ * thread, the text widths are computed in the background from the font
+ * metrics. By default, only a sample of the rows is measured: the first and
+ * last rows, random rows, and the rows holding the extreme values of integer
+ * columns or the longest text of other columns.
+ * </p>
+ */
+class ColumnSizer {
+
+	/** Number of rows measured at the start and at the end of the table. */
+	private static final int EDGE_ROWS = 100;
+
+	/** Number of randomly chosen rows measured. */
+	private static final int RANDOM_ROWS = 1000;
+
+	private final JTable table;
+	private final ThreadService threadService;
+
+	ColumnSizer(final JTable table, final ThreadService threadService) {
+		this.table = table;
+		this.threadService = threadService;
+	}
+
+	/**
+	 * Sizes the columns in the background, and applies the widths when done.
+	 * Must be called on the event dispatch thread.
+	 *
+	 * @param exact Whether to measure all rows rather than a sample.
+	 */
+	void resize(final boolean exact) {
+		final TableModel model = (TableModel) table.getModel();
+		final TableColumnModel columnModel = table.getColumnModel();
+		final int columns = columnModel.getColumnCount();
+		final int[] modelColumns = new int[columns];
+		final int[] widths = new int[columns];
+		final int[] padding = new int[columns];
+		for (int col = 0; col < columns; col++) {
+			final TableColumn column = columnModel.getColumn(col);
+			modelColumns[col] = column.getModelIndex();
+			widths[col] = Math.max(column.getMinWidth(), headerWidth(column, col));
+			padding[col] = padding(col) + table.getIntercellSpacing().width;
+		}
+		final FontMetrics metrics = table.getFontMetrics(table.getFont());
+		final int rowCount = model.getRowCount();
+
+		table.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		threadService.run(() -> {
+			try {
+				final TextWidths textWidths = new TextWidths(metrics);
+				for (int col = 0; col < columns; col++) {
+					final int[] rows = exact ? null : sample(model, modelColumns[col],
+						rowCount);
+					final int n = rows == null ? rowCount : rows.length;
+					for (int i = 0; i < n; i++) {
+						final int row = rows == null ? i : rows[i];
+						final int width = textWidths.of(text(model, row,
+							modelColumns[col])) + padding[col];
+						if (width > widths[col]) widths[col] = width;
+					}
+				}
+			}
+			catch (final RuntimeException exc) {
+				// NB: The table changed while measuring; use what we have.
+			}
+			threadService.queue(() -> {
+				table.setCursor(null);
+				if (table.getModel() != model) return;
+				apply(widths);
+			});
+		});
+	}
+
+	// -- Helper methods --
+
+	/** Sets the preferred widths of all columns at once. */
+	private void apply(final int[] widths) {
+		final TableColumnModel columnModel = table.getColumnModel();
+		if (columnModel.getColumnCount() != widths.length) return;
+		table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+		for (int col = 0; col < widths.length; col++) {
+			final TableColumn column = columnModel.getColumn(col);
+			column.setPreferredWidth(Math.min(widths[col], column.getMaxWidth()));
+		}
+	}
+
+	private int headerWidth(final TableColumn column, final int col) {
+		TableCellRenderer renderer = column.getHeaderRenderer();
+		if (renderer == null) renderer = table.getTableHeader().getDefaultRenderer();
+		final Component c = renderer.getTableCellRendererComponent(table, column
+			.getHeaderValue(), false, false, -1, col);
+		return c.getPreferredSize().width;
+	}
+
+	/** Gets the width the renderer of the given column adds to the text. */
+	private int padding(final int col) {
+		if (table.getRowCount() == 0) return 2;
+		final Component c = table.prepareRenderer(table.getCellRenderer(0, col), 0,
+			col);
+		final Object value = table.getValueAt(0, col);
+		final int textWidth = c.getFontMetrics(c.getFont()).stringWidth(
+			value == null ? "" : value.toString());
+		return Math.max(0, c.getPreferredSize().width - textWidth);
+	}
+
+	/** Chooses the rows to measure for the given column. */
+	static int[] sample(final TableModel model, final int col,
+		final int rowCount)
+	{
+		if (rowCount <= 2 * EDGE_ROWS + RANDOM_ROWS) return null;
+		final int[] rows = new int[2 * EDGE_ROWS + RANDOM_ROWS + 2];
+		int r = 0;
+		for (int i = 0; i < EDGE_ROWS; i++) {
+			rows[r++] = i;
+			rows[r++] = rowCount - 1 - i;
+		}
+		final Random random = new Random(col);
+		for (int i = 0; i < RANDOM_ROWS; i++) {
+			rows[r++] = random.nextInt(rowCount);
+		}
+		final int[] extremes = extremes(model, col, rowCount);
+		rows[r++] = extremes[0];
+		rows[r++] = extremes[1];
+		return rows;
+	}
+
+	/**
+	 * Finds the rows whose values are likely to have the longest text: the
+	 * minimum and maximum of an integer column, which have the most digits, or
+	 * the values with the longest text otherwise. The length of a floating
+	 * point value depends on its precision and exponent rather than on its
+	 * magnitude, so it is measured as rendered.
+	 */
+	static int[] extremes(final TableModel model, final int col,
+		final int rowCount)
+	{
+		final Column<?> column = col == 0 ? null : model.getTableColumn(col);
+		int minRow = 0, maxRow = 0;
+		if (column instanceof LongColumn || column instanceof IntColumn ||
+			column instanceof ShortColumn || column instanceof ByteColumn)
+		{
+			long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+			for (int row = 0; row < rowCount; row++) {
+				final long value = longValue(column, row);
+				if (value < min) {
+					min = value;
+					minRow = row;
+				}
+				if (value > max) {
+					max = value;
+					maxRow = row;
+				}
+			}
+		}
+		else if (column instanceof DoubleColumn) {
+			final DoubleColumn c = (DoubleColumn) column;
+			maxRow = longest(rowCount, row -> Double.toString(c.getValue(row))
+				.length());
+		}
+		else if (column instanceof FloatColumn) {
+			final FloatColumn c = (FloatColumn) column;
+			maxRow = longest(rowCount, row -> Float.toString(c.getValue(row))
+				.length());
+		}
+		else {
+			maxRow = longest(rowCount, row -> text(model, row, col).length());
+		}
+		return new int[] { minRow, maxRow };
+	}
+
+	/** Finds the row with the longest text, as measured by the given function. */
+	private static int longest(final int rowCount, final IntUnaryOperator length) {
+		int longest = -1, longestRow = 0;
+		for (int row = 0; row < rowCount; row++) {
+			final int l = length.applyAsInt(row);
+			if (l > longest) {
+				longest = l;
+				longestRow = row;
+			}
+		}
+		return longestRow;
+	}
+
+	private static long longValue(final Column<?> column, final int row) {
+		if (column instanceof LongColumn) return ((LongColumn) column).getValue(
+			row);
+		if (column instanceof IntColumn) return ((IntColumn) column).getValue(row);
+		if (column instanceof ShortColumn) return ((ShortColumn) column).getValue(
+			row);
+		return ((ByteColumn) column).getValue(row);
+	}
+
+	private static String text(final TableModel model, final int row,
+		final int col)
+	{
+		final Object value = model.readTableValue(row, col);
+		return value == null ? "" : value.toString();
+	}
+
+	// -- Helper classes --
+
+	/** Computes text widths, caching the widths of Latin-1 characters. */
+	private static class TextWidths {
+
+		private final FontMetrics metrics;
+		private final int[] charWidths = new int[256];
+
+		private TextWidths(final FontMetrics metrics) {
+			this.metrics = metrics;
+			for (int c = 0; c < charWidths.length; c++) {
+				charWidths[c] = metrics.charWidth((char) c);
+			}
+		}
+
+		private int of(final String text) {
+			int width = 0;
+			for (int i = 0; i < text.length(); i++) {
+				final char c = text.charAt(i);
+				if (c >= charWidths.length) return metrics.stringWidth(text);
+				width += charWidths[c];
+			}
+			return width;
+		}
+	}
+}
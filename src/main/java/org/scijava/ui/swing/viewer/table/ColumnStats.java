@@ -0,0 +1,226 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.util.stream.IntStream;
+
+import org.scijava.table.ByteColumn;
+import org.scijava.table.Column;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.FloatColumn;
+import org.scijava.table.IntColumn;
+import org.scijava.table.LongColumn;
+import org.scijava.table.ShortColumn;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Summary statistics of the numeric values of a table column: count, NaN
+ * count, minimum, maximum, mean and variance.
+ * <p>
+ * Values are added one at a time with Welford's algorithm, and the statistics
+ * of disjoint parts of a column are combined with Chan et al.'s formulas, so
+ * that columns can be reduced in parallel and extended incrementally.
+ * </p>
+ */
+class ColumnStats {
+
+	/** Number of rows each parallel task reduces. */
+	private static final int CHUNK_SIZE = 16384;
+
+	private long count;
+	private long nanCount;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	private double mean;
+
+	/** Sum of the squared differences from the mean. */
+	private double m2;
+
+	// -- ColumnStats methods --
+
+	/**
+	 * Computes the statistics of the given rows of a model column, in
+	 * parallel.
+	 *
+	 * @return The statistics, or null if the column is not numeric.
+	 */
+	static ColumnStats compute(final TableModel model, final int col,
+		final int first, final int last)
+	{
+		final ValueReader reader = reader(model, col, first);
+		if (reader == null) return null;
+		final int chunks = (last - first + CHUNK_SIZE) / CHUNK_SIZE;
+		return IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+			final ColumnStats stats = new ColumnStats();
+			final int end = Math.min(last + 1, first + (chunk + 1) * CHUNK_SIZE);
+			for (int row = first + chunk * CHUNK_SIZE; row < end; row++) {
+				reader.add(stats, row);
+			}
+			return stats;
+		}).collect(ColumnStats::new, ColumnStats::combine,
+			ColumnStats::combine);
+	}
+
+	/** Adds a value. */
+	void add(final double value) {
+		if (Double.isNaN(value)) {
+			nanCount++;
+			return;
+		}
+		count++;
+		final double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+		if (value < min) min = value;
+		if (value > max) max = value;
+	}
+
+	/**
+	 * Removes a value which was added before.
+	 *
+	 * @return False if the value was an extreme, so that the minimum and maximum
+	 *         must be computed again.
+	 */
+	boolean remove(final double value) {
+		if (Double.isNaN(value)) {
+			nanCount--;
+			return true;
+		}
+		if (count <= 1) {
+			count = 0;
+			mean = m2 = 0;
+			min = Double.POSITIVE_INFINITY;
+			max = Double.NEGATIVE_INFINITY;
+			return true;
+		}
+		final double oldMean = mean;
+		count--;
+		mean -= (value - oldMean) / count;
+		m2 = Math.max(0, m2 - (value - oldMean) * (value - mean));
+		return value > min && value < max;
+	}
+
+	/**
+	 * Combines the given statistics of other values into these.
+	 *
+	 * @return These statistics.
+	 */
+	ColumnStats combine(final ColumnStats other) {
+		if (other.count > 0) {
+			final long n = count + other.count;
+			final double delta = other.mean - mean;
+			mean += delta * other.count / n;
+			m2 += other.m2 + delta * delta * count * other.count / n;
+			count = n;
+			min = Math.min(min, other.min);
+			max = Math.max(max, other.max);
+		}
+		nanCount += other.nanCount;
+		return this;
+	}
+
+	/** Gets the number of values, not counting NaNs. */
+	long getCount() {
+		return count;
+	}
+
+	long getNaNCount() {
+		return nanCount;
+	}
+
+	double getMin() {
+		return count == 0 ? Double.NaN : min;
+	}
+
+	double getMax() {
+		return count == 0 ? Double.NaN : max;
+	}
+
+	double getMean() {
+		return count == 0 ? Double.NaN : mean;
+	}
+
+	/** Gets the sample standard deviation. */
+	double getStdDev() {
+		return count < 2 ? Double.NaN : Math.sqrt(m2 / (count - 1));
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Creates a reader for the values of the given model column, or returns null
+	 * if the column is not numeric.
+	 */
+	private static ValueReader reader(final TableModel model, final int col,
+		final int first)
+	{
+		if (col == 0) return null;
+		final Column<?> column = model.getTableColumn(col);
+		if (column instanceof DoubleColumn) {
+			final DoubleColumn c = (DoubleColumn) column;
+			return (stats, row) -> stats.add(c.getValue(row));
+		}
+		if (column instanceof FloatColumn) {
+			final FloatColumn c = (FloatColumn) column;
+			return (stats, row) -> stats.add(c.getValue(row));
+		}
+		if (column instanceof LongColumn) {
+			final LongColumn c = (LongColumn) column;
+			return (stats, row) -> stats.add(c.getValue(row));
+		}
+		if (column instanceof IntColumn) {
+			final IntColumn c = (IntColumn) column;
+			return (stats, row) -> stats.add(c.getValue(row));
+		}
+		if (column instanceof ShortColumn) {
+			final ShortColumn c = (ShortColumn) column;
+			return (stats, row) -> stats.add(c.getValue(row));
+		}
+		if (column instanceof ByteColumn) {
+			final ByteColumn c = (ByteColumn) column;
+			return (stats, row) -> stats.add(c.getValue(row));
+		}
+		// NB: A generic column counts as numeric if its first value is a number.
+		if (first >= model.getRowCount() || !(model.readTableValue(first,
+			col) instanceof Number)) return null;
+		return (stats, row) -> {
+			final Object value = model.readTableValue(row, col);
+			if (value instanceof Number) stats.add(((Number) value).doubleValue());
+		};
+	}
+
+	// -- Helper classes --
+
+	/** Adds the value of a row to statistics. */
+	private interface ValueReader {
+
+		void add(ColumnStats stats, int row);
+	}
+}
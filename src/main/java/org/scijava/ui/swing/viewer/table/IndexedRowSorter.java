@@ -0,0 +1,688 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableModel;
+
+import org.scijava.table.BoolColumn;
+import org.scijava.table.ByteColumn;
+import org.scijava.table.CharColumn;
+import org.scijava.table.Column;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.FloatColumn;
+import org.scijava.table.IntColumn;
+import org.scijava.table.LongColumn;
+import org.scijava.table.ShortColumn;
+
+/**
+ * {@link RowSorter} which keeps the mapping between view and model rows in
+ * primitive {@code int} arrays, rather than in one object per row as
+ * {@link javax.swing.table.TableRowSorter} does.
+ * <p>
+ * Only one column is sorted at a time. Rows with equal values keep their model
+ * order. The view can be restricted to a {@link #setFilter filtered} subset of
+ * the rows. Numeric columns of a {@link SwingTableDisplayPanel.TableModel} are
+ * sorted by primitive keys, without boxing. Rows are sorted by a parallel merge
+ * sort on the fork-join pool; large tables are sorted in the background, and
+ * the result is installed at once on the event dispatch thread.
+ * </p>
+ */
+class IndexedRowSorter extends RowSorter<TableModel> {
+
+	/** Number of rows from which on rows are sorted in the background. */
+	static final int ASYNC_THRESHOLD = 50000;
+
+	/** Number of rows up to which a range is sorted sequentially. */
+	private static final int SEQUENTIAL_THRESHOLD = 8192;
+
+	private final TableModel model;
+
+	private List<SortKey> sortKeys = Collections.emptyList();
+
+	/** All model rows in sorted order, or null if the rows are not sorted. */
+	private int[] order;
+
+	/** Model rows passing the filter in ascending order, or null if none. */
+	private int[] filter;
+
+	/**
+	 * View row of each model row, or -1 if filtered out; null if the rows are
+	 * neither sorted nor filtered.
+	 */
+	private int[] modelToView;
+
+	/**
+	 * Model row of each view row; null if the rows are neither sorted nor
+	 * filtered.
+	 */
+	private int[] viewToModel;
+
+	private int modelRowCount;
+
+	/** Component showing a busy cursor while sorting in the background. */
+	private Component busyComponent;
+
+	/** Incremented whenever a background sort becomes obsolete. */
+	private int generation;
+
+	/** Whether a background sort is running. */
+	private boolean sorting;
+
+	IndexedRowSorter(final TableModel model) {
+		this.model = model;
+		modelRowCount = model.getRowCount();
+	}
+
+	// -- IndexedRowSorter methods --
+
+	/** Sets the component which shows a busy cursor while sorting. */
+	void setBusyComponent(final Component component) {
+		busyComponent = component;
+	}
+
+	/**
+	 * Restricts the view to the given model rows.
+	 *
+	 * @param rows The model rows to show in ascending order, or null to show all
+	 *          rows.
+	 */
+	void setFilter(final int[] rows) {
+		final int[] last = currentViewToModel();
+		filter = rows == null ? null : clip(rows, 0, modelRowCount - 1);
+		updateView();
+		fireRowSorterChanged(last);
+	}
+
+	/**
+	 * Replaces the filtered rows in the given range of model rows. Does nothing
+	 * if the rows are not filtered.
+	 *
+	 * @param rows The model rows of the range to show, in ascending order.
+	 */
+	void setFilter(final int first, final int last, final int[] rows) {
+		if (filter == null) return;
+		final int[] lastViewToModel = currentViewToModel();
+		final int[] matches = clip(rows, first, Math.min(last, modelRowCount - 1));
+		int before = 0;
+		while (before < filter.length && filter[before] < first)
+			before++;
+		int after = before;
+		while (after < filter.length && filter[after] <= last)
+			after++;
+		final int[] newFilter = new int[before + matches.length + filter.length -
+			after];
+		System.arraycopy(filter, 0, newFilter, 0, before);
+		System.arraycopy(matches, 0, newFilter, before, matches.length);
+		System.arraycopy(filter, after, newFilter, before + matches.length,
+			filter.length - after);
+		filter = newFilter;
+		updateView();
+		fireRowSorterChanged(lastViewToModel);
+	}
+
+	boolean isFiltered() {
+		return filter != null;
+	}
+
+	// -- RowSorter methods --
+
+	@Override
+	public TableModel getModel() {
+		return model;
+	}
+
+	@Override
+	public void toggleSortOrder(final int column) {
+		SortOrder order = SortOrder.ASCENDING;
+		if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) {
+			order = sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING
+				? SortOrder.DESCENDING : SortOrder.ASCENDING;
+		}
+		setSortKeys(Collections.singletonList(new SortKey(column, order)));
+	}
+
+	@Override
+	public int convertRowIndexToModel(final int index) {
+		final int[] viewToModel = this.viewToModel;
+		if (viewToModel == null) {
+			if (index < 0 || index >= modelRowCount) {
+				throw new IndexOutOfBoundsException("Invalid index: " + index);
+			}
+			return index;
+		}
+		return viewToModel[index];
+	}
+
+	@Override
+	public int convertRowIndexToView(final int index) {
+		final int[] modelToView = this.modelToView;
+		if (modelToView == null) {
+			if (index < 0 || index >= modelRowCount) {
+				throw new IndexOutOfBoundsException("Invalid index: " + index);
+			}
+			return index;
+		}
+		return modelToView[index];
+	}
+
+	@Override
+	public void setSortKeys(final List<? extends SortKey> keys) {
+		final List<SortKey> newKeys = new ArrayList<>();
+		if (keys != null && !keys.isEmpty()) {
+			final SortKey key = keys.get(0);
+			if (key.getSortOrder() != SortOrder.UNSORTED) newKeys.add(key);
+		}
+		if (newKeys.equals(sortKeys)) return;
+		sortKeys = Collections.unmodifiableList(newKeys);
+		fireSortOrderChanged();
+		sort();
+	}
+
+	@Override
+	public List<? extends SortKey> getSortKeys() {
+		return sortKeys;
+	}
+
+	@Override
+	public int getViewRowCount() {
+		final int[] viewToModel = this.viewToModel;
+		return viewToModel == null ? modelRowCount : viewToModel.length;
+	}
+
+	@Override
+	public int getModelRowCount() {
+		return modelRowCount;
+	}
+
+	@Override
+	public void modelStructureChanged() {
+		modelRowCount = model.getRowCount();
+		order = null;
+		filter = null;
+		updateView();
+		cancelSort();
+		if (sortKeys.isEmpty()) return;
+		sortKeys = Collections.emptyList();
+		fireSortOrderChanged();
+	}
+
+	@Override
+	public void allRowsChanged() {
+		modelRowCount = model.getRowCount();
+		if (filter != null) filter = clip(filter, 0, modelRowCount - 1);
+		if (order != null && order.length != modelRowCount) order = null;
+		updateView();
+		sort();
+	}
+
+	@Override
+	public void rowsInserted(final int firstRow, final int endRow) {
+		modelRowCount = model.getRowCount();
+		checkRange(firstRow, endRow, modelRowCount);
+		final int count = endRow - firstRow + 1;
+		// NB: Inserted rows are filtered out, until the filter is updated.
+		if (filter != null) filter = shift(filter, firstRow, count);
+		if (order == null) {
+			updateView();
+			// NB: A background sort in progress is missing the inserted rows.
+			if (sorting) sort();
+			return;
+		}
+
+		final int[] existing = shift(order, firstRow, count);
+		final int[] inserted = new int[count];
+		for (int i = 0; i < count; i++) {
+			inserted[i] = firstRow + i;
+		}
+		if (sorting || modelRowCount >= ASYNC_THRESHOLD) {
+			// NB: Show the new rows at the end, until they are sorted in.
+			order = concat(existing, inserted);
+			updateView();
+			sort();
+			return;
+		}
+
+		// merge the sorted new rows in
+		final RowComparator comparator = comparator(sortKeys.get(0),
+			modelRowCount);
+		mergeSort(inserted, inserted.clone(), 0, count, comparator);
+		final int[] merged = new int[existing.length + count];
+		int e = 0, n = 0;
+		for (int i = 0; i < merged.length; i++) {
+			if (n == count || e < existing.length && comparator.compare(existing[e],
+				inserted[n]) <= 0)
+			{
+				merged[i] = existing[e++];
+			}
+			else merged[i] = inserted[n++];
+		}
+		order = merged;
+		updateView();
+	}
+
+	@Override
+	public void rowsDeleted(final int firstRow, final int endRow) {
+		checkRange(firstRow, endRow, modelRowCount);
+		modelRowCount = model.getRowCount();
+		if (filter != null) filter = remove(filter, firstRow, endRow);
+		if (order != null) order = remove(order, firstRow, endRow);
+		updateView();
+		// NB: A background sort in progress is based on the deleted rows.
+		if (sorting) sort();
+	}
+
+	@Override
+	public void rowsUpdated(final int firstRow, final int endRow) {
+		checkRange(firstRow, endRow, modelRowCount);
+		sort();
+	}
+
+	@Override
+	public void rowsUpdated(final int firstRow, final int endRow,
+		final int column)
+	{
+		checkRange(firstRow, endRow, modelRowCount);
+		if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) sort();
+	}
+
+	// -- Internal methods --
+
+	/**
+	 * Gets the value of the given cell, as compared by this sorter. The cell
+	 * cache of the model is bypassed, since sorting visits every row once and
+	 * would only evict the cells being painted.
+	 */
+	Object getValue(final int row, final int column) {
+		if (model instanceof SwingTableDisplayPanel.TableModel) {
+			return ((SwingTableDisplayPanel.TableModel) model).readTableValue(row,
+				column);
+		}
+		return model.getValueAt(row, column);
+	}
+
+	// -- Helper methods - sorting --
+
+	/** Sorts the rows by the current sort keys, and notifies the listeners. */
+	private void sort() {
+		cancelSort();
+		if (sortKeys.isEmpty()) {
+			if (order == null) return;
+			install(null);
+			return;
+		}
+		final SortKey key = sortKeys.get(0);
+		final int rowCount = modelRowCount;
+		if (rowCount < ASYNC_THRESHOLD) {
+			install(sortRows(key, rowCount));
+			return;
+		}
+		final int gen = generation;
+		setSorting(true);
+		ForkJoinPool.commonPool().execute(() -> {
+			int[] rows;
+			try {
+				rows = sortRows(key, rowCount);
+			}
+			catch (final RuntimeException exc) {
+				// NB: The table changed while sorting; it will be sorted again when
+				// the change is reported.
+				rows = null;
+			}
+			final int[] sorted = rows;
+			EventQueue.invokeLater(() -> {
+				if (gen != generation) return;
+				setSorting(false);
+				if (sorted != null && sorted.length == modelRowCount) install(sorted);
+			});
+		});
+	}
+
+	/** Makes the result of a background sort in progress obsolete. */
+	private void cancelSort() {
+		generation++;
+		setSorting(false);
+	}
+
+	/** Installs the given sorted rows, and notifies the listeners. */
+	private void install(final int[] rows) {
+		final int[] lastViewToModel = currentViewToModel();
+		order = rows;
+		updateView();
+		fireRowSorterChanged(lastViewToModel);
+	}
+
+	private void setSorting(final boolean sorting) {
+		if (this.sorting == sorting) return;
+		this.sorting = sorting;
+		if (busyComponent == null) return;
+		busyComponent.setCursor(sorting ? Cursor.getPredefinedCursor(
+			Cursor.WAIT_CURSOR) : null);
+	}
+
+	/** Gets the model rows, sorted by the given key. */
+	private int[] sortRows(final SortKey key, final int rowCount) {
+		final RowComparator comparator = comparator(key, rowCount);
+		final int[] rows = new int[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			rows[i] = i;
+		}
+		if (rowCount <= SEQUENTIAL_THRESHOLD) {
+			mergeSort(rows, rows.clone(), 0, rowCount, comparator);
+		}
+		else {
+			ForkJoinPool.commonPool().invoke(new MergeSortTask(rows, rows.clone(),
+				0, rowCount, comparator));
+		}
+		return rows;
+	}
+
+	/**
+	 * Creates a comparator of model rows by the given key, breaking ties by the
+	 * model index. The keys of all rows are extracted up front.
+	 */
+	private RowComparator comparator(final SortKey key, final int rowCount) {
+		final int sign = key.getSortOrder() == SortOrder.DESCENDING ? -1 : 1;
+		final long[] primitiveKeys = primitiveKeys(key.getColumn(), rowCount);
+		if (primitiveKeys != null) {
+			return (row1, row2) -> {
+				final int result = sign * Long.compare(primitiveKeys[row1],
+					primitiveKeys[row2]);
+				return result != 0 ? result : Integer.compare(row1, row2);
+			};
+		}
+		final Object[] values = new Object[rowCount];
+		for (int row = 0; row < rowCount; row++) {
+			values[row] = getValue(row, key.getColumn());
+		}
+		return (row1, row2) -> {
+			final int result = sign * compareValues(values[row1], values[row2]);
+			return result != 0 ? result : Integer.compare(row1, row2);
+		};
+	}
+
+	/**
+	 * Extracts the values of the given column as {@code long}s in the same order
+	 * as the values, or returns null if the column is not numeric.
+	 */
+	private long[] primitiveKeys(final int column, final int rowCount) {
+		if (!(model instanceof SwingTableDisplayPanel.TableModel)) return null;
+		final SwingTableDisplayPanel.TableModel tableModel =
+			(SwingTableDisplayPanel.TableModel) model;
+		final long[] keys = new long[rowCount];
+		if (column == 0) {
+			// NB: Without row headers, the row header column holds row numbers.
+			if (tableModel.hasRowHeaders()) return null;
+			for (int row = 0; row < rowCount; row++) {
+				keys[row] = row;
+			}
+			return keys;
+		}
+		final Column<?> col = tableModel.getTableColumn(column);
+		final IntStream rows = IntStream.range(0, rowCount).parallel();
+		if (col instanceof DoubleColumn) {
+			final DoubleColumn c = (DoubleColumn) col;
+			rows.forEach(row -> keys[row] = sortableBits(c.getValue(row)));
+		}
+		else if (col instanceof FloatColumn) {
+			final FloatColumn c = (FloatColumn) col;
+			rows.forEach(row -> keys[row] = sortableBits(c.getValue(row)));
+		}
+		else if (col instanceof LongColumn) {
+			final LongColumn c = (LongColumn) col;
+			rows.forEach(row -> keys[row] = c.getValue(row));
+		}
+		else if (col instanceof IntColumn) {
+			final IntColumn c = (IntColumn) col;
+			rows.forEach(row -> keys[row] = c.getValue(row));
+		}
+		else if (col instanceof ShortColumn) {
+			final ShortColumn c = (ShortColumn) col;
+			rows.forEach(row -> keys[row] = c.getValue(row));
+		}
+		else if (col instanceof ByteColumn) {
+			final ByteColumn c = (ByteColumn) col;
+			rows.forEach(row -> keys[row] = c.getValue(row));
+		}
+		else if (col instanceof CharColumn) {
+			final CharColumn c = (CharColumn) col;
+			rows.forEach(row -> keys[row] = c.getValue(row));
+		}
+		else if (col instanceof BoolColumn) {
+			final BoolColumn c = (BoolColumn) col;
+			rows.forEach(row -> keys[row] = c.getValue(row) ? 1 : 0);
+		}
+		else return null;
+		return keys;
+	}
+
+	/**
+	 * Maps a double to a long, such that the longs are ordered like the doubles
+	 * by {@link Double#compare}.
+	 */
+	private static long sortableBits(final double value) {
+		final long bits = Double.doubleToLongBits(value);
+		return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static int compareValues(final Object v1, final Object v2) {
+		if (v1 == null) return v2 == null ? 0 : -1;
+		if (v2 == null) return 1;
+		if (v1 instanceof Number && v2 instanceof Number) {
+			return Double.compare(((Number) v1).doubleValue(), ((Number) v2)
+				.doubleValue());
+		}
+		if (v1 instanceof Comparable && v1.getClass() == v2.getClass()) {
+			return ((Comparable) v1).compareTo(v2);
+		}
+		return v1.toString().compareTo(v2.toString());
+	}
+
+	/**
+	 * Sorts the given range of rows, using a buffer holding the same rows.
+	 */
+	private static void mergeSort(final int[] rows, final int[] buffer,
+		final int from, final int to, final RowComparator comparator)
+	{
+		if (to - from < 2) return;
+		final int mid = (from + to) >>> 1;
+		// NB: Sort the halves into the buffer, then merge them back into rows.
+		mergeSort(buffer, rows, from, mid, comparator);
+		mergeSort(buffer, rows, mid, to, comparator);
+		merge(buffer, rows, from, mid, to, comparator);
+	}
+
+	/** Merges the sorted ranges [from, mid) and [mid, to) of src into dest. */
+	private static void merge(final int[] src, final int[] dest, final int from,
+		final int mid, final int to, final RowComparator comparator)
+	{
+		int a = from, b = mid;
+		for (int i = from; i < to; i++) {
+			if (b == to || a < mid && comparator.compare(src[a], src[b]) <= 0) {
+				dest[i] = src[a++];
+			}
+			else dest[i] = src[b++];
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Updates the view from the sort order and the filter. */
+	private void updateView() {
+		if (order == null && filter == null) {
+			viewToModel = null;
+			modelToView = null;
+			return;
+		}
+		final int[] view;
+		if (filter == null) view = order;
+		else if (order == null) view = filter;
+		else {
+			final boolean[] included = new boolean[modelRowCount];
+			for (final int row : filter) {
+				included[row] = true;
+			}
+			view = new int[filter.length];
+			int v = 0;
+			for (final int row : order) {
+				if (included[row]) view[v++] = row;
+			}
+		}
+		final int[] toView = new int[modelRowCount];
+		Arrays.fill(toView, -1);
+		for (int i = 0; i < view.length; i++) {
+			toView[view[i]] = i;
+		}
+		modelToView = toView;
+		viewToModel = view;
+	}
+
+	/**
+	 * Gets the current mapping of view rows to model rows, which listeners need
+	 * to restore the selection after a change.
+	 */
+	private int[] currentViewToModel() {
+		if (viewToModel != null) return viewToModel;
+		final int[] rows = new int[modelRowCount];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = i;
+		}
+		return rows;
+	}
+
+	/** Shifts the rows from the given row on by the given count. */
+	private static int[] shift(final int[] rows, final int from,
+		final int count)
+	{
+		final int[] shifted = new int[rows.length];
+		for (int i = 0; i < rows.length; i++) {
+			shifted[i] = rows[i] >= from ? rows[i] + count : rows[i];
+		}
+		return shifted;
+	}
+
+	/** Removes the given range of rows, and shifts the following rows. */
+	private static int[] remove(final int[] rows, final int first,
+		final int last)
+	{
+		final int count = last - first + 1;
+		final int[] remaining = new int[rows.length];
+		int r = 0;
+		for (final int row : rows) {
+			if (row < first) remaining[r++] = row;
+			else if (row > last) remaining[r++] = row - count;
+		}
+		return r == rows.length ? remaining : Arrays.copyOf(remaining, r);
+	}
+
+	/** Gets the rows within the given range. */
+	private static int[] clip(final int[] rows, final int min, final int max) {
+		int count = 0;
+		for (final int row : rows) {
+			if (row >= min && row <= max) count++;
+		}
+		if (count == rows.length) return rows;
+		final int[] clipped = new int[count];
+		int c = 0;
+		for (final int row : rows) {
+			if (row >= min && row <= max) clipped[c++] = row;
+		}
+		return clipped;
+	}
+
+	private static int[] concat(final int[] a, final int[] b) {
+		final int[] result = new int[a.length + b.length];
+		System.arraycopy(a, 0, result, 0, a.length);
+		System.arraycopy(b, 0, result, a.length, b.length);
+		return result;
+	}
+
+	private static void checkRange(final int firstRow, final int endRow,
+		final int rowCount)
+	{
+		if (firstRow > endRow || firstRow < 0 || endRow >= rowCount) {
+			throw new IndexOutOfBoundsException("Invalid range: " + firstRow +
+				" - " + endRow);
+		}
+	}
+
+	// -- Helper classes --
+
+	/** Compares two model rows. */
+	private interface RowComparator {
+
+		int compare(int row1, int row2);
+	}
+
+	/** Parallel version of {@link IndexedRowSorter#mergeSort}. */
+	private static class MergeSortTask extends RecursiveAction {
+
+		private final int[] rows;
+		private final int[] buffer;
+		private final int from;
+		private final int to;
+		private final RowComparator comparator;
+
+		private MergeSortTask(final int[] rows, final int[] buffer, final int from,
+			final int to, final RowComparator comparator)
+		{
+			this.rows = rows;
+			this.buffer = buffer;
+			this.from = from;
+			this.to = to;
+			this.comparator = comparator;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SEQUENTIAL_THRESHOLD) {
+				mergeSort(rows, buffer, from, to, comparator);
+				return;
+			}
+			final int mid = (from + to) >>> 1;
+			invokeAll(new MergeSortTask(buffer, rows, from, mid, comparator),
+				new MergeSortTask(buffer, rows, mid, to, comparator));
+			merge(buffer, rows, from, mid, to, comparator);
+		}
+	}
+}
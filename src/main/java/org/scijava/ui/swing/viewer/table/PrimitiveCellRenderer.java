@@ -0,0 +1,259 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.util.Map;
+
+import javax.swing.JComponent;
+import javax.swing.JTable;
+import javax.swing.UIManager;
+import javax.swing.border.Border;
+import javax.swing.border.EmptyBorder;
+
+import org.scijava.table.BoolColumn;
+import org.scijava.table.ByteColumn;
+import org.scijava.table.CharColumn;
+import org.scijava.table.Column;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.FloatColumn;
+import org.scijava.table.IntColumn;
+import org.scijava.table.LongColumn;
+import org.scijava.table.ShortColumn;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Renders cells of primitive table columns, and the row headers or numbers,
+ * without boxing their values.
+ * <p>
+ * The value is read straight from the column and formatted into a reused
+ * buffer, from which the characters are drawn. The text is the same as that
+ * of the boxed value's {@code toString()}, which the default renderer shows.
+ * </p>
+ */
+@SuppressWarnings("serial")
+class PrimitiveCellRenderer extends JComponent {
+
+	private static final Border NO_FOCUS_BORDER = new EmptyBorder(1, 1, 1, 1);
+
+	private static final String ELLIPSIS = "...";
+
+	private final StringBuilder text = new StringBuilder(32);
+	private char[] chars = new char[32];
+	private int length;
+
+	PrimitiveCellRenderer() {
+		setOpaque(true);
+	}
+
+	/**
+	 * Prepares to render the given cell, like
+	 * {@link JTable#prepareRenderer(javax.swing.table.TableCellRenderer, int, int)}
+	 * does.
+	 *
+	 * @return This component, or null if the cell holds no primitive value.
+	 */
+	Component prepare(final JTable table, final int row, final int column) {
+		if (!(table.getModel() instanceof TableModel)) return null;
+		final TableModel model = (TableModel) table.getModel();
+		if (!format(model, table.convertRowIndexToModel(row), table
+			.convertColumnIndexToModel(column))) return null;
+
+		boolean isSelected = false, hasFocus = false;
+		if (!table.isPaintingForPrint()) {
+			isSelected = table.isCellSelected(row, column);
+			hasFocus = table.getSelectionModel().getLeadSelectionIndex() == row &&
+				table.getColumnModel().getSelectionModel()
+					.getLeadSelectionIndex() == column && table.isFocusOwner();
+		}
+		if (isSelected) {
+			setForeground(table.getSelectionForeground());
+			setBackground(table.getSelectionBackground());
+		}
+		else {
+			final Color alternate = UIManager.getColor("Table.alternateRowColor");
+			setForeground(table.getForeground());
+			setBackground(alternate != null && row % 2 != 0 ? alternate : table
+				.getBackground());
+		}
+		setFont(table.getFont());
+		Border border = null;
+		if (hasFocus) {
+			border = isSelected ? UIManager.getBorder(
+				"Table.focusSelectedCellHighlightBorder") : null;
+			if (border == null) border = UIManager.getBorder(
+				"Table.focusCellHighlightBorder");
+		}
+		setBorder(border == null ? NO_FOCUS_BORDER : border);
+		return this;
+	}
+
+	/** Gets the text of the cell last prepared. */
+	String getText() {
+		return new String(chars, 0, length);
+	}
+
+	// -- Component methods --
+
+	@Override
+	public Dimension getPreferredSize() {
+		final Insets insets = getInsets();
+		final FontMetrics fm = getFontMetrics(getFont());
+		return new Dimension(fm.charsWidth(chars, 0, length) + insets.left +
+			insets.right, fm.getHeight() + insets.top + insets.bottom);
+	}
+
+	@Override
+	protected void paintComponent(final Graphics g) {
+		if (isOpaque()) {
+			g.setColor(getBackground());
+			g.fillRect(0, 0, getWidth(), getHeight());
+		}
+		final Map<?, ?> hints = (Map<?, ?>) Toolkit.getDefaultToolkit()
+			.getDesktopProperty("awt.font.desktophints");
+		if (hints != null && g instanceof Graphics2D) {
+			((Graphics2D) g).addRenderingHints(hints);
+		}
+		final Insets insets = getInsets();
+		final Rectangle area = new Rectangle(insets.left, insets.top, getWidth() -
+			insets.left - insets.right, getHeight() - insets.top - insets.bottom);
+		g.setColor(getForeground());
+		g.setFont(getFont());
+		final FontMetrics fm = g.getFontMetrics();
+		final int y = area.y + (area.height - fm.getHeight()) / 2 + fm.getAscent();
+		if (fm.charsWidth(chars, 0, length) <= area.width) {
+			g.drawChars(chars, 0, length, area.x, y);
+			return;
+		}
+		// NB: Cut the text short, like a JLabel does.
+		final int available = area.width - fm.stringWidth(ELLIPSIS);
+		int n = 0, width = 0;
+		while (n < length && width + fm.charWidth(chars[n]) <= available) {
+			width += fm.charWidth(chars[n++]);
+		}
+		g.drawChars(chars, 0, n, area.x, y);
+		g.drawString(ELLIPSIS, area.x + width, y);
+	}
+
+	// -- Performance overrides, as in DefaultTableCellRenderer --
+
+	@Override
+	public void invalidate() {}
+
+	@Override
+	public void validate() {}
+
+	@Override
+	public void revalidate() {}
+
+	@Override
+	public void repaint(final long tm, final int x, final int y, final int width,
+		final int height)
+	{}
+
+	@Override
+	public void repaint(final Rectangle r) {}
+
+	@Override
+	public void repaint() {}
+
+	@Override
+	protected void firePropertyChange(final String propertyName,
+		final Object oldValue, final Object newValue)
+	{}
+
+	@Override
+	public void firePropertyChange(final String propertyName,
+		final boolean oldValue, final boolean newValue)
+	{}
+
+	// -- Helper methods --
+
+	/**
+	 * Formats the value of the given model cell into the buffer.
+	 *
+	 * @return False if the cell holds no primitive value.
+	 */
+	private boolean format(final TableModel model, final int row,
+		final int col)
+	{
+		if (!model.isTableCell(row, col)) return false;
+		text.setLength(0);
+		if (col == 0) {
+			final String header = model.getRowHeader(row);
+			if (header == null) text.append(row + 1);
+			else text.append(header);
+		}
+		else if (!append(model.getTableColumn(col), row)) return false;
+
+		length = text.length();
+		if (chars.length < length) chars = new char[Math.max(length,
+			2 * chars.length)];
+		text.getChars(0, length, chars, 0);
+		return true;
+	}
+
+	private boolean append(final Column<?> column, final int row) {
+		if (column instanceof DoubleColumn) {
+			text.append(((DoubleColumn) column).getValue(row));
+		}
+		else if (column instanceof FloatColumn) {
+			text.append(((FloatColumn) column).getValue(row));
+		}
+		else if (column instanceof LongColumn) {
+			text.append(((LongColumn) column).getValue(row));
+		}
+		else if (column instanceof IntColumn) {
+			text.append(((IntColumn) column).getValue(row));
+		}
+		else if (column instanceof ShortColumn) {
+			text.append(((ShortColumn) column).getValue(row));
+		}
+		else if (column instanceof ByteColumn) {
+			text.append(((ByteColumn) column).getValue(row));
+		}
+		else if (column instanceof CharColumn) {
+			text.append(((CharColumn) column).getValue(row));
+		}
+		else if (column instanceof BoolColumn) {
+			text.append(((BoolColumn) column).getValue(row));
+		}
+		else return false;
+		return true;
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.scijava.ui.swing.viewer.table;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import org.scijava.table.BoolColumn;
+import org.scijava.table.ByteColumn;
+import org.scijava.table.CharColumn;
+import org.scijava.table.Column;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.FloatColumn;
+import org.scijava.table.IntColumn;
+import org.scijava.table.LongColumn;
+import org.scijava.table.ShortColumn;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Hashes of the cells of a {@link TableModel}, one per block of rows, with
+ * which the rows changed since an earlier snapshot are found without keeping
+ * a copy of the table.
+ * <p>
+ * The blocks are hashed in parallel, reading primitive columns without
+ * boxing. A changed block is reported as a whole, so a few changed cells cost
+ * the listeners at most {@link #BLOCK_ROWS} rows each.
+ * </p>
+ * <p>
+ * Only tables whose columns are all primitive are hashed. Other columns may
+ * compute their cells lazily, which a scan would defeat, or hold objects
+ * changed in place without changing their hash code; all rows of such tables
+ * are reported as changed.
+ * </p>
+ */
+class RowHashes {
+
+	/** Number of rows hashed together. */
+	static final int BLOCK_ROWS = 4096;
+
+	private final TableModel model;
+	private final int rowCount;
+	private final long[] hashes;
+
+	/** Hashes the first rows of the given model. */
+	RowHashes(final TableModel model, final int rowCount) {
+		this(model, rowCount, new long[0], 0);
+	}
+
+	/**
+	 * Hashes the first rows of the given model, reusing the given hashes of
+	 * complete blocks.
+	 */
+	private RowHashes(final TableModel model, final int rowCount,
+		final long[] known, final int knownBlocks)
+	{
+		this.model = model;
+		this.rowCount = rowCount;
+		if (!isPrimitive(model)) {
+			hashes = null;
+			return;
+		}
+		final int blocks = (rowCount + BLOCK_ROWS - 1) / BLOCK_ROWS;
+		hashes = Arrays.copyOf(known, blocks);
+		IntStream.range(knownBlocks, blocks).parallel().forEach(b -> hashes[b] =
+			hash(b * BLOCK_ROWS, end(b, rowCount)));
+	}
+
+	// -- RowHashes methods --
+
+	/**
+	 * Hashes the rows appended to the model, assuming the earlier rows did not
+	 * change. Only the rows from the last partial block on are read.
+	 */
+	RowHashes extend(final int newRowCount) {
+		if (hashes == null) return new RowHashes(model, newRowCount);
+		return new RowHashes(model, newRowCount, hashes, rowCount / BLOCK_ROWS);
+	}
+
+	/**
+	 * Finds the rows, among the given first rows, whose cells may differ from
+	 * those of an earlier snapshot of the same model.
+	 *
+	 * @param earlier The earlier snapshot, or null if there is none, in which
+	 *          case all rows are reported.
+	 * @param rows The number of rows to compare, at most the row count of
+	 *          either snapshot.
+	 * @return The changed rows, as sorted, disjoint pairs of first and last row.
+	 */
+	int[] changedSince(final RowHashes earlier, final int rows) {
+		if (rows == 0) return new int[0];
+		if (hashes == null) return new int[] { 0, rows - 1 };
+		final int blocks = (rows + BLOCK_ROWS - 1) / BLOCK_ROWS;
+		final int[] ranges = new int[2 * blocks];
+		int r = 0;
+		for (int b = 0; b < blocks; b++) {
+			final int end = end(b, rows);
+			// NB: A partial block is compared only over the rows both cover.
+			final boolean comparable = earlier != null && earlier.hashes != null &&
+				b < earlier.hashes
+				.length && end(b, earlier.rowCount) == end;
+			final long hash = end == end(b, rowCount) ? hashes[b] : hash(b *
+				BLOCK_ROWS, end);
+			if (comparable && earlier.hashes[b] == hash) continue;
+			if (r > 0 && ranges[r - 1] == b * BLOCK_ROWS - 1) ranges[r - 1] = end - 1;
+			else {
+				ranges[r++] = b * BLOCK_ROWS;
+				ranges[r++] = end - 1;
+			}
+		}
+		return Arrays.copyOf(ranges, r);
+	}
+
+	// -- Helper methods --
+
+	private static int end(final int block, final int rows) {
+		return Math.min(rows, (block + 1) * BLOCK_ROWS);
+	}
+
+	/** Checks whether all columns of the given model are primitive. */
+	private static boolean isPrimitive(final TableModel model) {
+		for (int col = 1; col < model.getColumnCount(); col++) {
+			if (cellHash(model, col) == null) return false;
+		}
+		return true;
+	}
+
+	/** Hashes the cells of the given rows, in all columns. */
+	private long hash(final int first, final int end) {
+		long hash = 1;
+		for (int row = first; row < end; row++) {
+			hash = 31 * hash + Objects.hashCode(model.getRowHeader(row));
+		}
+		for (int col = 1; col < model.getColumnCount(); col++) {
+			final CellHash cells = cellHash(model, col);
+			for (int row = first; row < end; row++) {
+				hash = 31 * hash + cells.hash(row);
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Chooses how to hash the cells of the given model column, or returns null
+	 * if the column is not primitive.
+	 */
+	private static CellHash cellHash(final TableModel model, final int col) {
+		final Column<?> column = model.getTableColumn(col);
+		if (column instanceof DoubleColumn) {
+			final DoubleColumn c = (DoubleColumn) column;
+			return row -> Double.doubleToLongBits(c.getValue(row));
+		}
+		if (column instanceof FloatColumn) {
+			final FloatColumn c = (FloatColumn) column;
+			return row -> Float.floatToIntBits(c.getValue(row));
+		}
+		if (column instanceof LongColumn) {
+			final LongColumn c = (LongColumn) column;
+			return row -> c.getValue(row);
+		}
+		if (column instanceof IntColumn) {
+			final IntColumn c = (IntColumn) column;
+			return row -> c.getValue(row);
+		}
+		if (column instanceof ShortColumn) {
+			final ShortColumn c = (ShortColumn) column;
+			return row -> c.getValue(row);
+		}
+		if (column instanceof ByteColumn) {
+			final ByteColumn c = (ByteColumn) column;
+			return row -> c.getValue(row);
+		}
+		if (column instanceof CharColumn) {
+			final CharColumn c = (CharColumn) column;
+			return row -> c.getValue(row);
+		}
+		if (column instanceof BoolColumn) {
+			final BoolColumn c = (BoolColumn) column;
+			return row -> c.getValue(row) ? 1231 : 1237;
+		}
+		return null;
+	}
+
+	// -- Helper classes --
+
+	/** Hashes the value of a cell of one column. */
+	private interface CellHash {
+
+		long hash(int row);
+	}
+}
@@ -29,34 +29,56 @@
 
 package org.scijava.ui.swing.viewer.table;
 
+import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.Container;
+import java.awt.Insets;
 import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
+import java.io.File;
 import java.util.Arrays;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JComponent;
 import javax.swing.JMenuItem;
+import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.KeyStroke;
+import javax.swing.ScrollPaneLayout;
+import javax.swing.Timer;
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableCellRenderer;
-import javax.swing.table.TableColumn;
 
+import org.scijava.app.StatusService;
+import org.scijava.log.LogService;
+import org.scijava.plugin.Parameter;
+import org.scijava.table.Column;
 import org.scijava.table.Table;
 import org.scijava.table.TableDisplay;
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.UIService;
+import org.scijava.ui.swing.StaticSwingUtils;
 import org.scijava.ui.viewer.table.TableDisplayPanel;
 
 import org.scijava.ui.viewer.DisplayWindow;
+import org.scijava.util.PrimitiveArray;
+import org.scijava.widget.FileWidget;
 
 /**
  * This is the display panel for {@link Table}s.
+ * <p>
+ * The panel is the scroll pane of the table. The find and filter bars are
+ * laid out above the column header, and the statistics footer below the
+ * horizontal scroll bar, when shown.
+ * </p>
  * 
  * @author Curtis Rueden
  * @author Barry DeZonia
@@ -65,12 +87,38 @@ public class SwingTableDisplayPanel extends JScrollPane implements
 	TableDisplayPanel
 {
 
+	/** Number of rows from which on the cell values are cached. */
+	private static final int CACHING_THRESHOLD = 100000;
+
+	/** Delay by which redraws are coalesced in tail mode; about one frame. */
+	private static final int TAIL_DELAY_MILLIS = 16;
+
 	// -- instance variables --
 
+	@Parameter
+	private ThreadService threadService;
+
+	@Parameter
+	private StatusService statusService;
+
+	@Parameter
+	private UIService uiService;
+
+	@Parameter
+	private LogService log;
+
 	private final DisplayWindow window;
 	private final TableDisplay display;
 	private final JTable table;
-	private final NullTableModel nullModel;
+	private final JPanel bars;
+	private final TableFindBar findBar;
+	private final TableFilterBar filterBar;
+	private final TableStatsFooter statsFooter;
+	private final Timer tailTimer;
+
+	/** Whether appended rows are announced in coalesced batches. */
+	private boolean tailMode;
+	private final TableTransferHandler transferHandler;
 
 	// -- constructor --
 
@@ -79,10 +127,17 @@ public class SwingTableDisplayPanel extends JScrollPane implements
 	{
 		this.display = display;
 		this.window = window;
-		nullModel = new NullTableModel();
+		display.getContext().inject(this);
 		table = makeTable();
+		findBar = new TableFindBar(table, threadService);
+		filterBar = new TableFilterBar(table, threadService);
+		statsFooter = new TableStatsFooter(table, threadService, this);
+		tailTimer = new Timer(TAIL_DELAY_MILLIS, e -> refreshTail());
+		tailTimer.setRepeats(false);
+		transferHandler = new TableTransferHandler(table, threadService,
+			statusService, log);
+		table.setTransferHandler(transferHandler);
 
-		table.setAutoCreateRowSorter(true);
 		table.setRowSelectionAllowed(true);
 		new TablePopupMenu().install();
 
@@ -97,11 +152,30 @@ public class SwingTableDisplayPanel extends JScrollPane implements
 				}
 			}
 		});
+		bars = new JPanel(new BorderLayout());
+		bars.add(findBar, BorderLayout.NORTH);
+		bars.add(filterBar, BorderLayout.SOUTH);
+		setLayout(new PanelLayout());
 		setViewportView(table);
+		add(bars);
+		add(statsFooter);
 		window.setContent(this);
 
 	}
 
+	// -- Component methods --
+
+	/**
+	 * Gets the insets of the scroll pane, enlarged by the bars above and the
+	 * footer below, so that the {@link ScrollPaneLayout} leaves room for them.
+	 */
+	@Override
+	public Insets getInsets() {
+		final Insets insets = super.getInsets();
+		return new Insets(insets.top + height(bars), insets.left, insets.bottom +
+			height(statsFooter), insets.right);
+	}
+
 	// -- TableDisplayPanel methods --
 
 	@Override
@@ -128,35 +202,102 @@ public class SwingTableDisplayPanel extends JScrollPane implements
 
 	@Override
 	public void redraw() {
-		// BDZ - I found a TODO here saying implement me. Not sure if my one liner
-		// is correct but it seems to work.
-		// one liner:
-		// table.update(table.getGraphics());
-		// BDZ now try something more intuitive
-		// table.repaint(); // nope
-		// BDZ this?
-		// table.doLayout(); // nope
-
-		// note that our table is not attached to the table model as a listener.
-		// we might need to do that. but try to find a simple way to enforce a
-		// reread of the table because when it gets in here it's contents are ok
-
-		javax.swing.table.TableModel model = table.getModel();
-
-		// BDZ attempt to force a rebuild. no luck. and also fails the Clear test.
-		// Object v = model.getValueAt(0, 0);
-		// model.setValueAt(v, 0, 0);
-
-		// BDZ hacky hack way that works
-		table.setModel(nullModel);
-		table.setModel(model);
-		// table.repaint();
+		// NB: The table does not notify us of changes, so we compare it against
+		// what the JTable has seen so far, and tell the JTable what changed.
+		final TableModel model = (TableModel) table.getModel();
+		if (model.tab == getTable()) {
+			if (tailMode) {
+				// NB: Coalesce the redraws of a growing table, once per frame.
+				if (!tailTimer.isRunning()) tailTimer.start();
+				return;
+			}
+			model.refresh();
+			if (!model.isCaching()) model.setCaching(useCaching(model));
+		}
+		else setModel(new TableModel(getTable(), threadService));
+	}
+
+	// -- SwingTableDisplayPanel methods --
+
+	/** Gets whether the panel is in tail mode. */
+	public boolean isTailMode() {
+		return tailMode;
+	}
+
+	/**
+	 * Enables or disables tail mode, for tables which grow continuously. In
+	 * tail mode, redraws are coalesced to at most one per frame, and the table
+	 * is assumed to only have rows appended: the rows which were there before
+	 * are not reported as updated, so the view neither jumps nor re-sorts. The
+	 * view follows the last row while scrolled to the bottom.
+	 */
+	public void setTailMode(final boolean tailMode) {
+		this.tailMode = tailMode;
+		if (!tailMode && tailTimer.isRunning()) {
+			tailTimer.stop();
+			redraw();
+		}
 	}
 
 	// -- Helper methods --
 
 	private JTable makeTable() {
-		return new JTable(new TableModel(getTable()));
+		final PrimitiveCellRenderer primitiveRenderer = new PrimitiveCellRenderer();
+		final JTable jTable = new JTable() {
+
+			@Override
+			public Component prepareRenderer(final TableCellRenderer renderer,
+				final int row, final int column)
+			{
+				// NB: Avoid boxing primitive values, unless a custom renderer is set.
+				if (renderer == getDefaultRenderer(Object.class)) {
+					final Component c = primitiveRenderer.prepare(this, row, column);
+					if (c != null) return c;
+				}
+				return super.prepareRenderer(renderer, row, column);
+			}
+		};
+		setModel(jTable, new TableModel(getTable(), threadService));
+		return jTable;
+	}
+
+	private void setModel(final TableModel model) {
+		setModel(table, model);
+	}
+
+	private static void setModel(final JTable jTable, final TableModel model) {
+		model.setCaching(useCaching(model));
+		jTable.setModel(model);
+		// NB: The default TableRowSorter keeps an object per row.
+		final IndexedRowSorter sorter = new IndexedRowSorter(model);
+		sorter.setBusyComponent(jTable);
+		jTable.setRowSorter(sorter);
+	}
+
+	/** Reports the rows appended since the last refresh, in tail mode. */
+	private void refreshTail() {
+		final TableModel model = (TableModel) table.getModel();
+		if (model.tab != getTable()) {
+			redraw();
+			return;
+		}
+		final boolean atBottom = StaticSwingUtils.isScrolledToBottom(this);
+		if (!model.refreshAppended()) model.refresh();
+		if (!model.isCaching()) model.setCaching(useCaching(model));
+		if (atBottom && table.getRowCount() > 0) {
+			validate();
+			table.scrollRectToVisible(table.getCellRect(table.getRowCount() - 1, 0,
+				true));
+		}
+	}
+
+	/** Gets the height of the given component, or 0 if it is not shown. */
+	private static int height(final Component c) {
+		return c == null || !c.isVisible() ? 0 : c.getPreferredSize().height;
+	}
+
+	private static boolean useCaching(final TableModel model) {
+		return model.getRowCount() >= CACHING_THRESHOLD;
 	}
 
 	private Table<?, ?> getTable() {
@@ -165,6 +306,32 @@ public class SwingTableDisplayPanel extends JScrollPane implements
 
 	// -- Helper classes --
 
+	/**
+	 * Lays out the scroll pane within the {@link #getInsets() insets} which
+	 * leave room for the bars and the footer, and places those in the room.
+	 */
+	@SuppressWarnings("serial")
+	private class PanelLayout extends ScrollPaneLayout {
+
+		@Override
+		public void layoutContainer(final Container parent) {
+			super.layoutContainer(parent);
+			final Insets insets = SwingTableDisplayPanel.super.getInsets();
+			final int width = getWidth() - insets.left - insets.right;
+			final int footerHeight = height(statsFooter);
+			bars.setBounds(insets.left, insets.top, width, height(bars));
+			statsFooter.setBounds(insets.left, getHeight() - insets.bottom -
+				footerHeight, width, footerHeight);
+		}
+	}
+
+	/**
+	 * An empty table model.
+	 *
+	 * @deprecated No longer used; {@link #redraw()} fires the changes of the
+	 *             {@link TableModel} instead of swapping in an empty model.
+	 */
+	@Deprecated
 	@SuppressWarnings("serial")
 	public static class NullTableModel extends AbstractTableModel {
 
@@ -185,73 +352,362 @@ public class SwingTableDisplayPanel extends JScrollPane implements
 
 	}
 
-	/** A Swing {@link TableModel} backed by an ImageJ {@link Table}. */
+	/**
+	 * A Swing {@link TableModel} backed by an ImageJ {@link Table}.
+	 * <p>
+	 * The model reports the row count and columns the backing table had at the
+	 * last {@link #refresh()}, so that they stay consistent with the events its
+	 * listeners have received.
+	 * </p>
+	 */
 	public static class TableModel extends AbstractTableModel {
 
+		/**
+		 * Number of row ranges above which removed rows are compacted in one pass
+		 * rather than removed range by range.
+		 */
+		private static final int COMPACT_THRESHOLD = 16;
+
+		/**
+		 * Number of row ranges above which a single data-changed event is fired
+		 * rather than one event per range.
+		 */
+		private static final int EVENT_THRESHOLD = 64;
+
 		private final Table<?, ?> tab;
 
+		private final ThreadService threadService;
+
+		/** Cache of the cell values, or null if not caching. */
+		private CellCache cache;
+
+		/** Number of rows at the last refresh. */
+		private int rowCount;
+
+		/** Column headers at the last refresh. */
+		private String[] columnHeaders;
+
+		/** Hashes of the rows at the last refresh, or null if unknown. */
+		private RowHashes rowHashes;
+
 		public TableModel(final Table<?, ?> table) {
+			this(table, null);
+		}
+
+		/**
+		 * @param table The table to display.
+		 * @param threadService Service used to read cells ahead in the background
+		 *          when {@link #setCaching(boolean) caching}, or null.
+		 */
+		public TableModel(final Table<?, ?> table,
+			final ThreadService threadService)
+		{
 			this.tab = table;
+			this.threadService = threadService;
+			rowCount = tab.getRowCount();
+			columnHeaders = columnHeaders(tab);
+			rowHashes = new RowHashes(this, rowCount);
+		}
+
+		public boolean isCaching() {
+			return cache != null;
+		}
+
+		/**
+		 * Enables or disables the cell cache. When caching, each cell is read from
+		 * the table once, and kept until the table changes or the cell is evicted
+		 * from the bounded cache. This helps with large tables, and with tables
+		 * which compute their cells lazily.
+		 */
+		public void setCaching(final boolean caching) {
+			if (caching == isCaching()) return;
+			cache = caching ? new CellCache(this, threadService) : null;
+		}
+
+		/**
+		 * Notifies the listeners of the changes to the backing table since the
+		 * last refresh. The structure of the table is only reported as changed if
+		 * columns were added, removed or renamed; otherwise, the rows which were
+		 * added or removed are reported, and of the remaining rows those whose
+		 * cells changed, in blocks of {@link RowHashes#BLOCK_ROWS} rows.
+		 */
+		public void refresh() {
+			final int oldRowCount = rowCount;
+			final int newRowCount = tab.getRowCount();
+			final String[] newColumnHeaders = columnHeaders(tab);
+			rowCount = newRowCount;
+			if (cache != null) cache.invalidate();
+			if (!Arrays.equals(columnHeaders, newColumnHeaders)) {
+				columnHeaders = newColumnHeaders;
+				rowHashes = new RowHashes(this, newRowCount);
+				fireTableStructureChanged();
+				return;
+			}
+			final RowHashes oldHashes = rowHashes;
+			rowHashes = new RowHashes(this, newRowCount);
+			if (newRowCount < oldRowCount) {
+				fireTableRowsDeleted(newRowCount, oldRowCount - 1);
+			}
+			final int[] updated = rowHashes.changedSince(oldHashes, Math.min(
+				oldRowCount, newRowCount));
+			if (updated.length > 2 * EVENT_THRESHOLD) {
+				fireTableRowsUpdated(updated[0], updated[updated.length - 1]);
+			}
+			else {
+				for (int r = 0; r < updated.length; r += 2) {
+					fireTableRowsUpdated(updated[r], updated[r + 1]);
+				}
+			}
+			if (newRowCount > oldRowCount) {
+				fireTableRowsInserted(oldRowCount, newRowCount - 1);
+			}
+		}
+
+		/**
+		 * Notifies the listeners of the rows appended to the backing table since
+		 * the last refresh, assuming the other rows did not change.
+		 *
+		 * @return False, without notifying anyone, if the columns changed or rows
+		 *         were removed, in which case {@link #refresh()} is needed.
+		 */
+		public boolean refreshAppended() {
+			final int oldRowCount = rowCount;
+			final int newRowCount = tab.getRowCount();
+			if (newRowCount < oldRowCount || !Arrays.equals(columnHeaders,
+				columnHeaders(tab))) return false;
+			if (newRowCount == oldRowCount) return true;
+			// NB: The cached cells are still valid, since the rows only grew.
+			rowCount = newRowCount;
+			rowHashes = rowHashes.extend(newRowCount);
+			fireTableRowsInserted(oldRowCount, newRowCount - 1);
+			return true;
 		}
 
 		@Override
 		public String getColumnName(final int col) {
 			if (col == 0) return "";
-			return tab.getColumnHeader(col - 1);
+			return columnHeaders[col - 1];
 		}
 
 		@Override
 		public int getRowCount() {
-			return tab.getRowCount();
+			return rowCount;
 		}
 
 		@Override
 		public int getColumnCount() {
-			return tab.getColumnCount() + 1; // +1 for row header column
+			return columnHeaders.length + 1; // +1 for row header column
 		}
 
 		@Override
 		public Object getValueAt(final int row, final int col) {
 			if (row < 0 || row >= getRowCount()) return null;
 			if (col < 0 || col >= getColumnCount()) return null;
+			// NB: The table may have shrunk since the last refresh.
+			if (row >= tab.getRowCount() || col > tab.getColumnCount()) return null;
 
-			if (col == 0) {
-				// get row header, or row number if none
-				// NB: Assumes the JTable can handle Strings equally as well as the
-				// underlying type T of the Table.
-				final String header = tab.getRowHeader(row);
-				if (header != null) return header;
-				return "" + (row + 1);
-			}
-
-			// get the underlying table value
-			// NB: The column is offset by one to accommodate the row header/number.
-			return tab.get(col - 1, row);
+			final Object value = getTableValue(row, col);
+			// NB: Assumes the JTable can handle Strings equally as well as the
+			// underlying type T of the Table.
+			return col == 0 ? value.toString() : value;
 		}
 
 		@Override
 		public void setValueAt(final Object value, final int row, final int col) {
 			if (row < 0 || row >= getRowCount()) return;
 			if (col < 0 || col >= getColumnCount()) return;
+			if (row >= tab.getRowCount() || col > tab.getColumnCount()) return;
 			if (col == 0) {
 				// set row header
 				tab.setRowHeader(row, value == null ? null : value.toString());
+				if (cache != null) cache.invalidate(row, col);
 				return;
 			}
+			final Object oldValue = getTableValue(row, col);
 			set(tab, col - 1, row, value);
-			fireTableCellUpdated(row, col);
+			if (cache != null) cache.invalidate(row, col);
+			fireTableChanged(new CellUpdateEvent(this, row, col, oldValue));
 		}
 
+		/**
+		 * Removes the given rows from the table. Contiguous rows are removed
+		 * together: a few ranges through {@link Table#removeRows(int, int)}, and
+		 * many ranges by compacting each column once.
+		 *
+		 * @param indices Model indices of the rows to remove, in any order.
+		 */
 		public void removeRows(int[] indices) {
-			Arrays.sort(indices);
-			for (int i = indices.length - 1; i >= 0; i--) {
-				tab.removeRow(indices[i]);
-				fireTableRowsDeleted(indices[i], indices[i]);
+			if (indices.length == 0) return;
+			final int[] ranges = ranges(indices);
+			final int rangeCount = ranges.length / 2;
+			if (rangeCount <= COMPACT_THRESHOLD) {
+				for (int r = rangeCount - 1; r >= 0; r--) {
+					tab.removeRows(ranges[2 * r], ranges[2 * r + 1] - ranges[2 * r] + 1);
+				}
+			}
+			else compact(ranges);
+			if (cache != null) cache.invalidate();
+			rowHashes = new RowHashes(this, tab.getRowCount());
+
+			if (rangeCount > EVENT_THRESHOLD) {
+				rowCount = tab.getRowCount();
+				fireTableDataChanged();
+				return;
 			}
+			for (int r = rangeCount - 1; r >= 0; r--) {
+				rowCount -= ranges[2 * r + 1] - ranges[2 * r] + 1;
+				fireTableRowsDeleted(ranges[2 * r], ranges[2 * r + 1]);
+			}
+		}
+
+		// -- Internal methods --
+
+		/**
+		 * Gets the value of the given cell, from the cache if caching. The row
+		 * header column holds the row header, or the row number if there is none.
+		 */
+		Object getTableValue(final int row, final int col) {
+			return cache == null ? readTableValue(row, col) : cache.get(row, col);
+		}
+
+		/**
+		 * Reads the value of the given cell from the table, bypassing the cache.
+		 * Scans visiting many cells once, such as sorting, filtering, searching
+		 * and computing statistics, use this so as not to evict the cached cells
+		 * being painted.
+		 */
+		Object readTableValue(final int row, final int col) {
+			if (col == 0) {
+				// get row header, or row number if none
+				final String header = tab.getRowHeader(row);
+				if (header != null) return header;
+				return row + 1;
+			}
+
+			// get the underlying table value
+			// NB: The column is offset by one to accommodate the row header/number.
+			return tab.get(col - 1, row);
+		}
+
+		/**
+		 * Checks whether the given cell exists both in this model and in the
+		 * table, which may have shrunk since the last refresh.
+		 */
+		boolean isTableCell(final int row, final int col) {
+			return row >= 0 && row < getRowCount() && row < tab.getRowCount() &&
+				col >= 0 && col < getColumnCount() && col <= tab.getColumnCount();
+		}
+
+		/** Gets the header of the given row, or null if it has none. */
+		String getRowHeader(final int row) {
+			return tab.getRowHeader(row);
+		}
+
+		/** Gets the table column shown in the given model column. */
+		Column<?> getTableColumn(final int col) {
+			return tab.get(col - 1);
+		}
+
+		/** Checks whether any row of the table has a header. */
+		boolean hasRowHeaders() {
+			for (int row = 0; row < rowCount; row++) {
+				if (tab.getRowHeader(row) != null) return true;
+			}
+			return false;
 		}
 
 		// -- Helper methods --
 
+		/**
+		 * Converts row indices into sorted, disjoint ranges of rows, as
+		 * consecutive pairs of first and last row.
+		 */
+		static int[] ranges(final int[] indices) {
+			final int[] sorted = indices.clone();
+			Arrays.sort(sorted);
+			final int[] ranges = new int[2 * sorted.length];
+			int r = 0;
+			for (int i = 0; i < sorted.length; i++) {
+				if (r > 0 && sorted[i] <= ranges[r - 1] + 1) {
+					ranges[r - 1] = Math.max(ranges[r - 1], sorted[i]);
+					continue;
+				}
+				ranges[r++] = sorted[i];
+				ranges[r++] = sorted[i];
+			}
+			return Arrays.copyOf(ranges, r);
+		}
+
+		/** Removes the given ranges of rows in one pass over each column. */
+		private void compact(final int[] ranges) {
+			final int oldCount = tab.getRowCount();
+			for (int c = 0; c < tab.getColumnCount(); c++) {
+				compact(tab.get(c), ranges, oldCount);
+			}
+			if (hasRowHeaders()) {
+				final int newCount = moveKept(ranges, oldCount, (src, dest, count) -> {
+					for (int i = 0; i < count; i++) {
+						tab.setRowHeader(dest + i, tab.getRowHeader(src + i));
+					}
+				});
+				// NB: Clear the stale headers, should the table grow again.
+				for (int row = newCount; row < oldCount; row++) {
+					tab.setRowHeader(row, null);
+				}
+			}
+			tab.setRowCount(oldCount - removedCount(ranges));
+		}
+
+		private static <T> void compact(final Column<T> column, final int[] ranges,
+			final int oldCount)
+		{
+			if (column instanceof PrimitiveArray) {
+				final Object array = ((PrimitiveArray<?, ?>) column).getArray();
+				moveKept(ranges, oldCount, (src, dest, count) -> System.arraycopy(
+					array, src, array, dest, count));
+				return;
+			}
+			moveKept(ranges, oldCount, (src, dest, count) -> {
+				for (int i = 0; i < count; i++) {
+					column.set(dest + i, column.get(src + i));
+				}
+			});
+		}
+
+		/**
+		 * Moves the rows kept between the removed ranges toward the start.
+		 *
+		 * @return The number of rows kept.
+		 */
+		private static int moveKept(final int[] ranges, final int oldCount,
+			final RowMover mover)
+		{
+			int dest = ranges[0];
+			for (int r = 0; r < ranges.length; r += 2) {
+				final int src = ranges[r + 1] + 1;
+				final int end = r + 2 < ranges.length ? ranges[r + 2] : oldCount;
+				if (end > src) mover.move(src, dest, end - src);
+				dest += end - src;
+			}
+			return dest;
+		}
+
+		private static int removedCount(final int[] ranges) {
+			int count = 0;
+			for (int r = 0; r < ranges.length; r += 2) {
+				count += ranges[r + 1] - ranges[r] + 1;
+			}
+			return count;
+		}
+
+		private static String[] columnHeaders(final Table<?, ?> table) {
+			final String[] headers = new String[table.getColumnCount()];
+			for (int col = 0; col < headers.length; col++) {
+				headers[col] = table.getColumnHeader(col);
+			}
+			return headers;
+		}
+
 		private <T> void set(final Table<?, T> table,
 			final int col, final int row, final Object value)
 		{
@@ -260,17 +716,54 @@ public class SwingTableDisplayPanel extends JScrollPane implements
 			table.set(col, row, typedValue);
 		}
 
+
+		// -- Helper classes --
+
+		/**
+		 * Event fired when a cell is set through {@link #setValueAt}, which
+		 * carries the value the cell had before.
+		 */
+		@SuppressWarnings("serial")
+		static class CellUpdateEvent extends TableModelEvent {
+
+			private final Object oldValue;
+
+			CellUpdateEvent(final TableModel source, final int row, final int col,
+				final Object oldValue)
+			{
+				super(source, row, row, col);
+				this.oldValue = oldValue;
+			}
+
+			Object getOldValue() {
+				return oldValue;
+			}
+		}
+
+		/** Moves a run of rows of a column. */
+		private interface RowMover {
+
+			void move(int src, int dest, int count);
+		}
 	}
 
 	@SuppressWarnings("serial")
 	class TablePopupMenu extends JPopupMenu {
+
+		private final ColumnSizer columnSizer;
+
 		public TablePopupMenu() {
 			super();
+			columnSizer = new ColumnSizer(table, threadService);
 			JMenuItem mi;
 			mi= new JMenuItem(new ActionMapAction("Copy", table, "copy"));
 			final int MASK = Toolkit.getDefaultToolkit().getMenuShortcutKeyMask();
 			mi.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_C, MASK));
 			add(mi);
+			mi = new JMenuItem("Copy as CSV");
+			mi.addActionListener(e -> transferHandler.copy(Toolkit
+				.getDefaultToolkit().getSystemClipboard(), ','));
+			add(mi);
 			mi = new JMenuItem(new ActionMapAction("Select All", table, "selectAll"));
 			mi.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_A, MASK));
 			add(mi);
@@ -278,45 +771,64 @@ public class SwingTableDisplayPanel extends JScrollPane implements
 			mi = new JMenuItem("Delete Selected Row(s)");
 			mi.addActionListener(e -> {
 				final int[] selectedRows = table.getSelectedRows();
+				// NB: The rows may be sorted, but the model needs model indices.
+				for (int i = 0; i < selectedRows.length; i++) {
+					selectedRows[i] = table.convertRowIndexToModel(selectedRows[i]);
+				}
 				if (selectedRows.length > 0)
 					((TableModel) table.getModel()).removeRows(selectedRows);
 			});
 			add(mi);
+			mi = new JMenuItem("Export as CSV...");
+			mi.addActionListener(e -> {
+				final File file = uiService.chooseFile(new File(display.getName() +
+					".csv"), FileWidget.SAVE_STYLE);
+				if (file != null) transferHandler.export(file);
+			});
+			add(mi);
+			addSeparator();
 			mi = new JMenuItem("Resize Column Widths");
-			mi.addActionListener(e -> resizeColumns());
+			mi.addActionListener(e -> columnSizer.resize(false));
 			add(mi);
+			mi = new JMenuItem("Resize Column Widths (Exact)");
+			mi.addActionListener(e -> columnSizer.resize(true));
+			add(mi);
+			addSeparator();
+			addWithShortcut("Find...", "find", KeyStroke.getKeyStroke(KeyEvent.VK_F,
+				MASK), findBar::open);
+			addWithShortcut("Filter Rows...", "filter", KeyStroke.getKeyStroke(
+				KeyEvent.VK_F, MASK | KeyEvent.SHIFT_MASK), filterBar::open);
+			final JCheckBoxMenuItem tailItem = new JCheckBoxMenuItem(
+				"Follow Appended Rows");
+			tailItem.addActionListener(e -> setTailMode(tailItem.isSelected()));
+			add(tailItem);
+			final JCheckBoxMenuItem statsItem = new JCheckBoxMenuItem(
+				"Show Statistics");
+			statsItem.addActionListener(e -> statsFooter.setShown(statsItem
+				.isSelected()));
+			add(statsItem);
 		}
 
-		private void resizeColumns() {
-			// https://stackoverflow.com/a/30355804
-			table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
-			table.getTableHeader();
-			for (int column = 0; column < table.getColumnCount(); column++) {
-				final TableColumn tableColumn = table.getColumnModel().getColumn(column);
-				int preferredWidth = Math.max(tableColumn.getMinWidth(), getColumnHeaderWidth(tableColumn, column));
-				final int maxWidth = tableColumn.getMaxWidth();
-				for (int row = 0; row < table.getRowCount(); row++) {
-					final TableCellRenderer cellRenderer = table.getCellRenderer(row, column);
-					final Component c = table.prepareRenderer(cellRenderer, row, column);
-					final int width = c.getPreferredSize().width + table.getIntercellSpacing().width;
-					preferredWidth = Math.max(preferredWidth, width);
-					if (preferredWidth >= maxWidth) {
-						preferredWidth = maxWidth;
-						break;
-					}
-				}
-				tableColumn.setPreferredWidth(preferredWidth);
-			}
-		}
+		/**
+		 * Adds an item whose shortcut works wherever the focus is within the
+		 * panel.
+		 */
+		private void addWithShortcut(final String label, final String name,
+			final KeyStroke key, final Runnable runnable)
+		{
+			final Action action = new AbstractAction(label) {
 
-		private int getColumnHeaderWidth(final TableColumn tableColumn, final int column) {
-			final Object value = tableColumn.getHeaderValue();
-			TableCellRenderer renderer = tableColumn.getHeaderRenderer();
-			if (renderer == null) {
-				renderer = table.getTableHeader().getDefaultRenderer();
-			}
-			final Component c = renderer.getTableCellRendererComponent(table, value, false, false, -1, column);
-			return c.getPreferredSize().width;
+				@Override
+				public void actionPerformed(final ActionEvent e) {
+					runnable.run();
+				}
+			};
+			final JMenuItem mi = new JMenuItem(action);
+			mi.setAccelerator(key);
+			add(mi);
+			final JComponent panel = SwingTableDisplayPanel.this;
+			panel.getInputMap(WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(key, name);
+			panel.getActionMap().put(name, action);
 		}
 
 		void install() {
@@ -0,0 +1,235 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.function.IntConsumer;
+
+import org.scijava.table.BoolColumn;
+import org.scijava.table.ByteColumn;
+import org.scijava.table.CharColumn;
+import org.scijava.table.Column;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.FloatColumn;
+import org.scijava.table.IntColumn;
+import org.scijava.table.LongColumn;
+import org.scijava.table.ShortColumn;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Writes rows of a {@link TableModel} as tab- or comma-separated text.
+ * <p>
+ * The values are read directly from the columns of the underlying table, so
+ * the text can be written on any thread. Primitive columns are formatted
+ * without boxing, and the text is written out in small blocks, so that
+ * exporting to a file takes constant memory.
+ * </p>
+ */
+class TableExporter {
+
+	/** Number of cells up to which a copy is done on the calling thread. */
+	static final int SYNC_CELLS = 10000;
+
+	/** Number of rows between two progress reports. */
+	private static final int PROGRESS_ROWS = 4096;
+
+	/** Number of characters buffered before they are written out. */
+	private static final int BLOCK_SIZE = 8192;
+
+	private final TableModel model;
+	private final int[] rows;
+	private final int[] columns;
+	private final char separator;
+	private final boolean header;
+
+	/**
+	 * @param model The model whose values to write.
+	 * @param rows The model indices of the rows to write, in order.
+	 * @param columns The model indices of the columns to write, in order.
+	 * @param separator The separator between values, typically tab or comma.
+	 * @param header Whether to start with a line of column names.
+	 */
+	TableExporter(final TableModel model, final int[] rows, final int[] columns,
+		final char separator, final boolean header)
+	{
+		this.model = model;
+		this.rows = rows;
+		this.columns = columns;
+		this.separator = separator;
+		this.header = header;
+	}
+
+	/** Gets the number of rows to be written. */
+	int getRowCount() {
+		return rows.length;
+	}
+
+	/** Gets the number of cells to be written. */
+	long getCellCount() {
+		return (long) rows.length * columns.length;
+	}
+
+	/**
+	 * Writes the text to the given writer.
+	 *
+	 * @param out The writer to which the text is written.
+	 * @param progress Notified of the number of rows written so far, or null.
+	 */
+	void write(final Writer out, final IntConsumer progress) throws IOException {
+		final CellFormat[] formats = new CellFormat[columns.length];
+		for (int c = 0; c < columns.length; c++) {
+			formats[c] = format(columns[c]);
+		}
+		final StringBuilder sb = new StringBuilder(2 * BLOCK_SIZE);
+		if (header) {
+			for (int c = 0; c < columns.length; c++) {
+				if (c > 0) sb.append(separator);
+				appendText(sb, columns[c] == 0 ? "" : model.getColumnName(columns[c]));
+			}
+			sb.append('\n');
+		}
+		for (int r = 0; r < rows.length; r++) {
+			for (int c = 0; c < columns.length; c++) {
+				if (c > 0) sb.append(separator);
+				formats[c].append(sb, rows[r]);
+			}
+			sb.append('\n');
+			if (sb.length() >= BLOCK_SIZE) {
+				out.append(sb);
+				sb.setLength(0);
+			}
+			if (progress != null && (r + 1) % PROGRESS_ROWS == 0) {
+				progress.accept(r + 1);
+			}
+		}
+		out.append(sb);
+		out.flush();
+		if (progress != null) progress.accept(rows.length);
+	}
+
+	/**
+	 * Gets the text as a string.
+	 *
+	 * @param progress Notified of the number of rows written so far, or null.
+	 */
+	String toText(final IntConsumer progress) {
+		final StringWriter out = new StringWriter();
+		try {
+			write(out, progress);
+		}
+		catch (final IOException exc) {
+			// NB: A StringWriter does not throw.
+			throw new IllegalStateException(exc);
+		}
+		return out.toString();
+	}
+
+	// -- Helper methods --
+
+	/** Chooses how to format the values of the given model column. */
+	private CellFormat format(final int col) {
+		final Column<?> column = col == 0 ? null : model.getTableColumn(col);
+		if (column instanceof DoubleColumn) {
+			final DoubleColumn c = (DoubleColumn) column;
+			return (sb, row) -> sb.append(c.getValue(row));
+		}
+		if (column instanceof FloatColumn) {
+			final FloatColumn c = (FloatColumn) column;
+			return (sb, row) -> sb.append(c.getValue(row));
+		}
+		if (column instanceof LongColumn) {
+			final LongColumn c = (LongColumn) column;
+			return (sb, row) -> sb.append(c.getValue(row));
+		}
+		if (column instanceof IntColumn) {
+			final IntColumn c = (IntColumn) column;
+			return (sb, row) -> sb.append(c.getValue(row));
+		}
+		if (column instanceof ShortColumn) {
+			final ShortColumn c = (ShortColumn) column;
+			return (sb, row) -> sb.append(c.getValue(row));
+		}
+		if (column instanceof ByteColumn) {
+			final ByteColumn c = (ByteColumn) column;
+			return (sb, row) -> sb.append(c.getValue(row));
+		}
+		if (column instanceof CharColumn) {
+			final CharColumn c = (CharColumn) column;
+			return (sb, row) -> {
+				final char value = c.getValue(row);
+				if (isSpecial(value)) appendText(sb, String.valueOf(value));
+				else sb.append(value);
+			};
+		}
+		if (column instanceof BoolColumn) {
+			final BoolColumn c = (BoolColumn) column;
+			return (sb, row) -> sb.append(c.getValue(row));
+		}
+		return (sb, row) -> {
+			final Object value = model.readTableValue(row, col);
+			if (value instanceof Integer) sb.append(((Integer) value).intValue());
+			else if (value != null) appendText(sb, value.toString());
+		};
+	}
+
+	/** Appends the given text, quoted if it contains special characters. */
+	private void appendText(final StringBuilder sb, final String text) {
+		boolean quote = false;
+		for (int i = 0; i < text.length() && !quote; i++) {
+			quote = isSpecial(text.charAt(i));
+		}
+		if (!quote) {
+			sb.append(text);
+			return;
+		}
+		sb.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (c == '"') sb.append('"');
+			sb.append(c);
+		}
+		sb.append('"');
+	}
+
+	/** Checks whether text containing the given character must be quoted. */
+	private boolean isSpecial(final char c) {
+		return c == separator || c == '"' || c == '\n' || c == '\r';
+	}
+
+	// -- Helper classes --
+
+	/** Appends the value of a cell of one column. */
+	private interface CellFormat {
+
+		void append(StringBuilder sb, int row);
+	}
+}
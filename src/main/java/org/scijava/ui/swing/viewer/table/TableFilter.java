@@ -0,0 +1,337 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.scijava.table.BoolColumn;
+import org.scijava.table.ByteColumn;
+import org.scijava.table.CharColumn;
+import org.scijava.table.Column;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.FloatColumn;
+import org.scijava.table.IntColumn;
+import org.scijava.table.LongColumn;
+import org.scijava.table.ShortColumn;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Row filter of a {@link TableModel}, parsed from an expression.
+ * <p>
+ * The expression consists of terms separated by {@code ;}, all of which must
+ * match. A term of the form {@code header: predicate} applies to the column
+ * with that header; other terms match if any column matches. A predicate is
+ * either
+ * </p>
+ * <ul>
+ * <li>a numeric range {@code min..max}, where either bound may be omitted;</li>
+ * <li>a regular expression {@code /regex/}; or</li>
+ * <li>any other text, which is matched as a case-insensitive substring.</li>
+ * </ul>
+ * <p>
+ * Rows are evaluated in parallel chunks; numeric columns are read without
+ * boxing.
+ * </p>
+ */
+class TableFilter {
+
+	/** Number of rows evaluated as one parallel task. */
+	private static final int CHUNK_SIZE = 16384;
+
+	private static final Pattern RANGE = Pattern.compile(
+		"\\s*([-+0-9.eE]*|-?Infinity)\\s*\\.\\.\\s*([-+0-9.eE]*|-?Infinity)\\s*");
+
+	private final TableModel model;
+
+	private final List<Term> terms;
+
+	/**
+	 * First column matched by terms without a header; the row header column
+	 * only counts if the table has row headers, rather than row numbers.
+	 */
+	private final int firstColumn;
+
+	private TableFilter(final TableModel model, final List<Term> terms) {
+		this.model = model;
+		this.terms = terms;
+		firstColumn = terms.isEmpty() || model.hasRowHeaders() ? 0 : 1;
+	}
+
+	/**
+	 * Parses the given filter expression.
+	 *
+	 * @throws IllegalArgumentException if the expression is invalid.
+	 */
+	static TableFilter parse(final String expression, final TableModel model) {
+		final List<Term> terms = new ArrayList<>();
+		for (final String part : expression.split(";")) {
+			if (part.trim().isEmpty()) continue;
+			int column = -1;
+			String predicate = part;
+			final int colon = part.indexOf(':');
+			if (colon >= 0) {
+				final String header = part.substring(0, colon).trim();
+				for (int col = 1; col < model.getColumnCount(); col++) {
+					if (header.equals(model.getColumnName(col))) {
+						column = col;
+						predicate = part.substring(colon + 1);
+						break;
+					}
+				}
+			}
+			terms.add(new Term(column, predicate.trim()));
+		}
+		return new TableFilter(model, terms);
+	}
+
+	/** Checks whether the filter matches all rows. */
+	boolean isEmpty() {
+		return terms.isEmpty();
+	}
+
+	/**
+	 * Gets the rows in the given range which match the filter, in ascending
+	 * order.
+	 */
+	int[] evaluate(final int first, final int last) {
+		final int count = last - first + 1;
+		if (count <= 0) return new int[0];
+		final int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		final int[][] matches = IntStream.range(0, chunks).parallel().mapToObj(
+			chunk -> evaluateChunk(first + chunk * CHUNK_SIZE, Math.min(last + 1,
+				first + (chunk + 1) * CHUNK_SIZE))).toArray(int[][]::new);
+		int total = 0;
+		for (final int[] m : matches) {
+			total += m.length;
+		}
+		final int[] rows = new int[total];
+		int offset = 0;
+		for (final int[] m : matches) {
+			System.arraycopy(m, 0, rows, offset, m.length);
+			offset += m.length;
+		}
+		return rows;
+	}
+
+	// -- Internal methods --
+
+	/** Gets the text of the cells of the given model column. */
+	static IntFunction<String> cellText(final TableModel model,
+		final int col)
+	{
+		final Column<?> c = col == 0 ? null : model.getTableColumn(col);
+		if (c instanceof DoubleColumn) {
+			final DoubleColumn dc = (DoubleColumn) c;
+			return row -> Double.toString(dc.getValue(row));
+		}
+		if (c instanceof IntColumn) {
+			final IntColumn ic = (IntColumn) c;
+			return row -> Integer.toString(ic.getValue(row));
+		}
+		if (c instanceof LongColumn) {
+			final LongColumn lc = (LongColumn) c;
+			return row -> Long.toString(lc.getValue(row));
+		}
+		if (c instanceof BoolColumn) {
+			final BoolColumn bc = (BoolColumn) c;
+			return row -> Boolean.toString(bc.getValue(row));
+		}
+		if (c instanceof CharColumn) {
+			final CharColumn cc = (CharColumn) c;
+			return row -> String.valueOf(cc.getValue(row));
+		}
+		return row -> {
+			final Object value = model.readTableValue(row, col);
+			return value == null ? "" : value.toString();
+		};
+	}
+
+	static boolean containsIgnoreCase(final String text,
+		final String lowerCaseSubstring)
+	{
+		final int n = lowerCaseSubstring.length();
+		for (int i = 0; i + n <= text.length(); i++) {
+			if (text.regionMatches(true, i, lowerCaseSubstring, 0, n)) return true;
+		}
+		return false;
+	}
+
+	// -- Helper methods --
+
+	private int[] evaluateChunk(final int from, final int to) {
+		// NB: Matchers are not thread-safe, so each chunk gets its own.
+		final List<RowMatcher> matchers = new ArrayList<>();
+		for (final Term term : terms) {
+			matchers.add(term.matcher(model, firstColumn));
+		}
+		final int[] rows = new int[to - from];
+		int count = 0;
+		for (int row = from; row < to; row++) {
+			boolean match = true;
+			for (final RowMatcher matcher : matchers) {
+				if (!matcher.matches(row)) {
+					match = false;
+					break;
+				}
+			}
+			if (match) rows[count++] = row;
+		}
+		final int[] result = new int[count];
+		System.arraycopy(rows, 0, result, 0, count);
+		return result;
+	}
+
+	// -- Helper classes --
+
+	private interface RowMatcher {
+
+		boolean matches(int row);
+	}
+
+	/** A predicate applying to one column, or to any column. */
+	private static class Term {
+
+		/** The model column, or -1 for any column. */
+		private final int column;
+
+		private final double min;
+		private final double max;
+		private final Pattern pattern;
+		private final String substring;
+
+		private Term(final int column, final String predicate) {
+			this.column = column;
+			final Matcher range = RANGE.matcher(predicate);
+			if (range.matches() && !predicate.trim().equals("..")) {
+				min = parseBound(range.group(1), Double.NEGATIVE_INFINITY);
+				max = parseBound(range.group(2), Double.POSITIVE_INFINITY);
+				pattern = null;
+				substring = null;
+			}
+			else if (predicate.length() >= 2 && predicate.startsWith("/") &&
+				predicate.endsWith("/"))
+			{
+				min = max = Double.NaN;
+				try {
+					pattern = Pattern.compile(predicate.substring(1, predicate.length() -
+						1));
+				}
+				catch (final PatternSyntaxException exc) {
+					throw new IllegalArgumentException(exc.getDescription(), exc);
+				}
+				substring = null;
+			}
+			else {
+				min = max = Double.NaN;
+				pattern = null;
+				substring = predicate.toLowerCase();
+			}
+		}
+
+		private RowMatcher matcher(final TableModel model, final int firstColumn) {
+			if (column >= 0) return columnMatcher(model, column);
+			final int columns = model.getColumnCount();
+			final RowMatcher[] matchers = new RowMatcher[columns - firstColumn];
+			for (int col = firstColumn; col < columns; col++) {
+				matchers[col - firstColumn] = columnMatcher(model, col);
+			}
+			return row -> {
+				for (final RowMatcher matcher : matchers) {
+					if (matcher.matches(row)) return true;
+				}
+				return false;
+			};
+		}
+
+		private RowMatcher columnMatcher(final TableModel model, final int col) {
+			if (substring == null && pattern == null) {
+				// numeric range
+				final Column<?> c = col == 0 ? null : model.getTableColumn(col);
+				if (c instanceof DoubleColumn) {
+					final DoubleColumn dc = (DoubleColumn) c;
+					return row -> inRange(dc.getValue(row));
+				}
+				if (c instanceof FloatColumn) {
+					final FloatColumn fc = (FloatColumn) c;
+					return row -> inRange(fc.getValue(row));
+				}
+				if (c instanceof LongColumn) {
+					final LongColumn lc = (LongColumn) c;
+					return row -> inRange(lc.getValue(row));
+				}
+				if (c instanceof IntColumn) {
+					final IntColumn ic = (IntColumn) c;
+					return row -> inRange(ic.getValue(row));
+				}
+				if (c instanceof ShortColumn) {
+					final ShortColumn sc = (ShortColumn) c;
+					return row -> inRange(sc.getValue(row));
+				}
+				if (c instanceof ByteColumn) {
+					final ByteColumn bc = (ByteColumn) c;
+					return row -> inRange(bc.getValue(row));
+				}
+				return row -> {
+					final Object value = model.readTableValue(row, col);
+					return value instanceof Number && inRange(((Number) value)
+						.doubleValue());
+				};
+			}
+			final IntFunction<String> text = cellText(model, col);
+			if (pattern != null) {
+				final Matcher matcher = pattern.matcher("");
+				return row -> matcher.reset(text.apply(row)).find();
+			}
+			return row -> containsIgnoreCase(text.apply(row), substring);
+		}
+
+		private boolean inRange(final double value) {
+			return value >= min && value <= max;
+		}
+
+		private static double parseBound(final String bound,
+			final double defaultValue)
+		{
+			if (bound.isEmpty()) return defaultValue;
+			try {
+				return Double.parseDouble(bound);
+			}
+			catch (final NumberFormatException exc) {
+				throw new IllegalArgumentException("Invalid number: " + bound, exc);
+			}
+		}
+	}
+}
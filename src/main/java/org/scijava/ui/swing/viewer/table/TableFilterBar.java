@@ -0,0 +1,260 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.awt.Color;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.KeyStroke;
+import javax.swing.Timer;
+import javax.swing.border.Border;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+
+import net.miginfocom.swing.MigLayout;
+
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Bar for filtering the rows of a {@link JTable} showing a {@link TableModel}
+ * with an {@link IndexedRowSorter}. The rows are filtered by a
+ * {@link TableFilter} in the background; appended or updated rows are filtered
+ * incrementally.
+ */
+@SuppressWarnings("serial")
+class TableFilterBar extends JPanel {
+
+	/** Delay after typing before the filter is applied. */
+	private static final int DELAY_MILLIS = 300;
+
+	/** Name of the {@link ThreadService} queue which evaluates filters. */
+	private static final String QUEUE = "table-filter";
+
+	private static final String HELP = "<html>Terms separated by <tt>;</tt> " +
+		"must all match.<br>Prefix a term with <tt>header:</tt> to match one " +
+		"column only.<br><tt>1..10</tt> matches a numeric range, <tt>/re/</tt> " +
+		"a regular expression,<br>anything else a case-insensitive substring.";
+
+	private final JTable table;
+	private final ThreadService threadService;
+
+	private final JTextField field = new JTextField();
+	private final Border fieldBorder = field.getBorder();
+	private final JLabel status = new JLabel();
+	private final Timer timer;
+
+	private final TableModelListener modelListener = this::tableChanged;
+
+	/** The model being filtered. */
+	private TableModel model;
+
+	/** The current filter, or null if not filtering. */
+	private TableFilter filter;
+
+	/**
+	 * Incremented whenever pending results become obsolete, because the filter
+	 * changed or rows moved.
+	 */
+	private int epoch;
+
+	TableFilterBar(final JTable table, final ThreadService threadService) {
+		super(new MigLayout("insets 2 4 2 4", "[][grow,fill][][]"));
+		this.table = table;
+		this.threadService = threadService;
+
+		timer = new Timer(DELAY_MILLIS, e -> apply());
+		timer.setRepeats(false);
+		field.setToolTipText(HELP);
+		field.getDocument().addDocumentListener(new DocumentListener() {
+
+			@Override
+			public void insertUpdate(final DocumentEvent e) {
+				timer.restart();
+			}
+
+			@Override
+			public void removeUpdate(final DocumentEvent e) {
+				timer.restart();
+			}
+
+			@Override
+			public void changedUpdate(final DocumentEvent e) {
+				timer.restart();
+			}
+		});
+		field.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0),
+			"close");
+		field.getActionMap().put("close", new AbstractAction() {
+
+			@Override
+			public void actionPerformed(final ActionEvent e) {
+				close();
+			}
+		});
+		final JButton closeButton = new JButton("\u00d7");
+		closeButton.setToolTipText("Close the filter bar and show all rows");
+		closeButton.putClientProperty("JButton.buttonType", "toolBarButton");
+		closeButton.addActionListener(e -> close());
+
+		add(new JLabel("Filter:"));
+		add(field);
+		add(status);
+		add(closeButton);
+
+		listen((TableModel) table.getModel());
+		table.addPropertyChangeListener("model", e -> {
+			listen((TableModel) e.getNewValue());
+			if (filter != null) apply();
+		});
+		setVisible(false);
+	}
+
+	// -- TableFilterBar methods --
+
+	/** Shows the bar, and focuses its text field. */
+	void open() {
+		setVisible(true);
+		field.selectAll();
+		field.requestFocusInWindow();
+	}
+
+	/** Hides the bar, and shows all rows. */
+	void close() {
+		setVisible(false);
+		field.setText("");
+		apply();
+		table.requestFocusInWindow();
+	}
+
+	// -- Helper methods --
+
+	private void listen(final TableModel newModel) {
+		if (model != null) model.removeTableModelListener(modelListener);
+		model = newModel;
+		model.addTableModelListener(modelListener);
+	}
+
+	/** Parses the filter, and filters all rows. */
+	private void apply() {
+		timer.stop();
+		epoch++;
+		final String text = field.getText();
+		TableFilter newFilter = null;
+		try {
+			newFilter = TableFilter.parse(text, model);
+			setValid(null);
+		}
+		catch (final IllegalArgumentException exc) {
+			setValid(exc.getMessage());
+			return;
+		}
+		if (newFilter.isEmpty()) {
+			if (filter == null) return;
+			filter = null;
+			sorter().setFilter(null);
+			updateStatus();
+			return;
+		}
+		filter = newFilter;
+		evaluate(0, model.getRowCount() - 1, true);
+	}
+
+	/**
+	 * Filters the given range of rows in the background, and then updates the
+	 * sorter.
+	 */
+	private void evaluate(final int first, final int last, final boolean all) {
+		final int gen = epoch;
+		final TableFilter f = filter;
+		threadService.queue(QUEUE, () -> {
+			final int[] rows;
+			try {
+				rows = f.evaluate(first, last);
+			}
+			catch (final RuntimeException exc) {
+				// NB: The table changed while filtering; the change will trigger
+				// another evaluation.
+				return;
+			}
+			threadService.queue(() -> {
+				if (gen != epoch) return;
+				if (all) sorter().setFilter(rows);
+				else sorter().setFilter(first, last, rows);
+				updateStatus();
+			});
+		});
+	}
+
+	private void tableChanged(final TableModelEvent e) {
+		if (filter == null) return;
+		final int rowCount = model.getRowCount();
+		if (e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+			// NB: The columns changed, so the filter must be parsed again.
+			apply();
+			return;
+		}
+		final boolean appended = e.getType() == TableModelEvent.INSERT && //
+			e.getLastRow() == rowCount - 1;
+		final boolean updated = e.getType() == TableModelEvent.UPDATE && //
+			e.getLastRow() < rowCount;
+		if (appended || updated) evaluate(e.getFirstRow(), e.getLastRow(), false);
+		else {
+			// NB: Rows moved, so pending results are obsolete.
+			epoch++;
+			evaluate(0, rowCount - 1, true);
+		}
+	}
+
+	private void setValid(final String message) {
+		field.setBorder(message == null ? fieldBorder : BorderFactory
+			.createLineBorder(Color.RED, 1));
+		field.setToolTipText(message == null ? HELP : message);
+	}
+
+	private void updateStatus() {
+		status.setText(filter == null ? "" : String.format("%,d of %,d rows", table
+			.getRowCount(), model.getRowCount()));
+	}
+
+	private IndexedRowSorter sorter() {
+		return (IndexedRowSorter) table.getRowSorter();
+	}
+}
@@ -0,0 +1,396 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.KeyStroke;
+import javax.swing.RowSorter;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.RowSorterListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+
+import net.miginfocom.swing.MigLayout;
+
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Bar for finding cells of a {@link JTable} showing a {@link TableModel}. The
+ * cells are searched by a {@link TableFinder} in the background; the index of
+ * matches is refined as the query grows, and kept up to date by rescanning
+ * only the rows and columns reported by each {@link TableModelEvent}.
+ */
+@SuppressWarnings("serial")
+class TableFindBar extends JPanel {
+
+	/** Delay after typing before the search starts. */
+	private static final int DELAY_MILLIS = 300;
+
+	/** Name of the {@link ThreadService} queue which searches the table. */
+	private static final String QUEUE = "table-find";
+
+	private final JTable table;
+	private final ThreadService threadService;
+
+	private final JTextField field = new JTextField();
+	private final JLabel status = new JLabel();
+	private final Timer timer;
+
+	private final TableModelListener modelListener = this::tableChanged;
+	private final RowSorterListener sorterListener = e -> updateVisible();
+
+	/** The model being searched. */
+	private TableModel model;
+
+	/** The row sorter of the table, or null if none. */
+	private RowSorter<?> sorter;
+
+	/** The index of the current query, or null if none. */
+	private TableFinder finder;
+
+	/** The query being searched for, or null if none. */
+	private String query;
+
+	/** Whether a search is in progress, whose results are yet to be applied. */
+	private boolean searching;
+
+	/** Number of rescans of changed rows whose results are yet to be applied. */
+	private int pending;
+
+	/** Incremented whenever pending results become obsolete. */
+	private int epoch;
+
+	TableFindBar(final JTable table, final ThreadService threadService) {
+		super(new MigLayout("insets 2 4 2 4", "[][grow,fill][][][][]"));
+		this.table = table;
+		this.threadService = threadService;
+
+		timer = new Timer(DELAY_MILLIS, e -> search());
+		timer.setRepeats(false);
+		field.setToolTipText("<html>Finds cells containing the text, ignoring " +
+			"case.<br><tt>Enter</tt> goes to the next match, " +
+			"<tt>Shift+Enter</tt> to the previous one.");
+		field.getDocument().addDocumentListener(new DocumentListener() {
+
+			@Override
+			public void insertUpdate(final DocumentEvent e) {
+				timer.restart();
+			}
+
+			@Override
+			public void removeUpdate(final DocumentEvent e) {
+				timer.restart();
+			}
+
+			@Override
+			public void changedUpdate(final DocumentEvent e) {
+				timer.restart();
+			}
+		});
+		field.addActionListener(e -> next());
+		bind(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, KeyEvent.SHIFT_MASK),
+			"previous", this::previous);
+		bind(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "close", this::close);
+
+		final JButton previousButton = button("\u25b2",
+			"Go to the previous match", this::previous);
+		final JButton nextButton = button("\u25bc", "Go to the next match",
+			this::next);
+		final JButton closeButton = button("\u00d7", "Close the find bar",
+			this::close);
+
+		add(new JLabel("Find:"));
+		add(field);
+		add(previousButton);
+		add(nextButton);
+		add(status);
+		add(closeButton);
+
+		listen((TableModel) table.getModel());
+		table.addPropertyChangeListener("model", e -> {
+			listen((TableModel) e.getNewValue());
+			finder = null;
+			if (query != null) search(query);
+		});
+		listen(table.getRowSorter());
+		table.addPropertyChangeListener("rowSorter", e -> listen((RowSorter<?>) e
+			.getNewValue()));
+		setVisible(false);
+	}
+
+	// -- TableFindBar methods --
+
+	/** Shows the bar, and focuses its text field. */
+	void open() {
+		setVisible(true);
+		field.selectAll();
+		field.requestFocusInWindow();
+	}
+
+	/** Hides the bar. */
+	void close() {
+		setVisible(false);
+		timer.stop();
+		epoch++;
+		searching = false;
+		pending = 0;
+		query = null;
+		finder = null;
+		updateStatus();
+		table.requestFocusInWindow();
+	}
+
+	// -- Helper methods --
+
+	private void listen(final TableModel newModel) {
+		if (model != null) model.removeTableModelListener(modelListener);
+		model = newModel;
+		model.addTableModelListener(modelListener);
+	}
+
+	private void listen(final RowSorter<?> newSorter) {
+		if (sorter != null) sorter.removeRowSorterListener(sorterListener);
+		sorter = newSorter;
+		if (sorter != null) sorter.addRowSorterListener(sorterListener);
+		updateVisible();
+	}
+
+	private void bind(final KeyStroke key, final String name,
+		final Runnable action)
+	{
+		field.getInputMap().put(key, name);
+		field.getActionMap().put(name, new AbstractAction() {
+
+			@Override
+			public void actionPerformed(final ActionEvent e) {
+				action.run();
+			}
+		});
+	}
+
+	private JButton button(final String label, final String toolTip,
+		final Runnable action)
+	{
+		final JButton button = new JButton(label);
+		button.setToolTipText(toolTip);
+		button.putClientProperty("JButton.buttonType", "toolBarButton");
+		button.addActionListener(e -> action.run());
+		return button;
+	}
+
+	/** Searches for the text of the field, unless already done. */
+	private void search() {
+		timer.stop();
+		final String text = field.getText();
+		if (text.isEmpty()) {
+			epoch++;
+			searching = false;
+			pending = 0;
+			query = null;
+			finder = null;
+			updateStatus();
+			return;
+		}
+		if (text.equals(query)) return;
+		search(text);
+	}
+
+	/**
+	 * Searches for the given query in the background. If the current index is
+	 * complete and the query extends its query, only its matches are searched.
+	 */
+	private void search(final String q) {
+		final int gen = ++epoch;
+		query = q;
+		searching = true;
+		// NB: Rescans not yet applied to the current index are dropped.
+		final boolean refine = finder != null && pending == 0 && finder
+			.canRefine(model, q);
+		pending = 0;
+		updateStatus();
+		final TableModel m = model;
+		final TableFinder base = refine ? finder : null;
+		threadService.queue(QUEUE, () -> {
+			TableFinder result;
+			try {
+				result = base == null ? TableFinder.find(m, q) : base.refine(q);
+			}
+			catch (final RuntimeException exc) {
+				// NB: The table changed while searching; the next change will
+				// trigger another search.
+				result = null;
+			}
+			final TableFinder found = result;
+			threadService.queue(() -> {
+				if (gen != epoch) return;
+				searching = false;
+				finder = found;
+				updateVisible();
+				updateStatus();
+			});
+		});
+	}
+
+	/**
+	 * Rescans the given rows in the background, after any search in progress,
+	 * and replaces their matches in the index.
+	 *
+	 * @param col The model column to rescan, or
+	 *          {@link TableModelEvent#ALL_COLUMNS} to rescan all columns.
+	 */
+	private void rescan(final int first, final int last, final int col) {
+		final int gen = epoch;
+		final TableModel m = model;
+		final String q = query;
+		pending++;
+		updateStatus();
+		threadService.queue(QUEUE, () -> {
+			final long[] found;
+			try {
+				found = TableFinder.scan(m, q, first, last, col);
+			}
+			catch (final RuntimeException exc) {
+				threadService.queue(() -> {
+					if (gen == epoch) search(query);
+				});
+				return;
+			}
+			threadService.queue(() -> {
+				if (gen != epoch) return;
+				pending--;
+				if (finder != null) finder.update(first, last, col, found);
+				updateStatus();
+			});
+		});
+	}
+
+	private void tableChanged(final TableModelEvent e) {
+		if (query == null) return;
+		final int first = e.getFirstRow(), last = e.getLastRow();
+		if (first == TableModelEvent.HEADER_ROW || last == Integer.MAX_VALUE ||
+			!searching && finder == null)
+		{
+			// NB: The structure or all of the table changed.
+			search(query);
+			return;
+		}
+		// NB: While the index is being computed, rows cannot be shifted.
+		final boolean busy = searching || pending > 0;
+		final int col = e.getColumn();
+		switch (e.getType()) {
+			case TableModelEvent.UPDATE:
+				if (first == last && col != TableModelEvent.ALL_COLUMNS && !busy) {
+					finder.cellChanged(first, col);
+					updateStatus();
+				}
+				else rescan(first, last, col);
+				break;
+			case TableModelEvent.INSERT:
+				if (last == model.getRowCount() - 1) {
+					// NB: Appended rows shift no matches.
+					rescan(first, last, TableModelEvent.ALL_COLUMNS);
+				}
+				else if (busy) search(query);
+				else {
+					finder.rowsInserted(first, last);
+					rescan(first, last, TableModelEvent.ALL_COLUMNS);
+				}
+				break;
+			case TableModelEvent.DELETE:
+				if (busy) search(query);
+				else {
+					finder.rowsDeleted(first, last);
+					updateStatus();
+				}
+				break;
+		}
+	}
+
+	private void next() {
+		if (finder == null) return;
+		select(finder.next());
+	}
+
+	private void previous() {
+		if (finder == null) return;
+		select(finder.previous());
+	}
+
+	/**
+	 * Tells the index which matches are shown, whenever the rows of the table
+	 * are filtered or sorted.
+	 */
+	private void updateVisible() {
+		if (finder == null) return;
+		final boolean filtered = sorter != null && sorter.getViewRowCount() < sorter
+			.getModelRowCount();
+		finder.setVisible(filtered ? this::isVisible : null);
+	}
+
+	/** Checks whether the given packed cell is shown by the table. */
+	private boolean isVisible(final long key) {
+		final int row = TableFinder.row(key);
+		return row < table.getModel().getRowCount() && table
+			.convertRowIndexToView(row) >= 0 && table.convertColumnIndexToView(
+				TableFinder.column(key)) >= 0;
+	}
+
+	private void select(final long key) {
+		updateStatus();
+		if (key < 0) return;
+		table.changeSelection(table.convertRowIndexToView(TableFinder.row(key)),
+			table.convertColumnIndexToView(TableFinder.column(key)), false, false);
+	}
+
+	private void updateStatus() {
+		if (query == null) status.setText("");
+		else if (searching || pending > 0) status.setText("Searching\u2026");
+		else if (finder == null) status.setText("");
+		else if (finder.size() == 0) status.setText("No matches");
+		else if (finder.getCurrent() < 0) {
+			status.setText(String.format("%,d matches", finder.size()));
+		}
+		else {
+			status.setText(String.format("%,d of %,d", finder.getCurrent() + 1,
+				finder.size()));
+		}
+	}
+}
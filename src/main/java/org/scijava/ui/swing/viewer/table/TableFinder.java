@@ -0,0 +1,377 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+
+import javax.swing.event.TableModelEvent;
+
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Index of the cells of a {@link TableModel} whose text contains a query,
+ * ignoring case.
+ * <p>
+ * The matches are packed into a sorted {@code long} array, each holding the
+ * model row in the upper and the model column in the lower 32 bits, so that
+ * stepping through them takes constant time. The index can be refined for a
+ * longer query, and updated for changed, inserted or deleted rows without
+ * scanning the whole table again.
+ * </p>
+ * <p>
+ * When some cells are hidden, the indices of the visible matches are computed
+ * once, so that stepping through them takes logarithmic time.
+ * </p>
+ */
+class TableFinder {
+
+	/** Number of rows of one column each parallel task scans. */
+	private static final int CHUNK_SIZE = 65536;
+
+	private final TableModel model;
+	private final String query;
+	private final boolean rowHeaders;
+
+	private long[] matches;
+	private int size;
+
+	/** Index of the current match, or -1 if none. */
+	private int current = -1;
+
+	/** Predicate accepting the visible matches, or null if all are visible. */
+	private LongPredicate visible;
+
+	/** Indices of the visible matches, or null if not yet computed. */
+	private int[] shown;
+
+	private TableFinder(final TableModel model, final String query,
+		final boolean rowHeaders, final long[] matches)
+	{
+		this.model = model;
+		this.query = query;
+		this.rowHeaders = rowHeaders;
+		this.matches = matches;
+		size = matches.length;
+	}
+
+	// -- TableFinder methods --
+
+	/** Scans all rows of the given model for the given query. */
+	static TableFinder find(final TableModel model, final String query) {
+		final String q = query.toLowerCase();
+		final boolean rowHeaders = model.hasRowHeaders();
+		return new TableFinder(model, q, rowHeaders, scan(model, q, 0, model
+			.getRowCount() - 1, TableModelEvent.ALL_COLUMNS));
+	}
+
+	/**
+	 * Scans the given rows of the given model for the given query. Can be
+	 * called on any thread.
+	 *
+	 * @param col The model column to scan, or
+	 *          {@link TableModelEvent#ALL_COLUMNS} to scan all columns.
+	 * @return The matches, to pass to {@link #update}.
+	 */
+	static long[] scan(final TableModel model, final String query,
+		final int first, final int last, final int col)
+	{
+		final String q = query.toLowerCase();
+		final int firstColumn = model.hasRowHeaders() ? 0 : 1;
+		final int columnCount = model.getColumnCount();
+		final int lastRow = Math.min(last, model.getRowCount() - 1);
+		if (col == TableModelEvent.ALL_COLUMNS) {
+			return scan(model, q, first, lastRow, firstColumn, columnCount);
+		}
+		if (col < firstColumn || col >= columnCount) return new long[0];
+		return scan(model, q, first, lastRow, col, col + 1);
+	}
+
+	/**
+	 * Finds the matches of a query containing this index's query, among the
+	 * matches of this index only.
+	 */
+	TableFinder refine(final String newQuery) {
+		final String q = newQuery.toLowerCase();
+		final long[] refined = Arrays.stream(matches, 0, size).parallel().filter(
+			key -> matches(q, row(key), column(key))).toArray();
+		return new TableFinder(model, q, rowHeaders, refined);
+	}
+
+	/** Checks whether this index can be refined for the given query. */
+	boolean canRefine(final TableModel m, final String newQuery) {
+		return m == model && newQuery.toLowerCase().contains(query);
+	}
+
+	/** Gets the query, in lower case. */
+	String getQuery() {
+		return query;
+	}
+
+	/**
+	 * Replaces the matches in the given rows by the given ones.
+	 *
+	 * @param col The model column which was scanned, or
+	 *          {@link TableModelEvent#ALL_COLUMNS} if all columns were.
+	 * @param found The matches returned by {@link #scan} for the rows.
+	 */
+	void update(final int first, final int last, final int col,
+		final long[] found)
+	{
+		final long currentKey = current < 0 ? -1 : matches[current];
+		final int from = lowerBound(first);
+		final int to = last == Integer.MAX_VALUE ? size : lowerBound(last + 1);
+		long[] replaced = found;
+		if (col != TableModelEvent.ALL_COLUMNS) {
+			// NB: Keep the matches in the other columns.
+			replaced = new long[to - from + found.length];
+			int n = 0;
+			for (int i = from; i < to; i++) {
+				if (column(matches[i]) != col) replaced[n++] = matches[i];
+			}
+			System.arraycopy(found, 0, replaced, n, found.length);
+			n += found.length;
+			replaced = Arrays.copyOf(replaced, n);
+			Arrays.sort(replaced);
+		}
+		splice(from, to, replaced);
+		restore(currentKey);
+	}
+
+	/**
+	 * Updates the index for inserted rows. Their matches are added by
+	 * {@link #update}.
+	 */
+	void rowsInserted(final int first, final int last) {
+		final long shift = (long) (last - first + 1) << 32;
+		for (int i = lowerBound(first); i < size; i++) {
+			matches[i] += shift;
+		}
+		shown = null;
+	}
+
+	/** Updates the index for deleted rows. */
+	void rowsDeleted(final int first, final int last) {
+		final int from = lowerBound(first);
+		final int to = lowerBound(last + 1);
+		final long shift = (long) (last - first + 1) << 32;
+		for (int i = to; i < size; i++) {
+			matches[i - to + from] = matches[i] - shift;
+		}
+		size -= to - from;
+		if (current >= to) current -= to - from;
+		else if (current >= from) current = from - 1;
+		shown = null;
+	}
+
+	/** Updates the index for a cell whose value changed. */
+	void cellChanged(final int row, final int col) {
+		if (col == 0 && !rowHeaders) return;
+		final long key = key(row, col);
+		final int pos = Arrays.binarySearch(matches, 0, size, key);
+		final boolean match = matches(query, row, col);
+		if (match && pos < 0) {
+			final int insert = -pos - 1;
+			ensureCapacity(size + 1);
+			System.arraycopy(matches, insert, matches, insert + 1, size - insert);
+			matches[insert] = key;
+			size++;
+			if (current >= insert) current++;
+		}
+		else if (!match && pos >= 0) {
+			System.arraycopy(matches, pos + 1, matches, pos, size - pos - 1);
+			size--;
+			if (current > pos || current == size) current--;
+		}
+		shown = null;
+	}
+
+	/** Gets the number of matches. */
+	int size() {
+		return size;
+	}
+
+	/** Gets the index of the current match, or -1 if none. */
+	int getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Sets which matches {@link #next} and {@link #previous} move to.
+	 *
+	 * @param visible Predicate accepting the packed cells of the visible
+	 *          matches, or null if all matches are visible.
+	 */
+	void setVisible(final LongPredicate visible) {
+		this.visible = visible;
+		shown = null;
+	}
+
+	/**
+	 * Moves to the next visible match, in model order.
+	 *
+	 * @return The packed cell of the match, or -1 if there is none.
+	 */
+	long next() {
+		if (size == 0) return -1;
+		if (visible == null) {
+			current = current + 1 < size ? current + 1 : 0;
+			return matches[current];
+		}
+		final int[] indices = shown();
+		if (indices.length == 0) return -1;
+		final int pos = Arrays.binarySearch(indices, current);
+		final int i = pos >= 0 ? pos + 1 : -pos - 1;
+		current = indices[i < indices.length ? i : 0];
+		return matches[current];
+	}
+
+	/**
+	 * Moves to the previous visible match, in model order.
+	 *
+	 * @return The packed cell of the match, or -1 if there is none.
+	 */
+	long previous() {
+		if (size == 0) return -1;
+		if (visible == null) {
+			current = current > 0 ? current - 1 : size - 1;
+			return matches[current];
+		}
+		final int[] indices = shown();
+		if (indices.length == 0) return -1;
+		final int pos = Arrays.binarySearch(indices, current);
+		final int i = pos >= 0 ? pos - 1 : -pos - 2;
+		current = indices[i >= 0 ? i : indices.length - 1];
+		return matches[current];
+	}
+
+	/** Gets the model row of a packed cell. */
+	static int row(final long key) {
+		return (int) (key >>> 32);
+	}
+
+	/** Gets the model column of a packed cell. */
+	static int column(final long key) {
+		return (int) key;
+	}
+
+	// -- Helper methods --
+
+	private static long key(final int row, final int col) {
+		return (long) row << 32 | col;
+	}
+
+	/** Gets the index of the first match in the given row or after it. */
+	private int lowerBound(final int row) {
+		final int pos = Arrays.binarySearch(matches, 0, size, key(row, 0));
+		return pos >= 0 ? pos : -pos - 1;
+	}
+
+	/** Replaces the matches from index {@code from} to {@code to}. */
+	private void splice(final int from, final int to, final long[] replaced) {
+		final int newSize = size - (to - from) + replaced.length;
+		ensureCapacity(newSize);
+		System.arraycopy(matches, to, matches, from + replaced.length, size - to);
+		System.arraycopy(replaced, 0, matches, from, replaced.length);
+		size = newSize;
+		shown = null;
+	}
+
+	/**
+	 * Makes the given packed cell the current match, or the match before it if
+	 * it no longer matches.
+	 */
+	private void restore(final long key) {
+		if (key < 0) return;
+		final int pos = Arrays.binarySearch(matches, 0, size, key);
+		current = pos >= 0 ? pos : -pos - 2;
+	}
+
+	/** Gets the indices of the visible matches. */
+	private int[] shown() {
+		if (shown == null) {
+			shown = IntStream.range(0, size).parallel().filter(i -> visible.test(
+				matches[i])).toArray();
+		}
+		return shown;
+	}
+
+	private boolean matches(final String q, final int row, final int col) {
+		if (!model.isTableCell(row, col)) return false;
+		return TableFilter.containsIgnoreCase(TableFilter.cellText(model, col)
+			.apply(row), q);
+	}
+
+	/** Scans the given columns of the given rows in parallel chunks. */
+	private static long[] scan(final TableModel model, final String q,
+		final int first, final int last, final int firstColumn,
+		final int endColumn)
+	{
+		final int count = last - first + 1;
+		if (count <= 0) return new long[0];
+		final int columns = endColumn - firstColumn;
+		final int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		final long[][] found = IntStream.range(0, columns * chunks).parallel()
+			.mapToObj(task -> {
+				final int col = firstColumn + task / chunks;
+				final int from = first + task % chunks * CHUNK_SIZE;
+				final int to = Math.min(last + 1, from + CHUNK_SIZE);
+				final IntFunction<String> text = TableFilter.cellText(model, col);
+				long[] keys = new long[16];
+				int n = 0;
+				for (int row = from; row < to; row++) {
+					if (!TableFilter.containsIgnoreCase(text.apply(row), q)) continue;
+					if (n == keys.length) keys = Arrays.copyOf(keys, 2 * n);
+					keys[n++] = key(row, col);
+				}
+				return Arrays.copyOf(keys, n);
+			}).toArray(long[][]::new);
+		int total = 0;
+		for (final long[] keys : found) {
+			total += keys.length;
+		}
+		final long[] result = new long[total];
+		int offset = 0;
+		for (final long[] keys : found) {
+			System.arraycopy(keys, 0, result, offset, keys.length);
+			offset += keys.length;
+		}
+		// NB: The chunks were scanned column by column; order by row.
+		Arrays.parallelSort(result);
+		return result;
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity <= matches.length) return;
+		matches = Arrays.copyOf(matches, Math.max(capacity, 2 * matches.length));
+	}
+}
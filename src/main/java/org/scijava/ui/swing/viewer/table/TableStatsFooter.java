@@ -0,0 +1,322 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.awt.Dimension;
+import java.awt.Point;
+
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.AbstractTableModel;
+
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel.CellUpdateEvent;
+
+/**
+ * Footer showing {@link ColumnStats statistics} of the numeric columns of a
+ * {@link JTable} showing a {@link TableModel}.
+ * <p>
+ * The footer is a table of its own, sharing the column model of the main
+ * table so that its columns line up. The statistics are computed in the
+ * background; appended rows and cells set through
+ * {@link TableModel#setValueAt} update them incrementally, while other
+ * changes recompute them, once for all the events fired together. If the
+ * computation fails, the footer shows an error until the next change.
+ * </p>
+ */
+@SuppressWarnings("serial")
+class TableStatsFooter extends JScrollPane {
+
+	/** Name of the {@link ThreadService} queue which computes statistics. */
+	private static final String QUEUE = "table-stats";
+
+	private static final String[] LABELS = { "Min", "Max", "Mean", "Std. dev.",
+		"NaN count" };
+
+	/** Result of a computation which failed. */
+	private static final ColumnStats[] FAILED = new ColumnStats[0];
+
+	private final JTable table;
+	private final ThreadService threadService;
+	private final StatsModel statsModel = new StatsModel();
+
+	private final TableModelListener modelListener = this::tableChanged;
+
+	/** The model whose columns are summarized. */
+	private TableModel model;
+
+	/**
+	 * The statistics of each model column, null for non-numeric columns; or
+	 * null if not computed yet.
+	 */
+	private ColumnStats[] stats;
+
+	/** The number of rows the statistics cover, including pending ones. */
+	private int rowCount;
+
+	/** The number of computations whose results are yet to be applied. */
+	private int pending;
+
+	/** Whether the last computation failed. */
+	private boolean failed;
+
+	/**
+	 * Whether all statistics will be recomputed once the current events are
+	 * handled, so that further events need not be looked at.
+	 */
+	private boolean recomputing;
+
+	/** Incremented whenever pending results become obsolete. */
+	private volatile int epoch;
+
+	TableStatsFooter(final JTable table, final ThreadService threadService,
+		final JScrollPane tableScrollPane)
+	{
+		this.table = table;
+		this.threadService = threadService;
+
+		final JTable footer = new JTable(statsModel, table.getColumnModel());
+		// NB: Only the main table may resize the shared columns.
+		footer.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+		footer.setTableHeader(null);
+		footer.setRowSelectionAllowed(false);
+		footer.setFocusable(false);
+		footer.setPreferredScrollableViewportSize(new Dimension(0, footer
+			.getRowHeight() * LABELS.length));
+		setViewportView(footer);
+		setHorizontalScrollBarPolicy(HORIZONTAL_SCROLLBAR_NEVER);
+		setVerticalScrollBarPolicy(VERTICAL_SCROLLBAR_NEVER);
+
+		// follow the horizontal scrolling of the main table
+		tableScrollPane.getViewport().addChangeListener(e -> {
+			final Point p = getViewport().getViewPosition();
+			p.x = tableScrollPane.getViewport().getViewPosition().x;
+			getViewport().setViewPosition(p);
+		});
+
+		listen((TableModel) table.getModel());
+		table.addPropertyChangeListener("model", e -> {
+			listen((TableModel) e.getNewValue());
+			if (isVisible()) recompute();
+		});
+		setVisible(false);
+	}
+
+	// -- TableStatsFooter methods --
+
+	/** Shows or hides the footer. Statistics are only kept while shown. */
+	void setShown(final boolean shown) {
+		setVisible(shown);
+		if (shown) recompute();
+		else {
+			epoch++;
+			stats = null;
+			failed = false;
+		}
+		revalidate();
+	}
+
+	// -- Helper methods --
+
+	private void listen(final TableModel newModel) {
+		if (model != null) model.removeTableModelListener(modelListener);
+		model = newModel;
+		model.addTableModelListener(modelListener);
+	}
+
+	private void tableChanged(final TableModelEvent e) {
+		if (!isVisible() || recomputing) return;
+		if (e instanceof CellUpdateEvent) cellUpdated((CellUpdateEvent) e);
+		else if (e.getType() == TableModelEvent.INSERT && e
+			.getFirstRow() == rowCount && e.getLastRow() == model.getRowCount() - 1)
+		{
+			computeRows(e.getFirstRow(), e.getLastRow());
+		}
+		else recompute();
+	}
+
+	/** Updates the statistics of a column with the new value of a cell. */
+	private void cellUpdated(final CellUpdateEvent e) {
+		final int col = e.getColumn();
+		if (pending > 0 || failed) {
+			// NB: A computation may or may not have seen the new value.
+			recompute();
+			return;
+		}
+		if (stats == null || col >= stats.length || stats[col] == null || e
+			.getFirstRow() >= rowCount) return;
+		final Object oldValue = e.getOldValue();
+		final Object newValue = model.getTableValue(e.getFirstRow(), col);
+		if (!(oldValue instanceof Number) || !(newValue instanceof Number)) {
+			recompute();
+			return;
+		}
+		final boolean extremeKept = stats[col].remove(((Number) oldValue)
+			.doubleValue());
+		stats[col].add(((Number) newValue).doubleValue());
+		statsModel.fireTableDataChanged();
+		// NB: The old value was the minimum or maximum, which may have changed.
+		if (!extremeKept) recompute();
+	}
+
+	/**
+	 * Recomputes the statistics of all rows once the events being fired are
+	 * handled. A refresh of the table reports its rows as updated and the
+	 * appended rows as inserted, which then cost a single computation.
+	 */
+	private void recompute() {
+		if (recomputing) return;
+		recomputing = true;
+		// NB: Discard the results of computations still pending.
+		epoch++;
+		SwingUtilities.invokeLater(() -> {
+			recomputing = false;
+			if (isVisible()) computeAll();
+		});
+	}
+
+	/** Recomputes the statistics of all rows in the background. */
+	private void computeAll() {
+		final int gen = ++epoch;
+		final TableModel m = model;
+		final int rows = rowCount = m.getRowCount();
+		final int columns = m.getColumnCount();
+		pending++;
+		threadService.queue(QUEUE, () -> {
+			// NB: Skip computations made obsolete while queued.
+			final ColumnStats[] result = gen == epoch ? compute(m, columns, 0,
+				rows - 1) : null;
+			threadService.queue(() -> {
+				pending--;
+				if (gen != epoch || result == null) return;
+				failed = result == FAILED;
+				stats = failed ? null : result;
+				statsModel.fireTableDataChanged();
+			});
+		});
+	}
+
+	/** Adds the statistics of appended rows in the background. */
+	private void computeRows(final int first, final int last) {
+		final int gen = epoch;
+		final TableModel m = model;
+		final int columns = m.getColumnCount();
+		rowCount = last + 1;
+		pending++;
+		threadService.queue(QUEUE, () -> {
+			final ColumnStats[] result = gen == epoch ? compute(m, columns, first,
+				last) : null;
+			threadService.queue(() -> {
+				pending--;
+				if (gen != epoch || result == null || stats == null) return;
+				if (result == FAILED) {
+					failed = true;
+					stats = null;
+					statsModel.fireTableDataChanged();
+					return;
+				}
+				for (int col = 0; col < stats.length; col++) {
+					if (stats[col] != null && result[col] != null) {
+						stats[col].combine(result[col]);
+					}
+				}
+				statsModel.fireTableDataChanged();
+			});
+		});
+	}
+
+	/**
+	 * Computes the statistics of the given rows of each column.
+	 *
+	 * @return The statistics, or {@link #FAILED} if they could not be computed,
+	 *         for instance because the table changed meanwhile; the change then
+	 *         triggers another computation.
+	 */
+	private static ColumnStats[] compute(final TableModel m, final int columns,
+		final int first, final int last)
+	{
+		final ColumnStats[] result = new ColumnStats[columns];
+		try {
+			for (int col = 1; col < columns; col++) {
+				result[col] = ColumnStats.compute(m, col, first, last);
+			}
+		}
+		catch (final RuntimeException exc) {
+			return FAILED;
+		}
+		return result;
+	}
+
+	// -- Helper classes --
+
+	/** Model of the footer table, with one row per statistic. */
+	private class StatsModel extends AbstractTableModel {
+
+		@Override
+		public int getRowCount() {
+			return LABELS.length;
+		}
+
+		@Override
+		public int getColumnCount() {
+			return model == null ? 0 : model.getColumnCount();
+		}
+
+		@Override
+		public Object getValueAt(final int row, final int col) {
+			if (col == 0) return LABELS[row];
+			if (failed) return row == 0 ? "Error" : null;
+			if (stats == null || col >= stats.length || stats[col] == null) {
+				return null;
+			}
+			final ColumnStats s = stats[col];
+			switch (row) {
+				case 0:
+					return format(s.getMin());
+				case 1:
+					return format(s.getMax());
+				case 2:
+					return format(s.getMean());
+				case 3:
+					return format(s.getStdDev());
+				default:
+					return s.getNaNCount();
+			}
+		}
+
+		private String format(final double value) {
+			return Double.isNaN(value) ? "" : String.format("%.6g", value);
+		}
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.StringSelection;
+import java.awt.datatransfer.Transferable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntConsumer;
+
+import javax.swing.JComponent;
+import javax.swing.JTable;
+import javax.swing.TransferHandler;
+
+import org.scijava.app.StatusService;
+import org.scijava.log.LogService;
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Copies and exports the rows of a {@link JTable} showing a {@link TableModel}
+ * as tab- or comma-separated text.
+ * <p>
+ * Unlike the default transfer handler of {@link JTable}, which builds the text
+ * on the event dispatch thread by asking for each cell's value, the text is
+ * written by a {@link TableExporter} on a background thread for all but small
+ * selections, with the progress shown in the status bar.
+ * </p>
+ */
+@SuppressWarnings("serial")
+class TableTransferHandler extends TransferHandler {
+
+	private final JTable table;
+	private final ThreadService threadService;
+	private final StatusService statusService;
+	private final LogService log;
+
+	TableTransferHandler(final JTable table, final ThreadService threadService,
+		final StatusService statusService, final LogService log)
+	{
+		this.table = table;
+		this.threadService = threadService;
+		this.statusService = statusService;
+		this.log = log;
+	}
+
+	// -- TransferHandler methods --
+
+	@Override
+	public int getSourceActions(final JComponent c) {
+		return COPY;
+	}
+
+	@Override
+	public void exportToClipboard(final JComponent comp, final Clipboard clip,
+		final int action)
+	{
+		copy(clip, '\t');
+	}
+
+	@Override
+	protected Transferable createTransferable(final JComponent c) {
+		final TableExporter exporter = exporter(true, '\t', false);
+		return exporter == null ? null : new StringSelection(exporter.toText(null));
+	}
+
+	// -- TableTransferHandler methods --
+
+	/**
+	 * Copies the selected rows to the given clipboard. Must be called on the
+	 * event dispatch thread.
+	 *
+	 * @param clip The clipboard to which the text is copied.
+	 * @param separator The separator between values, typically tab or comma.
+	 */
+	void copy(final Clipboard clip, final char separator) {
+		final TableExporter exporter = exporter(true, separator, false);
+		if (exporter == null) return;
+		if (exporter.getCellCount() <= TableExporter.SYNC_CELLS) {
+			setContents(clip, exporter.toText(null));
+			return;
+		}
+		threadService.run(() -> {
+			final String text;
+			try {
+				text = exporter.toText(progress("Copying", exporter));
+			}
+			catch (final RuntimeException exc) {
+				// NB: The table may have changed while copying.
+				fail("copy table", exc);
+				return;
+			}
+			threadService.queue(() -> {
+				setContents(clip, text);
+				statusService.showStatus("Copied " + exporter.getRowCount() +
+					" rows");
+			});
+		});
+	}
+
+	/**
+	 * Writes the selected rows, or all visible rows if none are selected, to
+	 * the given file in the background. Files ending in {@code .tsv} or
+	 * {@code .txt} are tab-separated, others comma-separated. Must be called on
+	 * the event dispatch thread.
+	 */
+	void export(final File file) {
+		final String name = file.getName().toLowerCase();
+		final char separator = name.endsWith(".tsv") || name.endsWith(".txt")
+			? '\t' : ',';
+		final TableExporter exporter = exporter(false, separator, true);
+		if (exporter == null) return;
+		threadService.run(() -> {
+			try (final Writer out = new OutputStreamWriter(new FileOutputStream(file),
+				StandardCharsets.UTF_8))
+			{
+				exporter.write(out, progress("Exporting", exporter));
+				statusService.showStatus("Exported " + exporter.getRowCount() +
+					" rows to " + file.getName());
+			}
+			catch (final IOException | RuntimeException exc) {
+				fail("export table to " + file.getName(), exc);
+			}
+		});
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Creates an exporter for the selected cells, or null if there are none.
+	 *
+	 * @param selectionOnly If false, all visible rows are exported when none
+	 *          are selected.
+	 */
+	private TableExporter exporter(final boolean selectionOnly,
+		final char separator, final boolean header)
+	{
+		if (!(table.getModel() instanceof TableModel)) return null;
+		int[] rows = table.getSelectedRows();
+		if (rows.length == 0) {
+			if (selectionOnly) return null;
+			rows = new int[table.getRowCount()];
+			for (int i = 0; i < rows.length; i++)
+				rows[i] = i;
+		}
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = table.convertRowIndexToModel(rows[i]);
+		}
+		int[] columns = null;
+		if (table.getColumnSelectionAllowed()) columns = table.getSelectedColumns();
+		if (columns == null || columns.length == 0) {
+			columns = new int[table.getColumnCount()];
+			for (int i = 0; i < columns.length; i++)
+				columns[i] = i;
+		}
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = table.convertColumnIndexToModel(columns[i]);
+		}
+		return new TableExporter((TableModel) table.getModel(), rows, columns,
+			separator, header);
+	}
+
+	private IntConsumer progress(final String action,
+		final TableExporter exporter)
+	{
+		final int total = exporter.getRowCount();
+		return done -> statusService.showStatus(done, total, action + " " +
+			total + " rows...");
+	}
+
+	private void setContents(final Clipboard clip, final String text) {
+		try {
+			clip.setContents(new StringSelection(text), null);
+		}
+		catch (final IllegalStateException exc) {
+			fail("copy to the clipboard", exc);
+		}
+	}
+
+	/** Logs a failed background operation, and reports it in the status bar. */
+	private void fail(final String action, final Exception exc) {
+		log.error("Could not " + action, exc);
+		statusService.warn("Could not " + action + ": " + exc.getMessage());
+	}
+}
@@ -0,0 +1,587 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.text;
+
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.KeyStroke;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.UIManager;
+
+import org.scijava.thread.ThreadService;
+
+/**
+ * Read-only view of a UTF-8 text file of any size, which it memory-maps
+ * instead of loading.
+ * <p>
+ * The view keeps a sparse index of line offsets, built in parallel chunks in
+ * the background, and only decodes the lines it paints, so that opening,
+ * scrolling and jumping to a line take constant time and little heap,
+ * regardless of the size of the file.
+ * </p>
+ * <p>
+ * Files taller than {@link #MAX_HEIGHT} pixels are shown in a view of that
+ * height, whose scroll position is scaled to the position in the file. Whole
+ * lines can be selected with the mouse, and copied.
+ * </p>
+ */
+@SuppressWarnings("serial")
+class MappedTextView extends JComponent implements Scrollable {
+
+	/** Number of bytes per mapped region. */
+	private static final int MAP_SIZE = 1 << 28;
+
+	/** Number of bytes each parallel indexing task scans. */
+	private static final int SCAN_SIZE = 1 << 22;
+
+	/** Number of lines between two lines whose offsets are indexed. */
+	private static final int INDEX_SPACING = 256;
+
+	/** Maximal number of bytes of a line which are decoded and painted. */
+	private static final int MAX_LINE_BYTES = 8192;
+
+	/** Maximal height of the view, in pixels. */
+	private static final int MAX_HEIGHT = 1 << 30;
+
+	/** Maximal number of bytes copied to the clipboard. */
+	private static final int MAX_COPY_BYTES = 1 << 24;
+
+	private static final int MARGIN = 4;
+
+	private final Path path;
+	private final ThreadService threadService;
+
+	/** The mapped regions of the file, of {@link #MAP_SIZE} bytes each. */
+	private MappedByteBuffer[] maps = new MappedByteBuffer[0];
+	private long length;
+
+	/** The line index, or null while it is being built. */
+	private LineIndex index;
+
+	/** Incremented whenever the file is mapped anew. */
+	private int generation;
+
+	/** Buffer for decoding lines, used while painting. */
+	private final byte[] lineBuffer = new byte[MAX_LINE_BYTES];
+
+	/** Line where the selection started, or -1 if there is none. */
+	private int selectionAnchor = -1;
+
+	/** Line where the selection ends, which may be before its anchor. */
+	private int selectionLead = -1;
+
+	/**
+	 * Creates a view of the given file, and starts indexing it.
+	 *
+	 * @throws IOException If the file cannot be mapped.
+	 */
+	MappedTextView(final Path path, final ThreadService threadService)
+		throws IOException
+	{
+		this.path = path;
+		this.threadService = threadService;
+		setFont(new Font(Font.MONOSPACED, Font.PLAIN, UIManager.getFont(
+			"TextArea.font").getSize()));
+		setBackground(UIManager.getColor("TextArea.background"));
+		setForeground(UIManager.getColor("TextArea.foreground"));
+		setOpaque(true);
+		setFocusable(true);
+		setAutoscrolls(true);
+		final MouseAdapter mouse = new MouseAdapter() {
+
+			@Override
+			public void mousePressed(final MouseEvent e) {
+				requestFocusInWindow();
+				if (index == null) return;
+				final int line = lineAt(e.getY());
+				if (!e.isShiftDown() || selectionAnchor < 0) selectionAnchor = line;
+				selectionLead = line;
+				repaint();
+			}
+
+			@Override
+			public void mouseDragged(final MouseEvent e) {
+				if (selectionAnchor < 0) return;
+				selectionLead = lineAt(e.getY());
+				scrollRectToVisible(new Rectangle(e.getX(), e.getY(), 1, 1));
+				repaint();
+			}
+		};
+		addMouseListener(mouse);
+		addMouseMotionListener(mouse);
+		final int mask = Toolkit.getDefaultToolkit().getMenuShortcutKeyMask();
+		getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_C, mask), "copy");
+		getActionMap().put("copy", new AbstractAction() {
+
+			@Override
+			public void actionPerformed(final ActionEvent e) {
+				copy();
+			}
+		});
+		getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_A, mask),
+			"selectAll");
+		getActionMap().put("selectAll", new AbstractAction() {
+
+			@Override
+			public void actionPerformed(final ActionEvent e) {
+				selectAll();
+			}
+		});
+		reload();
+	}
+
+	// -- MappedTextView methods --
+
+	/**
+	 * Maps the file again, after it grew, and indexes it in the background.
+	 * Until then, the previous index is used. Only the bytes after those
+	 * indexed before are scanned, since they are taken to be unchanged, unless
+	 * the file shrank.
+	 *
+	 * @throws IOException If the file cannot be mapped.
+	 */
+	void reload() throws IOException {
+		final LineIndex previous = index;
+		final long oldLength = length;
+		try (final FileChannel channel = FileChannel.open(path,
+			StandardOpenOption.READ))
+		{
+			// NB: Mappings stay valid after the channel is closed.
+			length = channel.size();
+			// NB: The regions which were mapped whole before are mapped still.
+			final int kept = length < oldLength ? 0 : (int) (oldLength / MAP_SIZE);
+			final MappedByteBuffer[] old = maps;
+			maps = new MappedByteBuffer[(int) ((length + MAP_SIZE - 1) / MAP_SIZE)];
+			for (int i = 0; i < maps.length; i++) {
+				if (i < kept) {
+					maps[i] = old[i];
+					continue;
+				}
+				final long start = (long) i * MAP_SIZE;
+				maps[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(
+					MAP_SIZE, length - start));
+			}
+		}
+		final int gen = ++generation;
+		final MappedByteBuffer[] m = maps;
+		final long len = length;
+		threadService.run(() -> {
+			final LineIndex newIndex = LineIndex.build(m, len, previous);
+			threadService.queue(() -> {
+				if (gen != generation) return;
+				index = newIndex;
+				if (selectionAnchor >= index.lineCount) clearSelection();
+				else if (selectionLead >= index.lineCount) {
+					selectionLead = index.lineCount - 1;
+				}
+				revalidate();
+				repaint();
+			});
+		});
+	}
+
+	/** Gets the number of lines, or -1 if the file is not indexed yet. */
+	int getLineCount() {
+		return index == null ? -1 : index.lineCount;
+	}
+
+	/** Scrolls to the given line, counting from zero. */
+	void goToLine(final int line) {
+		final int lineHeight = getFontMetrics(getFont()).getHeight();
+		final Rectangle visible = getVisibleRect();
+		final long top = MARGIN + (long) line * lineHeight;
+		final int y = (int) Math.max(0, Math.min(getHeight() - visible.height,
+			toView(top, visible.height)));
+		scrollRectToVisible(new Rectangle(visible.x, y, visible.width,
+			visible.height));
+	}
+
+	/** Gets the selected lines, as first and last line, or null if none. */
+	int[] getSelectedLines() {
+		if (selectionAnchor < 0) return null;
+		return new int[] { Math.min(selectionAnchor, selectionLead), Math.max(
+			selectionAnchor, selectionLead) };
+	}
+
+	/** Selects all lines, once the file is indexed. */
+	void selectAll() {
+		if (index == null || index.lineCount == 0) return;
+		selectionAnchor = 0;
+		selectionLead = index.lineCount - 1;
+		repaint();
+	}
+
+	void clearSelection() {
+		selectionAnchor = selectionLead = -1;
+		repaint();
+	}
+
+	/**
+	 * Copies the selected lines to the system clipboard, in the background. At
+	 * most {@link #MAX_COPY_BYTES} bytes are copied, up to the last whole line.
+	 */
+	void copy() {
+		final int[] lines = getSelectedLines();
+		if (lines == null) return;
+		final long start = lineStart(lines[0]);
+		long end = Math.min(length, nextLine(lineStart(lines[1])) - 1);
+		if (end > start && get(end - 1) == '\r') end--;
+		final long last = end;
+		final MappedByteBuffer[] m = maps;
+		threadService.run(() -> {
+			final String text = text(m, start, last);
+			threadService.queue(() -> Toolkit.getDefaultToolkit()
+				.getSystemClipboard().setContents(new StringSelection(text), null));
+		});
+	}
+
+	// -- Component methods --
+
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		// NB: A scaled view does not move by as many pixels as it scrolls, so it
+		// must be painted anew rather than blitted.
+		if (getParent() instanceof JViewport) {
+			((JViewport) getParent()).setScrollMode(JViewport.SIMPLE_SCROLL_MODE);
+		}
+	}
+
+	@Override
+	public Dimension getPreferredSize() {
+		final FontMetrics fm = getFontMetrics(getFont());
+		if (index == null) return new Dimension(0, fm.getHeight() + 2 * MARGIN);
+		final int columns = Math.min(index.maxLineBytes, MAX_LINE_BYTES);
+		return new Dimension(columns * fm.charWidth('m') + 2 * MARGIN, (int) Math
+			.min(MAX_HEIGHT, fullHeight()));
+	}
+
+	@Override
+	protected void paintComponent(final Graphics g) {
+		final Rectangle clip = g.getClipBounds();
+		g.setColor(getBackground());
+		g.fillRect(clip.x, clip.y, clip.width, clip.height);
+		g.setColor(getForeground());
+		g.setFont(getFont());
+		final FontMetrics fm = g.getFontMetrics();
+		final int lineHeight = fm.getHeight();
+		if (index == null) {
+			g.drawString("Indexing\u2026", MARGIN, MARGIN + fm.getAscent());
+			return;
+		}
+		// NB: The offset from view to file coordinates, which is zero unless the
+		// file is taller than the view.
+		final Rectangle visible = getVisibleRect();
+		final long offset = toFile(visible.y, visible.height) - visible.y;
+		final int first = (int) Math.max(0, (clip.y + offset - MARGIN) /
+			lineHeight);
+		final int last = (int) Math.min(index.lineCount - 1, (clip.y +
+			clip.height + offset - MARGIN) / lineHeight);
+		final int[] selected = getSelectedLines();
+		long pos = lineStart(first);
+		for (int line = first; line <= last && pos < length; line++) {
+			final int top = (int) (MARGIN + (long) line * lineHeight - offset);
+			final int y = top + fm.getAscent();
+			final boolean isSelected = selected != null && line >= selected[0] &&
+				line <= selected[1];
+			if (isSelected) {
+				g.setColor(UIManager.getColor("TextArea.selectionBackground"));
+				g.fillRect(clip.x, top, clip.width, lineHeight);
+				g.setColor(UIManager.getColor("TextArea.selectionForeground"));
+			}
+			int n = 0;
+			long p = pos;
+			while (p < length && n < lineBuffer.length) {
+				final byte b = get(p);
+				if (b == '\n') break;
+				lineBuffer[n++] = b;
+				p++;
+			}
+			if (n > 0 && lineBuffer[n - 1] == '\r') n--;
+			g.drawString(new String(lineBuffer, 0, n, StandardCharsets.UTF_8),
+				MARGIN, y);
+			if (isSelected) g.setColor(getForeground());
+			pos = nextLine(p);
+		}
+	}
+
+	// -- Scrollable methods --
+
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		return new Dimension(600, 500);
+	}
+
+	@Override
+	public int getScrollableUnitIncrement(final Rectangle visibleRect,
+		final int orientation, final int direction)
+	{
+		final FontMetrics fm = getFontMetrics(getFont());
+		if (orientation != SwingConstants.VERTICAL) return fm.charWidth('m');
+		// NB: In a scaled view, a line is fewer pixels high.
+		final long height = Math.min(MAX_HEIGHT, fullHeight());
+		return (int) Math.max(1, fm.getHeight() * height / fullHeight());
+	}
+
+	@Override
+	public int getScrollableBlockIncrement(final Rectangle visibleRect,
+		final int orientation, final int direction)
+	{
+		return orientation == SwingConstants.VERTICAL ? visibleRect.height
+			: visibleRect.width;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return false;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return false;
+	}
+
+	// -- Helper methods --
+
+	/** Gets the height of all lines, which may exceed that of the view. */
+	private long fullHeight() {
+		final int lineHeight = getFontMetrics(getFont()).getHeight();
+		final int lines = index == null ? 1 : index.lineCount;
+		return (long) lines * lineHeight + 2 * MARGIN;
+	}
+
+	/**
+	 * Converts the top of a visible area of the given height from view to file
+	 * coordinates. Unless the file is taller than the view, the two are the
+	 * same; otherwise, the scroll range of the view is scaled to that of the
+	 * file.
+	 */
+	private long toFile(final int y, final int visibleHeight) {
+		final long full = fullHeight();
+		if (full <= MAX_HEIGHT) return y;
+		final long range = MAX_HEIGHT - visibleHeight;
+		return range <= 0 ? y : (long) ((double) y * (full - visibleHeight) /
+			range);
+	}
+
+	/** Converts the top of a visible area from file to view coordinates. */
+	private long toView(final long y, final int visibleHeight) {
+		final long full = fullHeight();
+		if (full <= MAX_HEIGHT) return y;
+		final long range = full - visibleHeight;
+		return range <= 0 ? y : (long) ((double) y * (MAX_HEIGHT -
+			visibleHeight) / range);
+	}
+
+	/** Gets the line at the given y coordinate of the view. */
+	private int lineAt(final int y) {
+		final Rectangle visible = getVisibleRect();
+		final long fileY = y + toFile(visible.y, visible.height) - visible.y;
+		final int lineHeight = getFontMetrics(getFont()).getHeight();
+		final long line = (fileY - MARGIN) / lineHeight;
+		return (int) Math.max(0, Math.min(index.lineCount - 1, line));
+	}
+
+	/**
+	 * Decodes the given bytes of the mapped file, up to the last line ending
+	 * within {@link #MAX_COPY_BYTES} bytes.
+	 */
+	private static String text(final MappedByteBuffer[] maps, final long start,
+		long end)
+	{
+		if (end - start > MAX_COPY_BYTES) {
+			end = start + MAX_COPY_BYTES;
+			for (long p = end - 1; p > start; p--) {
+				if (get(maps, p) == '\n') {
+					end = p;
+					break;
+				}
+			}
+		}
+		final byte[] bytes = new byte[(int) (end - start)];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = get(maps, start + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static byte get(final MappedByteBuffer[] maps, final long pos) {
+		return maps[(int) (pos / MAP_SIZE)].get((int) (pos % MAP_SIZE));
+	}
+
+	private byte get(final long pos) {
+		return get(maps, pos);
+	}
+
+	/** Gets the offset after the newline at or after the given offset. */
+	private long nextLine(long pos) {
+		while (pos < length && get(pos) != '\n') {
+			pos++;
+		}
+		return pos + 1;
+	}
+
+	/** Gets the offset of the given line, from the nearest indexed line. */
+	private long lineStart(final int line) {
+		long pos = index.offsets[line / INDEX_SPACING];
+		for (int i = line % INDEX_SPACING; i > 0; i--) {
+			pos = nextLine(pos);
+		}
+		return pos;
+	}
+
+	// -- Helper classes --
+
+	/** Sparse index of the offsets of the lines of a mapped file. */
+	static class LineIndex {
+
+		/** Offsets of every {@link #INDEX_SPACING}th line. */
+		final long[] offsets;
+
+		final int lineCount;
+
+		/** Number of bytes of the longest line. */
+		final int maxLineBytes;
+
+		/** Number of bytes indexed. */
+		private final long length;
+
+		/** Number of newlines within the indexed bytes. */
+		private final long newlines;
+
+		private LineIndex(final long[] offsets, final int lineCount,
+			final int maxLineBytes, final long length, final long newlines)
+		{
+			this.offsets = offsets;
+			this.lineCount = lineCount;
+			this.maxLineBytes = maxLineBytes;
+			this.length = length;
+			this.newlines = newlines;
+		}
+
+		/**
+		 * Indexes the given mapped regions. Each chunk is scanned twice in
+		 * parallel: once to count its newlines, and once to record the offsets of
+		 * the indexed lines, now that their numbers are known.
+		 *
+		 * @param previous An index of the first bytes of the same regions, which
+		 *          is extended by scanning only the bytes after them; or null to
+		 *          scan all of them.
+		 */
+		static LineIndex build(final MappedByteBuffer[] maps, final long length,
+			final LineIndex previous)
+		{
+			final boolean extend = previous != null && previous.length <= length;
+			final long start = extend ? previous.length : 0;
+			// NB: Chunks stay aligned to the file, so none spans two regions.
+			final int first = (int) (start / SCAN_SIZE);
+			final int chunks = (int) ((length + SCAN_SIZE - 1) / SCAN_SIZE) - first;
+			final int[] counts = new int[Math.max(0, chunks)];
+			final int[] maxLengths = new int[counts.length];
+			IntStream.range(0, counts.length).parallel().forEach(c -> {
+				final long base = (long) (first + c) * SCAN_SIZE;
+				final MappedByteBuffer map = maps[(int) (base / MAP_SIZE)];
+				final int offset = (int) (base % MAP_SIZE);
+				final int from = offset + (int) (Math.max(base, start) - base);
+				final int to = (int) Math.min(offset + SCAN_SIZE, length - base +
+					offset);
+				int count = 0, max = 0, lineStart = from;
+				for (int i = from; i < to; i++) {
+					if (map.get(i) != '\n') continue;
+					count++;
+					max = Math.max(max, i - lineStart);
+					lineStart = i + 1;
+				}
+				counts[c] = count;
+				// NB: Lines spanning chunks are only measured in part.
+				maxLengths[c] = Math.max(max, to - lineStart);
+			});
+
+			final long[] before = new long[counts.length];
+			long total = extend ? previous.newlines : 0;
+			int maxLineBytes = extend ? previous.maxLineBytes : 0;
+			for (int c = 0; c < counts.length; c++) {
+				before[c] = total;
+				total += counts[c];
+				maxLineBytes = Math.max(maxLineBytes, maxLengths[c]);
+			}
+			final boolean trailingNewline = length > 0 && maps[maps.length - 1]
+				.get((int) ((length - 1) % MAP_SIZE)) == '\n';
+			final long lines = length == 0 ? 0 : trailingNewline ? total : total + 1;
+			final int lineCount = (int) Math.min(Integer.MAX_VALUE, lines);
+
+			final int size = Math.max(1, (lineCount + INDEX_SPACING - 1) /
+				INDEX_SPACING);
+			// NB: The offsets of the lines indexed before are known already.
+			final long[] offsets = extend ? Arrays.copyOf(previous.offsets, Math.max(
+				size, previous.offsets.length)) : new long[size];
+			IntStream.range(0, counts.length).parallel().forEach(c -> {
+				final long base = (long) (first + c) * SCAN_SIZE;
+				final MappedByteBuffer map = maps[(int) (base / MAP_SIZE)];
+				final int offset = (int) (base % MAP_SIZE);
+				final int from = offset + (int) (Math.max(base, start) - base);
+				final int to = (int) Math.min(offset + SCAN_SIZE, length - base +
+					offset);
+				// NB: The line after the n-th newline is line n.
+				long line = before[c];
+				for (int i = from; i < to; i++) {
+					if (map.get(i) != '\n') continue;
+					line++;
+					if (line % INDEX_SPACING != 0) continue;
+					final long k = line / INDEX_SPACING;
+					if (k < offsets.length) offsets[(int) k] = base + i - offset + 1;
+				}
+			});
+			return new LineIndex(offsets, lineCount, maxLineBytes, length, total);
+		}
+	}
+}
@@ -31,19 +31,40 @@ package org.scijava.ui.swing.viewer.text;
 
 import java.awt.Dimension;
 import java.awt.Font;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+import javax.swing.AbstractAction;
 import javax.swing.JEditorPane;
+import javax.swing.JOptionPane;
 import javax.swing.JScrollPane;
+import javax.swing.KeyStroke;
 import javax.swing.event.HyperlinkEvent;
 import javax.swing.event.HyperlinkListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
 
 import org.scijava.app.StatusService;
 import org.scijava.display.TextDisplay;
 import org.scijava.log.LogService;
 import org.scijava.platform.PlatformService;
 import org.scijava.plugin.Parameter;
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.swing.HTMLDocumentLoader;
+import org.scijava.ui.swing.text.CompactDocuments;
 import org.scijava.ui.viewer.DisplayWindow;
 import org.scijava.ui.viewer.text.TextDisplayPanel;
 
@@ -57,10 +78,49 @@ public class SwingTextDisplayPanel extends JScrollPane implements
 	TextDisplayPanel, HyperlinkListener
 {
 
+	/**
+	 * Number of characters from which on plain text is written to a temporary
+	 * file and shown memory-mapped, instead of being kept in a document.
+	 */
+	private static final long MAPPED_THRESHOLD = 1 << 24;
+
+	/** Name of the {@link ThreadService} queue which writes the file. */
+	private static final String SPILL_QUEUE = "text-display-spill";
+
 	private final DisplayWindow window;
 	private final TextDisplay display;
 	private final JEditorPane textArea;
 
+	/**
+	 * The lines of the display shown in the text area, unless it shows HTML.
+	 * Only references are kept, to detect which lines were appended.
+	 */
+	private final List<Object> renderedLines = new ArrayList<>();
+
+	/** Whether the text area shows HTML. */
+	private boolean html;
+
+	/** Number of characters of the rendered lines, including newlines. */
+	private long renderedChars;
+
+	/**
+	 * Whether the text is shown from a temporary file by {@link #mappedView},
+	 * rather than by the text area.
+	 */
+	private boolean mapped;
+
+	/** The view of the temporary file, or null until it is written. */
+	private MappedTextView mappedView;
+
+	/** The temporary file, accessed on the {@link #SPILL_QUEUE} only. */
+	private File spillFile;
+
+	/** Incremented whenever pending writes to the file become obsolete. */
+	private volatile int spillGeneration;
+
+	@Parameter
+	private ThreadService threadService;
+
 	@Parameter
 	private StatusService statusService;
 
@@ -83,6 +143,28 @@ public class SwingTextDisplayPanel extends JScrollPane implements
 		textArea.setFont(font);
 		textArea.addHyperlinkListener(this);
 		setViewportView(textArea);
+
+		// NB: A headless toolkit has no menu shortcut key.
+		if (!GraphicsEnvironment.isHeadless()) {
+			final int mask = Toolkit.getDefaultToolkit().getMenuShortcutKeyMask();
+			getInputMap(WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(KeyStroke
+				.getKeyStroke(KeyEvent.VK_L, mask), "goToLine");
+		}
+		getActionMap().put("goToLine", new AbstractAction() {
+
+			@Override
+			public void actionPerformed(final ActionEvent e) {
+				final String line = JOptionPane.showInputDialog(
+					SwingTextDisplayPanel.this, "Go to line:");
+				if (line == null) return;
+				try {
+					goToLine(Integer.parseInt(line.trim()) - 1);
+				}
+				catch (final NumberFormatException exc) {
+					// NB: Ignore invalid line numbers.
+				}
+			}
+		});
 		window.setContent(this);
 	}
 
@@ -123,19 +205,70 @@ public class SwingTextDisplayPanel extends JScrollPane implements
 	@Override
 	public void redraw() {
 		// The strategy is to compare the lines in the text area against
-		// those in the display. We clear the control if we find a mismatch.
+		// those in the display. If lines were only appended, we append them to
+		// the document; otherwise, we rebuild it.
+
+		final int lineCount = display.size();
+		final boolean htmlNow = lineCount > 0 && display.get(0).toString()
+			.startsWith("<html>");
+		if (!html && !htmlNow && !renderedLines.isEmpty() && isRendered(
+			renderedLines.size()))
+		{
+			appendLines(lineCount);
+			return;
+		}
 
-		final StringBuffer targetText = new StringBuffer();
+		// NB: Any HTML still being parsed is obsolete.
+		HTMLDocumentLoader.cancel(textArea);
+		renderedLines.clear();
+		renderedChars = 0;
+		html = htmlNow;
+		if (!html) {
+			for (final Object line : display) {
+				renderedLines.add(line);
+				renderedChars += line.toString().length() + 1;
+			}
+			if (renderedChars >= MAPPED_THRESHOLD) {
+				spill(new ArrayList<>(renderedLines), true);
+				return;
+			}
+		}
+		unmap();
+
+		final StringBuilder text = new StringBuilder();
 		for (final Object line : display) {
-			targetText.append(line.toString() + "\n");
+			text.append(line).append('\n');
+		}
+		if (html) {
+			textArea.setContentType("text/html");
+			HTMLDocumentLoader.load(textArea, text.toString(), threadService,
+				() -> textArea.setCaretPosition(0));
+			return;
 		}
-		final String text = targetText.toString();
-		final boolean html = text.startsWith("<html>");
-		textArea.setContentType(html ? "text/html" : "text/plain");
-		textArea.setText(text);
+		textArea.setContentType("text/plain");
+		final Document doc = CompactDocuments.newPlainDocument();
+		insert(doc, text);
+		textArea.setDocument(doc);
 		textArea.setCaretPosition(0);
 	}
 
+	// -- SwingTextDisplayPanel methods --
+
+	/**
+	 * Scrolls to the given line, counting from zero. HTML text cannot be
+	 * scrolled by line.
+	 */
+	public void goToLine(final int line) {
+		if (mappedView != null) {
+			mappedView.goToLine(line);
+			return;
+		}
+		if (html) return;
+		final Element root = textArea.getDocument().getDefaultRootElement();
+		final int index = Math.max(0, Math.min(line, root.getElementCount() - 1));
+		textArea.setCaretPosition(root.getElement(index).getStartOffset());
+	}
+
 	// -- HyperlinkListener methods --
 
 	@Override
@@ -153,6 +286,124 @@ public class SwingTextDisplayPanel extends JScrollPane implements
 
 	// -- Helper methods --
 
+	/**
+	 * Checks whether the display still starts with the given number of rendered
+	 * lines. Every line is compared, first by reference, so that a line changed
+	 * in place is noticed; this takes time in proportion to the number of
+	 * lines, but far less than rendering them again.
+	 */
+	private boolean isRendered(final int count) {
+		if (display.size() < count) return false;
+		for (int i = 0; i < count; i++) {
+			final Object line = display.get(i);
+			final Object rendered = renderedLines.get(i);
+			if (line != rendered && !line.equals(rendered)) return false;
+		}
+		return true;
+	}
+
+	/** Appends the lines of the display which were not rendered yet. */
+	private void appendLines(final int lineCount) {
+		final int first = renderedLines.size();
+		if (lineCount == first) return;
+		final StringBuilder text = mapped ? null : new StringBuilder();
+		for (int i = first; i < lineCount; i++) {
+			final Object line = display.get(i);
+			renderedLines.add(line);
+			renderedChars += line.toString().length() + 1;
+			if (text != null) text.append(line).append('\n');
+		}
+		if (mapped) spill(new ArrayList<>(renderedLines.subList(first, lineCount)),
+			false);
+		else if (renderedChars >= MAPPED_THRESHOLD) {
+			spill(new ArrayList<>(renderedLines), true);
+		}
+		else insert(textArea.getDocument(), text);
+	}
+
+	/**
+	 * Writes lines to the temporary file in the background, and then shows it
+	 * in the mapped view.
+	 *
+	 * @param lines The lines to write; a snapshot, since the display may change.
+	 * @param rewrite Whether to start a new file, rather than append to it.
+	 */
+	private void spill(final List<Object> lines, final boolean rewrite) {
+		if (rewrite) {
+			mapped = true;
+			mappedView = null;
+			textArea.setContentType("text/plain");
+			textArea.setText("Loading " + lines.size() + " lines\u2026");
+			setViewportView(textArea);
+		}
+		final int gen = rewrite ? ++spillGeneration : spillGeneration;
+		threadService.queue(SPILL_QUEUE, () -> {
+			if (gen != spillGeneration) return;
+			try {
+				if (rewrite) {
+					deleteSpillFile();
+					spillFile = File.createTempFile("text-display-", ".txt");
+					spillFile.deleteOnExit();
+				}
+				final File file = spillFile;
+				try (final Writer out = new BufferedWriter(new OutputStreamWriter(
+					new FileOutputStream(file, !rewrite), StandardCharsets.UTF_8)))
+				{
+					for (final Object line : lines) {
+						out.write(line.toString());
+						out.write('\n');
+					}
+				}
+				threadService.queue(() -> showSpilled(gen, file, rewrite));
+			}
+			catch (final IOException exc) {
+				if (log != null) log.error("Could not write the text to a file", exc);
+			}
+		});
+	}
+
+	/** Shows the written file in the mapped view. */
+	private void showSpilled(final int gen, final File file,
+		final boolean rewrite)
+	{
+		if (gen != spillGeneration) return;
+		try {
+			if (rewrite || mappedView == null) {
+				mappedView = new MappedTextView(file.toPath(), threadService);
+				setViewportView(mappedView);
+			}
+			else mappedView.reload();
+		}
+		catch (final IOException exc) {
+			if (log != null) log.error("Could not map " + file, exc);
+		}
+	}
+
+	/** Switches back from the mapped view to the text area. */
+	private void unmap() {
+		if (!mapped) return;
+		mapped = false;
+		mappedView = null;
+		spillGeneration++;
+		setViewportView(textArea);
+		threadService.queue(SPILL_QUEUE, this::deleteSpillFile);
+	}
+
+	private void deleteSpillFile() {
+		// NB: A file still mapped cannot be deleted on Windows; it is deleted
+		// on exit instead.
+		if (spillFile != null && spillFile.delete()) spillFile = null;
+	}
+
+	private void insert(final Document doc, final CharSequence text) {
+		try {
+			doc.insertString(doc.getLength(), text.toString(), null);
+		}
+		catch (final BadLocationException exc) {
+			throw new RuntimeException(exc);
+		}
+	}
+
 	/** Called when a hyperlink is activated (e.g., clicked). */
 	private void hyperlinkActivate(final URL url) {
 		if (platformService == null) return;
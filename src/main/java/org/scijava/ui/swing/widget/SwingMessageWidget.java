@@ -42,6 +42,8 @@ import org.scijava.log.LogService;
 import org.scijava.platform.PlatformService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.swing.HTMLDocumentLoader;
 import org.scijava.widget.InputWidget;
 import org.scijava.widget.MessageWidget;
 import org.scijava.widget.WidgetModel;
@@ -61,8 +63,14 @@ public class SwingMessageWidget extends SwingInputWidget<String> implements
 	@Parameter
 	private LogService logService;
 
+	@Parameter
+	private ThreadService threadService;
+
 	private JEditorPane pane;
 
+	/** The text last given to the pane. */
+	private String shownText;
+
 	// -- InputWidget methods --
 
 	@Override
@@ -89,7 +97,8 @@ public class SwingMessageWidget extends SwingInputWidget<String> implements
 
 		final String text = model.getText();
 
-		pane = new JEditorPane("text/html", text);
+		pane = new JEditorPane();
+		pane.setContentType("text/html");
 
 		// NB: use format (font etc.) from parent component
 		pane.putClientProperty(JEditorPane.HONOR_DISPLAY_PROPERTIES, Boolean.TRUE);
@@ -111,6 +120,8 @@ public class SwingMessageWidget extends SwingInputWidget<String> implements
 			}
 		});
 		getComponent().add(pane);
+		shownText = text;
+		HTMLDocumentLoader.update(pane, text, threadService, null);
 	}
 
 	// -- Typed methods --
@@ -126,23 +137,13 @@ public class SwingMessageWidget extends SwingInputWidget<String> implements
 	public void doRefresh() {
 		// maybe dialog owner changed message content
 		String text = get().getText();
-		if (!Objects.equals(htmlify(text), pane.getText())) {
-			// NB: Only change the text if it actually changed.
-			// This avoids triggering a scrollRectToVisible-type behavior where the
-			// containing scroll pane's view gets adjusted to include this text area.
-			// Not sure if it's a bug, strictly speaking, but it causes undesirable
-			// sudden scrolling, as reported in scijava/scijava-ui-swing#74.
-			pane.setText(text);
-		}
-	}
-
-	// HACK: Normalize text to final HTML representation
-	// by feeding it through a dummy JEditorPane instance.
-	private JEditorPane dummy;
-	private String htmlify(String text) {
-		if (text == null) return null;
-		if (dummy == null) dummy = new JEditorPane("text/html", "");
-		dummy.setText(text);
-		return dummy.getText();
+		if (Objects.equals(text, shownText)) return;
+		// NB: Only change the text if it actually changed.
+		// This avoids triggering a scrollRectToVisible-type behavior where the
+		// containing scroll pane's view gets adjusted to include this text area.
+		// Not sure if it's a bug, strictly speaking, but it causes undesirable
+		// sudden scrolling, as reported in scijava/scijava-ui-swing#74.
+		HTMLDocumentLoader.update(pane, text, threadService, null);
+		shownText = text;
 	}
 }
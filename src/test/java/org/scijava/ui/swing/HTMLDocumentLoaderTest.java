@@ -0,0 +1,169 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JEditorPane;
+import javax.swing.SwingUtilities;
+import javax.swing.text.Document;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Tests {@link HTMLDocumentLoader}.
+ */
+public class HTMLDocumentLoaderTest {
+
+	private Context context;
+	private ThreadService threadService;
+	private ExecutorService executor;
+	private JEditorPane pane;
+
+	@Before
+	public void setUp() throws Exception {
+		context = new Context(ThreadService.class);
+		threadService = context.service(ThreadService.class);
+		// NB: A single thread parses the HTML in the order it is given.
+		executor = Executors.newSingleThreadExecutor();
+		threadService.setExecutorService(executor);
+		SwingUtilities.invokeAndWait(() -> {
+			pane = new JEditorPane();
+			pane.setContentType("text/html");
+		});
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testUpdateUnchanged() throws Exception {
+		final AtomicInteger loads = new AtomicInteger();
+		final Document[] docs = new Document[3];
+		SwingUtilities.invokeAndWait(() -> {
+			HTMLDocumentLoader.update(pane, "<html><body><p>Hi</p></body></html>",
+				null, loads::incrementAndGet);
+			docs[0] = pane.getDocument();
+			// NB: The same HTML, written differently.
+			HTMLDocumentLoader.update(pane,
+				"<html>\n<body>\n<p>\nHi\n</p>\n</body>\n</html>", null,
+				loads::incrementAndGet);
+			docs[1] = pane.getDocument();
+			HTMLDocumentLoader.update(pane, "<html><body><p>Ho</p></body></html>",
+				null, loads::incrementAndGet);
+			docs[2] = pane.getDocument();
+		});
+		assertSame(docs[0], docs[1]);
+		assertNotSame(docs[1], docs[2]);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testUpdateUnchangedInBackground() throws Exception {
+		final String html = longHTML("Hi");
+		final AtomicInteger loads = new AtomicInteger();
+		SwingUtilities.invokeAndWait(() -> HTMLDocumentLoader.update(pane, html,
+			threadService, loads::incrementAndGet));
+		awaitParsed();
+		final Document doc = document();
+		SwingUtilities.invokeAndWait(() -> HTMLDocumentLoader.update(pane, html
+			.replace("<p>", "\n<p>"), threadService, loads::incrementAndGet));
+		awaitParsed();
+		assertSame(doc, document());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testNewerLoadWins() throws Exception {
+		final CountDownLatch gate = new CountDownLatch(1);
+		final AtomicInteger olderLoads = new AtomicInteger();
+		// NB: Holds back parsing the older HTML until the newer one is shown.
+		executor.submit(() -> {
+			gate.await();
+			return null;
+		});
+		SwingUtilities.invokeAndWait(() -> {
+			HTMLDocumentLoader.load(pane, longHTML("older"), threadService,
+				olderLoads::incrementAndGet);
+			HTMLDocumentLoader.load(pane, "<html><body>newer</body></html>",
+				threadService, null);
+		});
+		assertTrue(text().contains("newer"));
+		gate.countDown();
+		awaitParsed();
+		assertTrue(text().contains("newer"));
+		assertEquals(0, olderLoads.get());
+	}
+
+	// -- Helper methods --
+
+	/** Creates HTML too long to be parsed on the calling thread. */
+	private static String longHTML(final String text) {
+		final StringBuilder html = new StringBuilder("<html><body>");
+		while (html.length() <= HTMLDocumentLoader.SYNC_THRESHOLD) {
+			html.append("<p>").append(text).append("</p>");
+		}
+		return html.append("</body></html>").toString();
+	}
+
+	/** Waits until all HTML given so far is parsed, and shown if current. */
+	private void awaitParsed() throws Exception {
+		executor.submit(() -> {}).get();
+		// NB: Parsed HTML is shown on the event dispatch thread.
+		SwingUtilities.invokeAndWait(() -> {});
+	}
+
+	private Document document() throws Exception {
+		final Document[] doc = new Document[1];
+		SwingUtilities.invokeAndWait(() -> doc[0] = pane.getDocument());
+		return doc[0];
+	}
+
+	private String text() throws Exception {
+		final String[] text = new String[1];
+		SwingUtilities.invokeAndWait(() -> text[0] = pane.getText());
+		return text[0];
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.scijava.ui.swing.console;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.event.MouseEvent;
+
+import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
+import javax.swing.TransferHandler;
+import javax.swing.text.Document;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.console.OutputEvent;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Tests {@link ConsolePanel}.
+ */
+public class ConsolePanelTest {
+
+	private Context context;
+	private ConsolePanel panel;
+
+	@Before
+	public void setUp() throws Exception {
+		context = new Context(ThreadService.class);
+		SwingUtilities.invokeAndWait(() -> {
+			panel = new ConsolePanel(context);
+			panel.setMaxLineLength(10);
+		});
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testShortLines() throws Exception {
+		output("short\n", "0123456789\n");
+		assertEquals("short\n0123456789\n", shown());
+		assertEquals("short\n0123456789\n", onEDT(panel::getText));
+	}
+
+	@Test
+	public void testTruncation() throws Exception {
+		output("0123456789abc", "def\n", "next\n");
+		assertEquals("0123456789 \u2026 [6 more characters, click to expand]\n" +
+			"next\n", shown());
+		assertEquals("0123456789abcdef\nnext\n", onEDT(panel::getText));
+	}
+
+	@Test
+	public void testCopyTruncatedLine() throws Exception {
+		output("0123456789abcdef\n");
+		final Clipboard clipboard = new Clipboard("test");
+		SwingUtilities.invokeAndWait(() -> {
+			final JTextPane textPane = panel.getTextPane();
+			textPane.selectAll();
+			textPane.getTransferHandler().exportToClipboard(textPane, clipboard,
+				TransferHandler.COPY);
+		});
+		assertEquals("0123456789abcdef\n", clipboard.getData(
+			DataFlavor.stringFlavor));
+	}
+
+	@Test
+	public void testExpand() throws Exception {
+		output("0123456789abc");
+		SwingUtilities.invokeAndWait(() -> {
+			final JTextPane textPane = panel.getTextPane();
+			textPane.setSize(2000, 200);
+			try {
+				final Rectangle r = textPane.modelToView(12);
+				textPane.dispatchEvent(new MouseEvent(textPane,
+					MouseEvent.MOUSE_CLICKED, 0, 0, r.x, r.y + r.height / 2, 1, false,
+					MouseEvent.BUTTON1));
+			}
+			catch (final Exception exc) {
+				throw new RuntimeException(exc);
+			}
+		});
+		assertEquals("0123456789abc", shown());
+		// NB: Output appended to an expanded line is shown in full.
+		output("defghijklmnop\n");
+		assertEquals("0123456789abcdefghijklmnop\n", shown());
+		output("0123456789abc\n");
+		assertTrue(shown().endsWith("0123456789 \u2026 [3 more characters, " +
+			"click to expand]\n"));
+	}
+
+	// -- Helper methods --
+
+	/** Writes the given output, and waits until it is shown. */
+	private void output(final String... texts) throws Exception {
+		for (final String text : texts) {
+			panel.outputOccurred(new OutputEvent(context, OutputEvent.Source.STDOUT,
+				text, false));
+		}
+		// NB: The output is inserted on the event dispatch thread.
+		SwingUtilities.invokeAndWait(() -> {});
+		SwingUtilities.invokeAndWait(() -> {});
+	}
+
+	/** Gets the text of the document, with the expanders of truncated lines. */
+	private String shown() throws Exception {
+		return onEDT(() -> {
+			final Document doc = panel.getTextPane().getDocument();
+			try {
+				return doc.getText(0, doc.getLength());
+			}
+			catch (final Exception exc) {
+				throw new RuntimeException(exc);
+			}
+		});
+	}
+
+	private static String onEDT(final java.util.function.Supplier<String> text)
+		throws Exception
+	{
+		final String[] result = new String[1];
+		SwingUtilities.invokeAndWait(() -> result[0] = text.get());
+		return result[0];
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.console;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ConsoleRateLimiter}.
+ */
+public class ConsoleRateLimiterTest {
+
+	private long now;
+	private ConsoleRateLimiter limiter;
+	private List<String> summaries;
+
+	@Before
+	public void setUp() {
+		now = 0;
+		limiter = new ConsoleRateLimiter(() -> now);
+		limiter.setLimit(10, 20);
+		summaries = new ArrayList<>();
+	}
+
+	@Test
+	public void testBurst() {
+		assertEquals("0123456789", limiter.admit("0123456789", summaries::add));
+		assertEquals("0123456789", limiter.admit("0123456789", summaries::add));
+		assertNull(limiter.admit("x\n", summaries::add));
+		assertTrue(summaries.isEmpty());
+	}
+
+	@Test
+	public void testSummaryWhenAdmittedAgain() {
+		assertEquals("0123456789012345678\n", limiter.admit(
+			"0123456789012345678\n", summaries::add));
+		assertNull(limiter.admit("a\n", summaries::add));
+		assertNull(limiter.admit("b\n", summaries::add));
+		advanceSeconds(1);
+		assertEquals("c\n", limiter.admit("c\n", summaries::add));
+		assertEquals(1, summaries.size());
+		assertEquals("\u2026 2 lines suppressed from thread " + //
+			Thread.currentThread().getName() + "\n", summaries.get(0));
+	}
+
+	@Test
+	public void testFlushAfterQuietPeriod() {
+		assertEquals("0123456789012345678\n", limiter.admit(
+			"0123456789012345678\n", summaries::add));
+		assertNull(limiter.admit("partial", summaries::add));
+		limiter.flush(summaries::add);
+		assertTrue(summaries.isEmpty());
+		advanceSeconds(1);
+		limiter.flush(summaries::add);
+		assertEquals(1, summaries.size());
+		assertTrue(summaries.get(0).startsWith("\u2026 7 characters suppressed"));
+		limiter.flush(summaries::add);
+		assertEquals(1, summaries.size());
+	}
+
+	@Test
+	public void testPrefixOfOversizedChunk() {
+		final String text = "0123456789012345678901234\n";
+		assertEquals("01234567890123456789", limiter.admit(text, summaries::add));
+		// NB: The summary of the tail follows the admitted prefix.
+		assertTrue(summaries.isEmpty());
+		advanceSeconds(1);
+		limiter.flush(summaries::add);
+		assertEquals(1, summaries.size());
+		// NB: The prefix ended mid-line, so the summary starts a new line.
+		assertTrue(summaries.get(0).startsWith("\n\u2026 1 line suppressed"));
+	}
+
+	@Test
+	public void testEarlierSummaryBeforePrefix() {
+		assertEquals("0123456789012345678\n", limiter.admit(
+			"0123456789012345678\n", summaries::add));
+		assertNull(limiter.admit("a\n", summaries::add));
+		advanceSeconds(1);
+		assertEquals("0123456789", limiter.admit("0123456789012345\n",
+			summaries::add));
+		// NB: Only the summary of the earlier line is emitted.
+		assertEquals(1, summaries.size());
+		assertTrue(summaries.get(0).startsWith("\u2026 1 line suppressed"));
+		advanceSeconds(1);
+		limiter.flush(summaries::add);
+		assertEquals(2, summaries.size());
+		assertTrue(summaries.get(1).startsWith("\n\u2026 1 line suppressed"));
+	}
+
+	@Test
+	public void testSurrogatePairNotSplit() {
+		assertEquals("0123456789012345678", limiter.admit(
+			"0123456789012345678\ud83d\ude00", summaries::add));
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		final ConsoleRateLimiter defaultLimiter = new ConsoleRateLimiter(() -> now);
+		assertFalse(defaultLimiter.isEnabled());
+		final String text = new String(new char[1 << 20]);
+		assertEquals(text, defaultLimiter.admit(text, summaries::add));
+	}
+
+	@Test
+	public void testDisabled() {
+		limiter.setLimit(0, 0);
+		assertFalse(limiter.isEnabled());
+		for (int i = 0; i < 100; i++) {
+			assertEquals("0123456789", limiter.admit("0123456789", summaries::add));
+		}
+	}
+
+	// -- Helper methods --
+
+	private void advanceSeconds(final long seconds) {
+		now += TimeUnit.SECONDS.toNanos(seconds);
+	}
+}
@@ -29,133 +29,353 @@
 
 package org.scijava.ui.swing.console;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
-
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.concurrent.Future;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
 
 import org.scijava.Context;
-import org.scijava.thread.ThreadService;
-import org.scijava.ui.UIService;
-import org.scijava.ui.swing.sdi.SwingSDIUI;
 
 /**
- * A behavioral test and benchmark of {@link SwingConsolePane}.
+ * A repeatable throughput and latency benchmark of {@link SwingConsolePane}.
+ * <p>
+ * The benchmark does not need a visible UI, so it also runs with
+ * {@code -Djava.awt.headless=true}. For each number of producer threads, it
+ * measures:
+ * </p>
+ * <ul>
+ * <li>events per second, from the first {@code System.out.print} to the last
+ * text being inserted into the console's document;</li>
+ * <li>the end-to-end latency of each event, from {@code System.out.print} to
+ * the text being in the document;</li>
+ * <li>the occupancy of the event dispatch thread, i.e. the fraction of the
+ * wall clock time it spent dispatching events;</li>
+ * <li>the number of bytes allocated per event, by the producer threads and the
+ * event dispatch thread together;</li>
+ * <li>the maximum queue depth and the 99th percentile latency as seen by the
+ * console's own {@link ConsoleStats}.</li>
+ * </ul>
+ * <p>
+ * It also verifies that all output arrived in the document. The results are
+ * written as JSON, either to the file given as first argument or to
+ * {@code stdout}. The producer counts and the number of lines per producer can
+ * be configured with the system properties {@code benchmark.producers} (e.g.
+ * {@code 1,4,16}) and {@code benchmark.lines}.
+ * </p>
  *
  * @author Curtis Rueden
  */
 public class SwingConsolePaneBenchmark {
 
+	private static final String MARKER = "@";
+
 	// -- Main method --
 
-	/** A manual test drive of the Swing UI's console pane. */
 	public static void main(final String[] args) throws Exception {
+		final int[] producerCounts = parseInts(System.getProperty(
+			"benchmark.producers", "1,2,4,8,16"));
+		final int linesPerProducer = Integer.getInteger("benchmark.lines", 2000);
+		final int warmupLines = Integer.getInteger("benchmark.warmup", 500);
+
+		// NB: Keep a handle on the real stdout, before the console takes over.
+		final PrintStream stdout = System.out;
+
 		final Context context = new Context();
-		context.service(UIService.class).showUI();
+		final SwingConsolePane consolePane = new SwingConsolePane(context);
+		// NB: Measure the console itself; the rate limit would drop output.
+		consolePane.setRateLimit(0, 0);
+		SwingUtilities.invokeAndWait(consolePane::getComponent);
 
-		System.out.print("Hello ");
-		System.err.println("world!");
+		final EdtMonitor edtMonitor = new EdtMonitor();
+		SwingUtilities.invokeAndWait(edtMonitor::install);
 
-		final int numThreads = 50;
-		final int numOperations = 20;
+		// warm up the code paths, then measure
+		run(consolePane, edtMonitor, 2, warmupLines);
+		final List<Result> results = new ArrayList<>();
+		for (final int producers : producerCounts) {
+			results.add(run(consolePane, edtMonitor, producers, linesPerProducer));
+		}
 
-		final String[] streamLabels =
-			{ ": {ERR} iteration #", ": {OUT} iteration #" };
-		final String outLabel = streamLabels[1];
-		final String errLabel = streamLabels[0];
-		final int numStreams = streamLabels.length;
+		final String json = toJson(producerCounts, linesPerProducer, results);
+		if (args.length > 0) {
+			Files.write(Paths.get(args[0]), json.getBytes(StandardCharsets.UTF_8));
+		}
+		else stdout.println(json);
 
-		final int initialDelay = 500;
+		context.dispose();
+		System.exit(allComplete(results) ? 0 : 1);
+	}
 
-		Thread.sleep(initialDelay);
+	// -- Helper methods --
 
-		final long start = System.currentTimeMillis();
+	private static Result run(final SwingConsolePane consolePane,
+		final EdtMonitor edtMonitor, final int producers, final int lines)
+		throws Exception
+	{
+		final int events = producers * lines;
+		final Recorder recorder = new Recorder(producers, lines);
+		final Document doc = consolePane.getTextPane().getDocument();
+		SwingUtilities.invokeAndWait(() -> {
+			consolePane.clear();
+			consolePane.getStats().reset();
+			doc.addDocumentListener(recorder);
+		});
 
-		// emit a bunch of output on multiple threads concurrently
-		final ThreadService threadService = context.service(ThreadService.class);
-		final Future<?>[] f = new Future<?>[numThreads];
-		for (int t = 0; t < numThreads; t++) {
+		// emit output on multiple threads concurrently
+		final long[] producerBytes = new long[producers];
+		final CountDownLatch start = new CountDownLatch(1);
+		final Thread[] threads = new Thread[producers];
+		for (int t = 0; t < producers; t++) {
 			final int tNo = t;
-			f[t] = threadService.run(new Runnable() {
-
-				@Override
-				public void run() {
-					for (int i = 0; i < numOperations; i++) {
-						System.out.print(str(tNo, outLabel, i) + "\n");
-						System.err.print(str(tNo, errLabel, i) + "\n");
-					}
+			threads[t] = new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (final InterruptedException exc) {
+					throw new RuntimeException(exc);
 				}
-			});
+				final long bytes = allocatedBytes(Thread.currentThread());
+				for (int i = 0; i < lines; i++) {
+					System.out.print(MARKER + System.nanoTime() + " " + tNo + " " + i +
+						"\n");
+				}
+				producerBytes[tNo] = allocatedBytes(Thread.currentThread()) - bytes;
+			}, "console-benchmark-" + t);
+			threads[t].start();
 		}
 
-		// wait for all output threads to finish
-		for (int t = 0; t < numThreads; t++) {
-			f[t].get();
+		final long edtBytes = allocatedBytes(edtMonitor.edt);
+		final long edtBusy = edtMonitor.busyNanos.get();
+		final long startTime = System.nanoTime();
+		start.countDown();
+		for (final Thread thread : threads)
+			thread.join();
+
+		// wait until all output arrived in the document
+		final long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+		while (recorder.count() < events && System.nanoTime() < deadline) {
+			Thread.sleep(10);
 		}
+		SwingUtilities.invokeAndWait(() -> doc.removeDocumentListener(recorder));
+		final long endTime = recorder.lastInsert;
 
-		System.err.print("Goodbye ");
-		System.out.println("cruel world!");
-
-		final long end = System.currentTimeMillis();
-		System.out.println();
-		System.out.println("Benchmark took " + (end - start) + " ms");
-
-		// Finally, check for completeness of output.
-		// NB: We do this **also on the EDT** so that all output has flushed.
-		final String completenessMessage = "Checking for completeness of output...";
-		System.out.println();
-		System.out.println(completenessMessage);
-		threadService.queue(() -> {
-			System.out.println();
-			final SwingSDIUI ui =
-				(SwingSDIUI) context.service(UIService.class).getVisibleUIs().get(0);
-			final JTextPane textPane = ui.getConsolePane().getTextPane();
-			final Document doc = textPane.getDocument();
-			try {
-				final String text = doc.getText(0, doc.getLength());
-				final String[] lines = text.split("\n");
-				Arrays.sort(lines);
-
-				int lineIndex = 0;
-				assertEquals("", lines[lineIndex++]);
-				assertEquals("", lines[lineIndex++]);
-				for (int t = 0; t < numThreads; t++) {
-					for (int s = 0; s < numStreams; s++) {
-						for (int i = 0; i < numOperations; i++) {
-							final String expected = str(t, streamLabels[s], i);
-							final String actual = lines[lineIndex++];
-							assertEquals(expected, actual);
-						}
-					}
-				}
-				assertTrue(lines[lineIndex++].startsWith("Benchmark took "));
-				assertEquals(completenessMessage, lines[lineIndex++]);
-				assertEquals("Goodbye cruel world!", lines[lineIndex++]);
-				assertEquals("Hello world!", lines[lineIndex++]);
-				assertEquals(lineIndex, lines.length);
+		final Result result = new Result();
+		result.producers = producers;
+		result.events = events;
+		result.complete = recorder.isComplete();
+		final double seconds = (endTime - startTime) / 1e9;
+		result.eventsPerSecond = seconds > 0 ? events / seconds : 0;
+		result.latencyMillis = recorder.percentiles(0.5, 0.9, 0.99, 1.0);
+		result.edtOccupancy = Math.min(1, (edtMonitor.busyNanos.get() - edtBusy) /
+			(double) (endTime - startTime));
+		long allocated = allocatedBytes(edtMonitor.edt) - edtBytes;
+		for (final long bytes : producerBytes)
+			allocated += bytes;
+		result.bytesPerEvent = allocated / (double) events;
+		final ConsoleStats stats = consolePane.getStats();
+		result.maxQueueDepth = stats.getMaxQueueDepth();
+		result.consoleLatencyP99Millis = stats.getLatency().getValueAtQuantile(
+			0.99) / 1e6;
+		return result;
+	}
 
-				System.out.println("Success! All output accounted for!");
+	/** Gets the bytes allocated by the given thread, or 0 if unsupported. */
+	private static long allocatedBytes(final Thread thread) {
+		final java.lang.management.ThreadMXBean bean =
+			ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)) return 0;
+		return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(
+			thread.getId());
+	}
+
+	private static boolean allComplete(final List<Result> results) {
+		for (final Result result : results)
+			if (!result.complete) return false;
+		return true;
+	}
+
+	private static int[] parseInts(final String s) {
+		return Arrays.stream(s.split(",")).map(String::trim).mapToInt(
+			Integer::parseInt).toArray();
+	}
+
+	private static String toJson(final int[] producerCounts,
+		final int linesPerProducer, final List<Result> results)
+	{
+		final StringBuilder sb = new StringBuilder();
+		sb.append("{\n");
+		sb.append("  \"benchmark\": \"SwingConsolePane\",\n");
+		sb.append("  \"javaVersion\": \"" + System.getProperty("java.version") +
+			"\",\n");
+		sb.append("  \"headless\": " + GraphicsEnvironment.isHeadless() + ",\n");
+		sb.append("  \"processors\": " + Runtime.getRuntime()
+			.availableProcessors() + ",\n");
+		sb.append("  \"linesPerProducer\": " + linesPerProducer + ",\n");
+		sb.append("  \"results\": [\n");
+		for (int i = 0; i < results.size(); i++) {
+			final Result r = results.get(i);
+			sb.append("    {");
+			sb.append("\"producers\": " + r.producers);
+			sb.append(", \"events\": " + r.events);
+			sb.append(", \"complete\": " + r.complete);
+			sb.append(", \"eventsPerSecond\": " + format(r.eventsPerSecond));
+			sb.append(", \"latencyMillis\": {\"p50\": " + format(r.latencyMillis[0]) +
+				", \"p90\": " + format(r.latencyMillis[1]) + ", \"p99\": " + format(
+					r.latencyMillis[2]) + ", \"max\": " + format(r.latencyMillis[3]) +
+				"}");
+			sb.append(", \"edtOccupancy\": " + format(r.edtOccupancy));
+			sb.append(", \"bytesPerEvent\": " + format(r.bytesPerEvent));
+			sb.append(", \"maxQueueDepth\": " + r.maxQueueDepth);
+			sb.append(", \"consoleLatencyP99Millis\": " + format(
+				r.consoleLatencyP99Millis));
+			sb.append(i < results.size() - 1 ? "},\n" : "}\n");
+		}
+		sb.append("  ]\n");
+		sb.append("}");
+		return sb.toString();
+	}
+
+	private static String format(final double value) {
+		return String.format(Locale.ROOT, "%.3f", value);
+	}
+
+	// -- Helper classes --
+
+	private static class Result {
+
+		private int producers;
+		private int events;
+		private boolean complete;
+		private double eventsPerSecond;
+		private double[] latencyMillis;
+		private double edtOccupancy;
+		private double bytesPerEvent;
+		private int maxQueueDepth;
+		private double consoleLatencyP99Millis;
+	}
+
+	/**
+	 * Records the latency of each benchmark line when it is inserted into the
+	 * document, and which lines arrived. Only used on the event dispatch thread.
+	 */
+	private static class Recorder implements DocumentListener {
+
+		private final int lines;
+		private final boolean[] seen;
+		private final long[] latencies;
+		private volatile int count;
+		private volatile long lastInsert;
+		private int duplicates;
+
+		private Recorder(final int producers, final int lines) {
+			this.lines = lines;
+			seen = new boolean[producers * lines];
+			latencies = new long[producers * lines];
+		}
+
+		private int count() {
+			return count;
+		}
+
+		private boolean isComplete() {
+			if (duplicates > 0 || count != seen.length) return false;
+			for (final boolean s : seen)
+				if (!s) return false;
+			return true;
+		}
+
+		private double[] percentiles(final double... quantiles) {
+			final long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			final double[] result = new double[quantiles.length];
+			if (sorted.length == 0) return result;
+			for (int i = 0; i < quantiles.length; i++) {
+				final int index = (int) Math.ceil(quantiles[i] * sorted.length) - 1;
+				result[i] = sorted[Math.max(index, 0)] / 1e6;
+			}
+			return result;
+		}
+
+		@Override
+		public void insertUpdate(final DocumentEvent e) {
+			final long now = System.nanoTime();
+			final String text;
+			try {
+				text = e.getDocument().getText(e.getOffset(), e.getLength());
 			}
 			catch (final BadLocationException exc) {
-				exc.printStackTrace();
+				throw new RuntimeException(exc);
 			}
-		});
+			int start = text.indexOf(MARKER);
+			while (start >= 0) {
+				// NB: The line break may be inserted separately.
+				int end = text.indexOf('\n', start);
+				if (end < 0) end = text.length();
+				final String[] fields = text.substring(start + 1, end).split(" ");
+				final int index = Integer.parseInt(fields[1]) * lines + Integer
+					.parseInt(fields[2]);
+				if (index < seen.length) {
+					if (seen[index]) duplicates++;
+					seen[index] = true;
+					latencies[count] = now - Long.parseLong(fields[0]);
+					lastInsert = now;
+					count++;
+				}
+				start = text.indexOf(MARKER, end);
+			}
+		}
 
+		@Override
+		public void removeUpdate(final DocumentEvent e) {
+			// NB: No action needed.
+		}
+
+		@Override
+		public void changedUpdate(final DocumentEvent e) {
+			// NB: No action needed.
+		}
 	}
 
-	// - Helper methods --
+	/** Measures the time the event dispatch thread spends dispatching events. */
+	private static class EdtMonitor extends EventQueue {
 
-	private static String str(final int t, final String separator, final int i) {
-		return pad(t) + separator + pad(i);
-	}
+		private final AtomicLong busyNanos = new AtomicLong();
+		private Thread edt;
 
-	private static String pad(final int n) {
-		return n < 10 ? "0" + n : "" + n;
+		private void install() {
+			edt = Thread.currentThread();
+			Toolkit.getDefaultToolkit().getSystemEventQueue().push(this);
+		}
+
+		@Override
+		protected void dispatchEvent(final AWTEvent event) {
+			final long start = System.nanoTime();
+			try {
+				super.dispatchEvent(event);
+			}
+			finally {
+				busyNanos.addAndGet(System.nanoTime() - start);
+			}
+		}
 	}
 
 }
@@ -31,12 +31,20 @@ package org.scijava.ui.swing.plot.converter;
 import org.junit.Test;
 import org.scijava.Context;
 import org.scijava.convert.ConvertService;
+import org.scijava.plot.Plot;
 import org.scijava.plot.PlotService;
 import org.scijava.plot.XYPlot;
+import org.scijava.prefs.PrefService;
 
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class PlotToBufferedImageConverterTest
 {
@@ -56,4 +64,107 @@ public class PlotToBufferedImageConverterTest
 		// dispose
 		context.dispose();
 	}
+
+	@Test
+	public void testArray() {
+		// setup
+		Context context = new Context( PlotService.class, ConvertService.class );
+		PlotService plotService = context.service( PlotService.class );
+		ConvertService convertService = context.service( ConvertService.class );
+		Plot[] plots = new Plot[5];
+		for (int i = 0; i < plots.length; i++) {
+			plots[i] = plotService.newXYPlot();
+			plots[i].setPreferredSize(100 + i, 50 + i);
+		}
+		// process
+		BufferedImage[] images = convertService.convert( plots, BufferedImage[].class );
+		// test
+		assertEquals(plots.length, images.length);
+		for (int i = 0; i < plots.length; i++) {
+			assertEquals(100 + i, images[i].getWidth());
+			assertEquals(50 + i, images[i].getHeight());
+		}
+		// dispose
+		context.dispose();
+	}
+
+	@Test
+	public void testSizeAndDpi() throws InterruptedException {
+		// setup
+		Context context = new Context( PlotService.class, ConvertService.class );
+		PlotService plotService = context.service( PlotService.class );
+		PlotImageRenderer renderer = new PlotImageRenderer( context.service( ConvertService.class ) );
+		renderer.setSize(200, 100);
+		renderer.setDpi(144);
+		renderer.setThreads(2);
+		List<Plot> plots = Arrays.asList( plotService.newXYPlot(), plotService.newXYPlot(), plotService.newXYPlot() );
+		// process
+		AtomicInteger count = new AtomicInteger();
+		renderer.renderAll(plots, (image, index) -> {
+			// test
+			assertEquals(400, image.getWidth());
+			assertEquals(200, image.getHeight());
+			count.incrementAndGet();
+		});
+		assertEquals(plots.size(), count.get());
+		// dispose
+		context.dispose();
+	}
+
+	@Test
+	public void testPreferences() {
+		// setup
+		Context context = new Context( PlotService.class, ConvertService.class, PrefService.class );
+		PlotService plotService = context.service( PlotService.class );
+		ConvertService convertService = context.service( ConvertService.class );
+		PrefService prefService = context.service( PrefService.class );
+		prefService.put( PlotImageRenderer.class, PlotImageRenderer.DPI_PREF, 144.0 );
+		try {
+			Plot[] plots = { plotService.newXYPlot(), plotService.newXYPlot() };
+			plots[0].setPreferredSize(100, 50);
+			plots[1].setPreferredSize(60, 40);
+			// process
+			BufferedImage image = convertService.convert( plots[0], BufferedImage.class );
+			BufferedImage[] images = convertService.convert( plots, BufferedImage[].class );
+			// test
+			// NB: The preferences apply to batches of plots only.
+			assertEquals(100, image.getWidth());
+			assertEquals(50, image.getHeight());
+			assertEquals(200, images[0].getWidth());
+			assertEquals(100, images[0].getHeight());
+			assertEquals(120, images[1].getWidth());
+			assertEquals(80, images[1].getHeight());
+		}
+		finally {
+			// dispose
+			prefService.remove( PlotImageRenderer.class, PlotImageRenderer.DPI_PREF );
+			context.dispose();
+		}
+	}
+
+	@Test
+	public void testInterrupted() {
+		// setup
+		Context context = new Context( PlotService.class, ConvertService.class );
+		PlotService plotService = context.service( PlotService.class );
+		ConvertService convertService = context.service( ConvertService.class );
+		Plot[] plots = new Plot[2 * Runtime.getRuntime().availableProcessors() + 2];
+		for (int i = 0; i < plots.length; i++)
+			plots[i] = plotService.newXYPlot();
+		// process
+		Thread.currentThread().interrupt();
+		try {
+			convertService.convert( plots, BufferedImage[].class );
+			fail("Expected the conversion to be cancelled");
+		}
+		catch (CancellationException exc) {
+			// test
+			assertTrue(Thread.interrupted());
+		}
+		finally {
+			// dispose
+			Thread.interrupted();
+			context.dispose();
+		}
+	}
 }
@@ -0,0 +1,137 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.text;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.Position;
+import javax.swing.text.StringContent;
+import javax.swing.text.StyleContext;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link CompactContent}.
+ */
+public class CompactContentTest {
+
+	@Test
+	public void testAppend() throws BadLocationException {
+		final CompactContent content = new CompactContent();
+		assertEquals("\n", content.getString(0, 1));
+		final StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			final String line = "line " + i + "\n";
+			content.insertString(content.length() - 1, line);
+			expected.append(line);
+		}
+		expected.append("\n");
+		assertEquals(expected.toString(), content.getString(0, content
+			.length()));
+	}
+
+	@Test
+	public void testNonLatin1() throws BadLocationException {
+		final CompactContent content = new CompactContent();
+		final String text = "abc \u00e4\u00f6\u00fc \u20ac \ud83d\ude00 \u0000";
+		for (int i = 0; i < 1000; i++) {
+			content.insertString(content.length() - 1, text);
+		}
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(text, content.getString(i * text.length(), text.length()));
+		}
+	}
+
+	@Test
+	public void testRandomEditsMatchStringContent() throws BadLocationException {
+		final Random random = new Random(42);
+		final CompactContent content = new CompactContent();
+		final StringContent reference = new StringContent();
+		final List<Position> positions = new ArrayList<>();
+		final List<Position> references = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			final int where = random.nextInt(content.length());
+			final int op = random.nextInt(10);
+			if (op < 6) {
+				final String str = randomString(random);
+				content.insertString(where, str);
+				reference.insertString(where, str);
+			}
+			else if (op < 8) {
+				final int n = random.nextInt(content.length() - where);
+				content.remove(where, n);
+				reference.remove(where, n);
+			}
+			else {
+				positions.add(content.createPosition(where));
+				references.add(reference.createPosition(where));
+			}
+			assertEquals(reference.length(), content.length());
+		}
+		assertEquals(reference.getString(0, reference.length()), content
+			.getString(0, content.length()));
+		for (int i = 0; i < positions.size(); i++) {
+			assertEquals(references.get(i).getOffset(), positions.get(i)
+				.getOffset());
+		}
+	}
+
+	@Test
+	public void testDocument() throws BadLocationException {
+		final AbstractDocument doc = new DefaultStyledDocument(
+			new CompactContent(), new StyleContext());
+		doc.insertString(0, "Hello\nWorld\n", null);
+		doc.remove(0, 6);
+		doc.insertString(doc.getLength(), "!", null);
+		assertEquals("World\n!", doc.getText(0, doc.getLength()));
+		assertEquals(2, doc.getDefaultRootElement().getElementCount());
+	}
+
+	// -- Helper methods --
+
+	private static String randomString(final Random random) {
+		final int length = random.nextInt(10) == 0 ? random.nextInt(20000) : random
+			.nextInt(100);
+		final StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			final int kind = random.nextInt(20);
+			sb.append(kind == 0 ? '\n' : kind == 1 ? (char) (0x100 + random
+				.nextInt(0xd000)) : (char) (' ' + random.nextInt(95)));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jfree.chart.JFreeChart;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.plot.PlotService;
+import org.scijava.plot.XYPlot;
+import org.scijava.plot.XYSeries;
+
+/**
+ * Tests {@link ChartUpdater} on charts created by {@link XYPlotGenerator}.
+ */
+public class ChartUpdaterTest {
+
+	private Context context;
+	private XYPlot plot;
+	private XYSeries series;
+	private JFreeChart chart;
+
+	@Before
+	public void setUp() {
+		context = new Context(PlotService.class);
+		plot = context.service(PlotService.class).newXYPlot();
+		series = plot.addXYSeries();
+		series.setLabel("a");
+		series.setValues(list(1, 2, 3), list(4, 5, 6));
+		chart = XYPlotGenerator.run(plot);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testAppend() {
+		final long stamp = dataset().getStamp(0);
+		series.setValues(list(1, 2, 3, 4, 5), list(4, 5, 6, 7, 8));
+		assertTrue(ChartUpdater.update(plot, chart));
+		assertValues(new double[] { 1, 2, 3, 4, 5 }, new double[] { 4, 5, 6, 7,
+			8 });
+		// NB: The values were appended to the known ones, not replaced.
+		assertEquals(stamp, dataset().getStamp(0));
+	}
+
+	@Test
+	public void testReplace() {
+		// NB: The last known item is unchanged, but an earlier one is not.
+		series.setValues(list(1, 9, 3, 4), list(4, 5, 6, 7));
+		final long stamp = dataset().getStamp(0);
+		assertTrue(ChartUpdater.update(plot, chart));
+		assertValues(new double[] { 1, 9, 3, 4 }, new double[] { 4, 5, 6, 7 });
+		assertNotEquals(stamp, dataset().getStamp(0));
+	}
+
+	@Test
+	public void testAppendLong() {
+		series.setValues(range(10000, 0), range(10000, 1));
+		assertTrue(ChartUpdater.update(plot, chart));
+		final long stamp = dataset().getStamp(0);
+		series.setValues(range(10001, 0), range(10001, 1));
+		assertTrue(ChartUpdater.update(plot, chart));
+		assertEquals(10001, dataset().getItemCount(0));
+		assertEquals(10001, dataset().getYValue(0, 10000), 0);
+		assertEquals(stamp, dataset().getStamp(0));
+	}
+
+	@Test
+	public void testReplaceLong() {
+		series.setValues(range(10000, 0), range(10000, 1));
+		assertTrue(ChartUpdater.update(plot, chart));
+		// NB: The first and last known items are always compared.
+		for (final int item : new int[] { 0, 9999 }) {
+			final List<Double> ys = range(10001, 1);
+			ys.set(item, -1.0);
+			final long stamp = dataset().getStamp(0);
+			series.setValues(range(10001, 0), ys);
+			assertTrue(ChartUpdater.update(plot, chart));
+			assertEquals(-1, dataset().getYValue(0, item), 0);
+			assertNotEquals(stamp, dataset().getStamp(0));
+		}
+	}
+
+	@Test
+	public void testShrink() {
+		series.setValues(list(1, 2), list(4, 5));
+		assertTrue(ChartUpdater.update(plot, chart));
+		assertValues(new double[] { 1, 2 }, new double[] { 4, 5 });
+	}
+
+	@Test
+	public void testRelabel() {
+		series.setLabel("b");
+		assertFalse(ChartUpdater.update(plot, chart));
+	}
+
+	@Test
+	public void testAddSeries() {
+		plot.addXYSeries(list(0), list(0));
+		assertFalse(ChartUpdater.update(plot, chart));
+	}
+
+	// -- Helper methods --
+
+	private XYArrayDataset dataset() {
+		return ((DownsampledXYDataset) chart.getXYPlot().getDataset()).getSource();
+	}
+
+	private void assertValues(final double[] xs, final double[] ys) {
+		final XYArrayDataset dataset = dataset();
+		assertEquals(xs.length, dataset.getItemCount(0));
+		for (int item = 0; item < xs.length; item++) {
+			assertEquals(xs[item], dataset.getXValue(0, item), 0);
+			assertEquals(ys[item], dataset.getYValue(0, item), 0);
+		}
+	}
+
+	/** Gets the values from {@code start} on, each one more than the last. */
+	private static List<Double> range(final int count, final double start) {
+		final List<Double> values = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			values.add(start + i);
+		}
+		return values;
+	}
+
+	private static List<Double> list(final double... values) {
+		final Double[] boxed = new Double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			boxed[i] = values[i];
+		}
+		return Arrays.asList(boxed);
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.DoubleToIntFunction;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link DownsampledXYDataset}.
+ */
+public class DownsampledXYDatasetTest {
+
+	private static final DoubleToIntFunction ROW = y -> (int) Math.max(0, Math
+		.min(9, y));
+
+	@Test
+	public void testLinesKeepExtremesOfEachColumn() {
+		final int size = 1000;
+		final double[] y = new double[size];
+		for (int i = 0; i < size; i++)
+			y[i] = Math.sin(0.37 * i) * i;
+		final DownsampledXYDataset dataset = dataset(ascending(size), y);
+		dataset.resample(edges(0, 1000, 10), 10, ROW, s -> false);
+
+		final TreeSet<Integer> expected = new TreeSet<>();
+		for (int c = 0; c < 10; c++) {
+			final int first = 100 * c, last = first + 99;
+			int min = first, max = first;
+			for (int i = first; i <= last; i++) {
+				if (y[i] < y[min]) min = i;
+				if (y[i] > y[max]) max = i;
+			}
+			expected.add(first);
+			expected.add(min);
+			expected.add(max);
+			expected.add(last);
+		}
+		assertArrayEquals(toArray(expected), items(dataset));
+	}
+
+	@Test
+	public void testItemsBeyondEdgesKept() {
+		final DownsampledXYDataset dataset = dataset(ascending(1000),
+			new double[1000]);
+		dataset.resample(edges(100, 200, 10), 10, ROW, s -> false);
+		final int[] items = items(dataset);
+		assertEquals(99, items[0]);
+		assertEquals(100, items[1]);
+		assertEquals(200, items[items.length - 2]);
+		assertEquals(201, items[items.length - 1]);
+	}
+
+	@Test
+	public void testNotAscendingUnchanged() {
+		final double[] x = ascending(1000);
+		x[500] = -1;
+		final DownsampledXYDataset dataset = dataset(x, new double[1000]);
+		dataset.resample(edges(0, 1000, 10), 10, ROW, s -> false);
+		assertEquals(1000, dataset.getItemCount(0));
+		assertEquals(-1, dataset.getXValue(0, 500), 0);
+	}
+
+	@Test
+	public void testFewItemsUnchanged() {
+		final DownsampledXYDataset dataset = dataset(ascending(40),
+			new double[40]);
+		dataset.resample(edges(0, 40, 10), 10, ROW, s -> false);
+		assertEquals(40, dataset.getItemCount(0));
+	}
+
+	@Test
+	public void testMarkersOnePerRow() {
+		final int size = 100000;
+		final double[] y = new double[size];
+		for (int i = 0; i < size; i++)
+			y[i] = (i * 7919) % 3;
+		final DownsampledXYDataset dataset = dataset(ascending(size), y);
+		dataset.resample(edges(0, size, 10), 10, ROW, s -> true);
+
+		final int[] items = items(dataset);
+		// NB: At most the first and last item and one per row, in each column.
+		assertTrue(items.length <= 10 * 5);
+		for (int c = 0; c < 10; c++) {
+			final int first = c * size / 10, last = (c + 1) * size / 10 - 1;
+			final BitSet rows = new BitSet();
+			for (final int i : items) {
+				if (i >= first && i <= last) rows.set(ROW.applyAsInt(y[i]));
+			}
+			assertEquals(3, rows.cardinality());
+		}
+		for (int i = 1; i < items.length; i++)
+			assertTrue(items[i - 1] < items[i]);
+	}
+
+	@Test
+	public void testMarkersWithRowsBetweenValues() {
+		final int size = 100000;
+		final double[] y = new double[size];
+		for (int i = 0; i < size; i++)
+			y[i] = i % 2 == 0 ? 0 : 9;
+		final DownsampledXYDataset dataset = dataset(ascending(size), y);
+		dataset.resample(edges(0, size, 10), 10, ROW, s -> true);
+
+		final int[] items = items(dataset);
+		assertTrue(items.length <= 10 * 4);
+		for (int c = 0; c < 10; c++) {
+			final int first = c * size / 10, last = (c + 1) * size / 10 - 1;
+			final BitSet rows = new BitSet();
+			for (final int i : items) {
+				if (i >= first && i <= last) rows.set(ROW.applyAsInt(y[i]));
+			}
+			assertEquals(2, rows.cardinality());
+		}
+	}
+
+	@Test
+	public void testReset() {
+		final DownsampledXYDataset dataset = dataset(ascending(1000),
+			new double[1000]);
+		dataset.resample(edges(0, 1000, 10), 10, ROW, s -> false);
+		assertTrue(dataset.getItemCount(0) < 1000);
+		dataset.reset();
+		assertEquals(1000, dataset.getItemCount(0));
+	}
+
+	// -- Helper methods --
+
+	private static DownsampledXYDataset dataset(final double[] x,
+		final double[] y)
+	{
+		final List<Double> xs = new ArrayList<>(), ys = new ArrayList<>();
+		for (int i = 0; i < x.length; i++) {
+			xs.add(x[i]);
+			ys.add(y[i]);
+		}
+		final XYArrayDataset source = new XYArrayDataset();
+		source.addSeries("a", xs, ys);
+		return new DownsampledXYDataset(source);
+	}
+
+	private static double[] ascending(final int size) {
+		final double[] x = new double[size];
+		for (int i = 0; i < size; i++)
+			x[i] = i;
+		return x;
+	}
+
+	/** Edges of the given number of columns of equal width. */
+	private static double[] edges(final double min, final double max,
+		final int columns)
+	{
+		final double[] edges = new double[columns + 1];
+		for (int c = 0; c <= columns; c++)
+			edges[c] = min + (max - min) * c / columns;
+		return edges;
+	}
+
+	/** Gets the items kept, by their x values, which are their indices. */
+	private static int[] items(final DownsampledXYDataset dataset) {
+		final int[] items = new int[dataset.getItemCount(0)];
+		for (int i = 0; i < items.length; i++)
+			items[i] = (int) dataset.getXValue(0, i);
+		return items;
+	}
+
+	private static int[] toArray(final TreeSet<Integer> set) {
+		return set.stream().mapToInt(Integer::intValue).toArray();
+	}
+}
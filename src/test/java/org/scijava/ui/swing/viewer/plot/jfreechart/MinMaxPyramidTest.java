@@ -0,0 +1,103 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link MinMaxPyramid}.
+ */
+public class MinMaxPyramidTest {
+
+	@Test
+	public void testScanMatchesBruteForce() {
+		final Random random = new Random(42);
+		final int size = 5000;
+		final double[] y = new double[size];
+		for (int i = 0; i < size; i++)
+			y[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextGaussian();
+		final MinMaxPyramid pyramid = new MinMaxPyramid(y, size);
+		for (int n = 0; n < 1000; n++) {
+			final int from = random.nextInt(size);
+			final int to = from + random.nextInt(size - from + 1);
+			double min = Double.NaN, max = Double.NaN;
+			for (int i = from; i < to; i++) {
+				if (Double.isNaN(y[i])) continue;
+				if (Double.isNaN(min) || y[i] < min) min = y[i];
+				if (Double.isNaN(max) || y[i] > max) max = y[i];
+			}
+			pyramid.scan(from, to);
+			assertEquals(min, value(y, pyramid.getMin()), 0);
+			assertEquals(max, value(y, pyramid.getMax()), 0);
+		}
+	}
+
+	@Test
+	public void testUpdate() {
+		final Random random = new Random(7);
+		final double[] y = new double[20000];
+		final MinMaxPyramid pyramid = new MinMaxPyramid(y, 0);
+		int size = 0;
+		while (size < y.length) {
+			final int end = Math.min(y.length, size + 1 + random.nextInt(700));
+			for (int i = size; i < end; i++)
+				y[i] = random.nextGaussian();
+			size = end;
+			pyramid.update(y, size);
+			final int from = random.nextInt(size);
+			pyramid.scan(from, size);
+			double min = y[from], max = y[from];
+			for (int i = from; i < size; i++) {
+				min = Math.min(min, y[i]);
+				max = Math.max(max, y[i]);
+			}
+			assertEquals(min, y[pyramid.getMin()], 0);
+			assertEquals(max, y[pyramid.getMax()], 0);
+		}
+	}
+
+	@Test
+	public void testAllNaN() {
+		final double[] y = { Double.NaN, Double.NaN, Double.NaN };
+		final MinMaxPyramid pyramid = new MinMaxPyramid(y, y.length);
+		pyramid.scan(0, 3);
+		assertEquals(-1, pyramid.getMin());
+		assertEquals(-1, pyramid.getMax());
+	}
+
+	private static double value(final double[] y, final int index) {
+		return index < 0 ? Double.NaN : y[index];
+	}
+
+}
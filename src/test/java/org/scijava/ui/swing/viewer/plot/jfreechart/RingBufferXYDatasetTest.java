@@ -0,0 +1,146 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Random;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.junit.Test;
+
+/**
+ * Tests {@link RingBufferXYDataset}.
+ */
+public class RingBufferXYDatasetTest {
+
+	@Test
+	public void testEviction() {
+		final RingBufferXYDataset dataset = new RingBufferXYDataset("s", 3);
+		final int[] events = { 0 };
+		dataset.addChangeListener(e -> events[0]++);
+		for (int i = 0; i < 5; i++)
+			dataset.add(i, 10 * i);
+		assertEquals(0, dataset.getItemCount(0));
+		assertTrue(dataset.flush());
+		assertFalse(dataset.flush());
+		assertEquals(1, events[0]);
+		assertEquals(3, dataset.getItemCount(0));
+		assertEquals(2, dataset.getXValue(0, 0), 0);
+		assertEquals(40, dataset.getYValue(0, 2), 0);
+		assertEquals(new Range(2, 4), dataset.getDomainBounds(false));
+		assertEquals(new Range(20, 40), dataset.getRangeBounds(false));
+		assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+	}
+
+	@Test
+	public void testWindow() {
+		final RingBufferXYDataset dataset = new RingBufferXYDataset("s", 100);
+		dataset.setWindow(2.5);
+		for (int i = 0; i < 10; i++)
+			dataset.add(i, -i);
+		dataset.flush();
+		assertEquals(3, dataset.getItemCount(0));
+		assertEquals(new Range(7, 9), dataset.getDomainBounds(false));
+		assertEquals(new Range(-9, -7), dataset.getRangeBounds(Collections
+			.singletonList("s"), null, false));
+		assertEquals(new Range(-8, -8), dataset.getRangeBounds(Collections
+			.singletonList("s"), new Range(7.5, 8.5), false));
+		assertNull(dataset.getRangeBounds(Collections.singletonList("t"), null,
+			false));
+	}
+
+	@Test
+	public void testBoundsMatchBruteForce() {
+		final Random random = new Random(3);
+		final int capacity = 50;
+		final RingBufferXYDataset dataset = new RingBufferXYDataset("s", capacity);
+		final Deque<double[]> expected = new ArrayDeque<>();
+		for (int round = 0; round < 200; round++) {
+			final int n = random.nextInt(20);
+			for (int i = 0; i < n; i++) {
+				final double x = random.nextInt(5) == 0 ? Double.NaN : random
+					.nextGaussian();
+				final double y = random.nextGaussian();
+				dataset.add(x, y);
+				expected.addLast(new double[] { x, y });
+				if (expected.size() > capacity) expected.removeFirst();
+			}
+			dataset.flush();
+			assertEquals(expected.size(), dataset.getItemCount(0));
+			double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+			for (final double[] item : expected) {
+				if (item[0] < minX) minX = item[0];
+				if (item[0] > maxX) maxX = item[0];
+				minY = Math.min(minY, item[1]);
+				maxY = Math.max(maxY, item[1]);
+			}
+			if (expected.isEmpty()) continue;
+			assertEquals(minX, dataset.getDomainLowerBound(false), 0);
+			assertEquals(maxX, dataset.getDomainUpperBound(false), 0);
+			assertEquals(minY, dataset.getRangeLowerBound(false), 0);
+			assertEquals(maxY, dataset.getRangeUpperBound(false), 0);
+		}
+	}
+
+	@Test
+	public void testDomainOrder() {
+		final RingBufferXYDataset dataset = new RingBufferXYDataset("s", 3);
+		dataset.add(5, 0);
+		dataset.add(1, 0);
+		dataset.add(2, 0);
+		dataset.flush();
+		assertEquals(DomainOrder.NONE, dataset.getDomainOrder());
+		dataset.add(3, 0);
+		dataset.flush();
+		assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+	}
+
+	@Test
+	public void testClear() {
+		final RingBufferXYDataset dataset = new RingBufferXYDataset("s", 3);
+		dataset.add(1, 2);
+		dataset.flush();
+		dataset.add(3, 4);
+		dataset.clear();
+		assertFalse(dataset.flush());
+		assertEquals(0, dataset.getItemCount(0));
+		assertNull(dataset.getDomainBounds(false));
+	}
+
+}
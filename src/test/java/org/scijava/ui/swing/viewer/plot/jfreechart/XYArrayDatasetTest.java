@@ -0,0 +1,130 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.plot.jfreechart;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetUtils;
+import org.junit.Test;
+
+/**
+ * Tests {@link XYArrayDataset}.
+ */
+public class XYArrayDatasetTest {
+
+	@Test
+	public void testValues() {
+		final XYArrayDataset dataset = new XYArrayDataset();
+		dataset.addSeries("a", Arrays.asList(1.0, 2.0, 3.0), Arrays.asList(4.0,
+			null, 6.0, 7.0));
+		assertEquals(1, dataset.getSeriesCount());
+		assertEquals("a", dataset.getSeriesKey(0));
+		assertEquals(3, dataset.getItemCount(0));
+		assertEquals(2.0, dataset.getXValue(0, 1), 0);
+		assertEquals(6.0, dataset.getYValue(0, 2), 0);
+		assertNull(dataset.getY(0, 1));
+		assertEquals(0, dataset.indexOf("a"));
+	}
+
+	@Test
+	public void testBounds() {
+		final XYArrayDataset dataset = new XYArrayDataset();
+		dataset.addSeries("a", Arrays.asList(0.0, 1.0, 2.0, 3.0), Arrays.asList(
+			5.0, -1.0, Double.NaN, 8.0));
+		dataset.addSeries("b", Arrays.asList(10.0, -4.0), Arrays.asList(2.0, 3.0));
+		assertEquals(DomainOrder.NONE, dataset.getDomainOrder());
+		assertEquals(new Range(-4, 10), dataset.getDomainBounds(false));
+		assertEquals(new Range(-1, 8), dataset.getRangeBounds(false));
+		assertEquals(new Range(0, 3), dataset.getDomainBounds(Collections
+			.singletonList("a"), false));
+		assertEquals(new Range(-1, 5), dataset.getRangeBounds(Collections
+			.singletonList("a"), new Range(-1, 2.5), false));
+		assertEquals(new Range(2, 3), dataset.getRangeBounds(Collections
+			.singletonList("b"), new Range(-10, 20), false));
+		assertNull(dataset.getRangeBounds(Collections.singletonList("b"),
+			new Range(0, 1), false));
+	}
+
+	@Test
+	public void testMatchesIteration() {
+		final XYArrayDataset dataset = new XYArrayDataset();
+		final int size = 1000;
+		final double[] x = new double[size], y = new double[size];
+		for (int i = 0; i < size; i++) {
+			x[i] = i;
+			y[i] = Math.sin(i * 0.01) * i;
+		}
+		dataset.addSeries("s", x, y, size);
+		assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+		final Range xRange = new Range(100, 400);
+		assertEquals(DatasetUtils.iterateToFindRangeBounds(dataset, Collections
+			.singletonList("s"), xRange, false), dataset.getRangeBounds(Collections
+				.singletonList("s"), xRange, false));
+	}
+
+	@Test
+	public void testAppend() {
+		final XYArrayDataset dataset = new XYArrayDataset();
+		dataset.addSeries("a", Arrays.asList(1.0, 2.0), Arrays.asList(3.0, 4.0));
+		final long stamp = dataset.getStamp(0);
+		final int[] events = { 0 };
+		dataset.addChangeListener(e -> events[0]++);
+		dataset.append(0, Arrays.asList(1.0, 2.0, 3.0, 5.0), Arrays.asList(3.0,
+			4.0, -2.0, 9.0), 2, 4);
+		assertEquals(1, events[0]);
+		assertEquals(4, dataset.getItemCount(0));
+		assertEquals(5.0, dataset.getXValue(0, 3), 0);
+		assertEquals(stamp, dataset.getStamp(0));
+		assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+		assertEquals(new Range(1, 5), dataset.getDomainBounds(false));
+		assertEquals(new Range(-2, 9), dataset.getRangeBounds(false));
+		dataset.append(0, Arrays.asList(0.0), Arrays.asList(0.0), 0, 1);
+		assertEquals(DomainOrder.NONE, dataset.getDomainOrder());
+		dataset.setSeries(0, Arrays.asList(7.0), Arrays.asList(8.0));
+		assertEquals("a", dataset.getSeriesKey(0));
+		assertEquals(1, dataset.getItemCount(0));
+		assertEquals(new Range(8, 8), dataset.getRangeBounds(false));
+		assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+		assertNotEquals(stamp, dataset.getStamp(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSizeExceedsArrays() {
+		new XYArrayDataset().addSeries("s", new double[2], new double[3], 3);
+	}
+
+}
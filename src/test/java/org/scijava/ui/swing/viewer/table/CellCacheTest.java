@@ -0,0 +1,126 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Tests {@link CellCache}.
+ */
+public class CellCacheTest {
+
+	private CountingTable table;
+	private TableModel model;
+
+	@Before
+	public void setUp() {
+		table = new CountingTable();
+		table.appendColumn("a");
+		table.appendColumn("b");
+		table.appendRows(1000);
+		for (int row = 0; row < 1000; row++) {
+			table.set(0, row, "a" + row);
+			table.set(1, row, row);
+		}
+		model = new TableModel(table);
+		model.setCaching(true);
+	}
+
+	@Test
+	public void testReadOnce() {
+		for (int pass = 0; pass < 3; pass++) {
+			for (int row = 0; row < 1000; row += 7) {
+				assertEquals("a" + row, model.getValueAt(row, 1));
+				assertEquals(row, model.getValueAt(row, 2));
+			}
+		}
+		assertEquals(2 * 143, table.reads);
+	}
+
+	@Test
+	public void testInvalidate() {
+		model.getValueAt(5, 1);
+		model.getValueAt(6, 1);
+		model.getValueAt(500, 1);
+		model.setValueAt("x", 5, 1);
+		assertEquals("x", model.getValueAt(5, 1));
+		assertEquals("a6", model.getValueAt(6, 1));
+		assertEquals("a500", model.getValueAt(500, 1));
+		// NB: Only the block of the edited cell is read again.
+		assertEquals(5, table.reads);
+
+		table.set(0, 6, "y");
+		model.refresh();
+		assertEquals("y", model.getValueAt(6, 1));
+		assertEquals(6, table.reads);
+
+		model.removeRows(new int[] { 0 });
+		assertEquals("y", model.getValueAt(5, 1));
+		assertEquals(7, table.reads);
+	}
+
+	@Test
+	public void testScanBypassesCache() {
+		for (int row = 0; row < 1000; row++) {
+			model.readTableValue(row, 1);
+		}
+		assertEquals(1000, table.reads);
+		model.getValueAt(5, 1);
+		model.getValueAt(5, 1);
+		assertEquals(1001, table.reads);
+	}
+
+	@Test
+	public void testUncached() {
+		model.setCaching(false);
+		model.getValueAt(5, 1);
+		model.getValueAt(5, 1);
+		assertEquals(2, table.reads);
+	}
+
+	// -- Helper classes --
+
+	/** A table which counts how often its cells are read. */
+	private static class CountingTable extends DefaultGenericTable {
+
+		private int reads;
+
+		@Override
+		public Object get(final int col, final int row) {
+			reads++;
+			return super.get(col, row);
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.scijava.table.ByteColumn;
+import org.scijava.table.Column;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.FloatColumn;
+import org.scijava.table.GenericTable;
+import org.scijava.table.IntColumn;
+import org.scijava.table.LongColumn;
+import org.scijava.table.ShortColumn;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Tests the rows {@link ColumnSizer} measures.
+ */
+public class ColumnSizerTest {
+
+	@Test
+	public void testIntegerExtremes() {
+		final LongColumn longs = new LongColumn("long");
+		final IntColumn ints = new IntColumn("int");
+		final ShortColumn shorts = new ShortColumn("short");
+		final ByteColumn bytes = new ByteColumn("byte");
+		final TableModel model = model(100, longs, ints, shorts, bytes);
+		longs.setValue(10, Long.MIN_VALUE);
+		longs.setValue(20, Long.MAX_VALUE);
+		ints.setValue(30, -100000);
+		ints.setValue(40, 100000);
+		shorts.setValue(50, Short.MIN_VALUE);
+		shorts.setValue(60, (short) 1000);
+		bytes.setValue(70, (byte) -100);
+		bytes.setValue(80, (byte) 100);
+		assertArrayEquals(new int[] { 10, 20 }, ColumnSizer.extremes(model, 1,
+			100));
+		assertArrayEquals(new int[] { 30, 40 }, ColumnSizer.extremes(model, 2,
+			100));
+		assertArrayEquals(new int[] { 50, 60 }, ColumnSizer.extremes(model, 3,
+			100));
+		assertArrayEquals(new int[] { 70, 80 }, ColumnSizer.extremes(model, 4,
+			100));
+	}
+
+	@Test
+	public void testFloatingPointLongest() {
+		final DoubleColumn doubles = new DoubleColumn("double");
+		final FloatColumn floats = new FloatColumn("float");
+		final TableModel model = model(100, doubles, floats);
+		for (int row = 0; row < 100; row++) {
+			doubles.setValue(row, row * 1000);
+			floats.setValue(row, row * 1000);
+		}
+		// NB: The largest value does not have the longest text.
+		doubles.setValue(10, 0.1 + 0.2);
+		floats.setValue(20, 1 / 3f);
+		assertEquals(10, ColumnSizer.extremes(model, 1, 100)[1]);
+		assertEquals(20, ColumnSizer.extremes(model, 2, 100)[1]);
+	}
+
+	@Test
+	public void testObjectLongest() {
+		final GenericTable table = new DefaultGenericTable(1, 100);
+		for (int row = 0; row < 100; row++) {
+			table.set(0, row, row);
+		}
+		table.set(0, 30, "longest text");
+		assertEquals(30, ColumnSizer.extremes(new TableModel(table), 1, 100)[1]);
+	}
+
+	@Test
+	public void testSample() {
+		assertNull(ColumnSizer.sample(model(100, new IntColumn("small")), 1,
+			100));
+
+		final int rows = 100000;
+		final IntColumn ints = new IntColumn("int");
+		final TableModel large = model(rows, ints);
+		ints.setValue(rows / 3, -1);
+		ints.setValue(rows / 2, 1000000);
+		final int[] sample = ColumnSizer.sample(large, 1, rows);
+		assertTrue(sample.length < rows);
+		assertTrue(contains(sample, 0));
+		assertTrue(contains(sample, rows - 1));
+		assertTrue(contains(sample, rows / 3));
+		assertTrue(contains(sample, rows / 2));
+	}
+
+	// -- Helper methods --
+
+	private static TableModel model(final int rows, final Column<?>... columns) {
+		final GenericTable table = new DefaultGenericTable();
+		for (final Column<?> column : columns) {
+			table.add(column);
+		}
+		table.appendRows(rows);
+		for (final Column<?> column : columns) {
+			column.setSize(rows);
+		}
+		return new TableModel(table);
+	}
+
+	private static boolean contains(final int[] rows, final int row) {
+		return Arrays.stream(rows).anyMatch(r -> r == row);
+	}
+}
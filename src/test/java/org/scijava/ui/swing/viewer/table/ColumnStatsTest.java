@@ -0,0 +1,109 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.GenericTable;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Tests {@link ColumnStats}.
+ */
+public class ColumnStatsTest {
+
+	@Test
+	public void testCompute() {
+		final int n = 100000;
+		final GenericTable table = new DefaultGenericTable(1, n);
+		final DoubleColumn column = new DoubleColumn("x");
+		column.setSize(n);
+		double sum = 0;
+		for (int row = 0; row < n; row++) {
+			final double value = row % 1000 == 999 ? Double.NaN : 1e6 + row % 7;
+			column.setValue(row, value);
+			table.set(0, row, "text");
+			if (!Double.isNaN(value)) sum += value;
+		}
+		table.add(column);
+		final TableModel model = new TableModel(table);
+
+		final ColumnStats stats = ColumnStats.compute(model, 2, 0, n - 1);
+		final long count = n - n / 1000;
+		assertEquals(count, stats.getCount());
+		assertEquals(n / 1000, stats.getNaNCount());
+		assertEquals(1e6, stats.getMin(), 0);
+		assertEquals(1e6 + 6, stats.getMax(), 0);
+		assertEquals(sum / count, stats.getMean(), 1e-9);
+		double m2 = 0;
+		for (int row = 0; row < n; row++) {
+			final double value = column.getValue(row);
+			if (!Double.isNaN(value)) m2 += Math.pow(value - sum / count, 2);
+		}
+		assertEquals(Math.sqrt(m2 / (count - 1)), stats.getStdDev(), 1e-9);
+
+		assertNull(ColumnStats.compute(model, 1, 0, n - 1));
+	}
+
+	@Test
+	public void testCombine() {
+		final ColumnStats all = new ColumnStats();
+		final ColumnStats first = new ColumnStats();
+		final ColumnStats second = new ColumnStats();
+		for (int i = 0; i < 10; i++) {
+			all.add(i * i);
+			(i < 3 ? first : second).add(i * i);
+		}
+		first.combine(second);
+		assertEquals(all.getCount(), first.getCount());
+		assertEquals(all.getMean(), first.getMean(), 1e-12);
+		assertEquals(all.getStdDev(), first.getStdDev(), 1e-12);
+		assertEquals(0, first.getMin(), 0);
+		assertEquals(81, first.getMax(), 0);
+	}
+
+	@Test
+	public void testRemove() {
+		final ColumnStats stats = new ColumnStats();
+		stats.add(1);
+		stats.add(5);
+		stats.add(3);
+		assertTrue(stats.remove(3));
+		assertEquals(3, stats.getMean(), 1e-12);
+		assertEquals(Math.sqrt(8), stats.getStdDev(), 1e-12);
+		assertFalse(stats.remove(5));
+	}
+}
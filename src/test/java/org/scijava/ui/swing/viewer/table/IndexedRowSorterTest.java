@@ -0,0 +1,229 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.EventQueue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import javax.swing.RowSorter.SortKey;
+import javax.swing.SortOrder;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.GenericTable;
+
+/**
+ * Tests {@link IndexedRowSorter}.
+ */
+public class IndexedRowSorterTest {
+
+	private DefaultTableModel model;
+	private IndexedRowSorter sorter;
+
+	@Before
+	public void setUp() {
+		model = new DefaultTableModel(new Object[][] { { 3.0, "c" }, { 1.0, "a" },
+			{ 2.0, "b" }, { 1.0, "d" } }, new Object[] { "x", "y" });
+		sorter = new IndexedRowSorter(model);
+	}
+
+	@Test
+	public void testUnsorted() {
+		assertArrayEquals(new int[] { 0, 1, 2, 3 }, viewToModel());
+	}
+
+	@Test
+	public void testSortAscending() {
+		sorter.toggleSortOrder(0);
+		// NB: Rows with equal values keep their order.
+		assertArrayEquals(new int[] { 1, 3, 2, 0 }, viewToModel());
+		assertEquals(3, sorter.convertRowIndexToView(0));
+	}
+
+	@Test
+	public void testSortDescending() {
+		sorter.toggleSortOrder(0);
+		sorter.toggleSortOrder(0);
+		assertArrayEquals(new int[] { 0, 2, 1, 3 }, viewToModel());
+	}
+
+	@Test
+	public void testUnsort() {
+		sorter.toggleSortOrder(1);
+		sorter.setSortKeys(Collections.<SortKey> emptyList());
+		assertArrayEquals(new int[] { 0, 1, 2, 3 }, viewToModel());
+	}
+
+	@Test
+	public void testRowsInserted() {
+		sorter.setSortKeys(Collections.singletonList(new SortKey(1,
+			SortOrder.ASCENDING)));
+		model.insertRow(1, new Object[] { 0.0, "bb" });
+		sorter.rowsInserted(1, 1);
+		model.addRow(new Object[] { 0.0, "aa" });
+		sorter.rowsInserted(5, 5);
+		assertEquals(6, sorter.getViewRowCount());
+		// a, aa, b, bb, c, d
+		assertArrayEquals(new int[] { 2, 5, 3, 1, 0, 4 }, viewToModel());
+	}
+
+	@Test
+	public void testRowsDeleted() {
+		sorter.toggleSortOrder(1);
+		model.removeRow(2);
+		sorter.rowsDeleted(2, 2);
+		model.removeRow(0);
+		sorter.rowsDeleted(0, 0);
+		// a, d
+		assertArrayEquals(new int[] { 0, 1 }, viewToModel());
+		assertEquals(1, sorter.convertRowIndexToView(1));
+	}
+
+	@Test
+	public void testFilter() {
+		sorter.setFilter(new int[] { 0, 1, 3 });
+		assertArrayEquals(new int[] { 0, 1, 3 }, viewToModel());
+		assertEquals(-1, sorter.convertRowIndexToView(2));
+		sorter.toggleSortOrder(1);
+		assertArrayEquals(new int[] { 1, 0, 3 }, viewToModel());
+		sorter.setFilter(1, 2, new int[] { 2 });
+		assertArrayEquals(new int[] { 2, 0, 3 }, viewToModel());
+		model.addRow(new Object[] { 0.0, "0" });
+		sorter.rowsInserted(4, 4);
+		// NB: New rows are filtered out until the filter is updated.
+		assertArrayEquals(new int[] { 2, 0, 3 }, viewToModel());
+		sorter.setFilter(4, 4, new int[] { 4 });
+		assertArrayEquals(new int[] { 4, 2, 0, 3 }, viewToModel());
+		sorter.setFilter(null);
+		assertArrayEquals(new int[] { 4, 1, 2, 0, 3 }, viewToModel());
+	}
+
+	@Test
+	public void testPrimitiveColumn() {
+		final double[] values = { 2, Double.NaN, -0.0, 0.0, -1, //
+			Double.NEGATIVE_INFINITY };
+		sorter = new IndexedRowSorter(tableModel(values));
+		sorter.toggleSortOrder(1);
+		assertArrayEquals(new int[] { 5, 4, 2, 3, 0, 1 }, viewToModel());
+		sorter.toggleSortOrder(1);
+		assertArrayEquals(new int[] { 1, 0, 3, 2, 4, 5 }, viewToModel());
+	}
+
+	@Test
+	public void testBackgroundSort() throws Exception {
+		final Random random = new Random(7);
+		final double[] values = new double[IndexedRowSorter.ASYNC_THRESHOLD * 2];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(1000);
+		}
+		sorter = new IndexedRowSorter(tableModel(values));
+		EventQueue.invokeAndWait(() -> sorter.toggleSortOrder(1));
+		awaitSorted(values);
+	}
+
+	@Test
+	public void testRowsInsertedWhileSorting() throws Exception {
+		final Random random = new Random(11);
+		final int rowCount = IndexedRowSorter.ASYNC_THRESHOLD * 2;
+		final int appended = 1000;
+		final double[] values = new double[rowCount + appended];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(1000);
+		}
+		final GenericTable table = table(Arrays.copyOf(values, rowCount));
+		final SwingTableDisplayPanel.TableModel tableModel =
+			new SwingTableDisplayPanel.TableModel(table);
+		sorter = new IndexedRowSorter(tableModel);
+		EventQueue.invokeAndWait(() -> {
+			sorter.toggleSortOrder(1);
+			// NB: The rows arrive while the background sort is running.
+			final DoubleColumn column = (DoubleColumn) table.get(0);
+			table.appendRows(appended);
+			for (int i = rowCount; i < values.length; i++) {
+				column.setValue(i, values[i]);
+			}
+			tableModel.refreshAppended();
+			sorter.rowsInserted(rowCount, values.length - 1);
+		});
+		awaitSorted(values);
+	}
+
+	// -- Helper methods --
+
+	/** Waits until the background sort is installed, and checks its order. */
+	private void awaitSorted(final double[] values) throws Exception {
+		final long timeout = System.currentTimeMillis() + 10000;
+		final boolean[] sorted = { false };
+		while (!sorted[0] && System.currentTimeMillis() < timeout) {
+			// NB: The result is installed on the event dispatch thread.
+			EventQueue.invokeAndWait(() -> sorted[0] = sorter
+				.convertRowIndexToModel(0) != 0);
+		}
+		final int[] rows = viewToModel();
+		assertEquals(values.length, rows.length);
+		for (int i = 1; i < rows.length; i++) {
+			final double v0 = values[rows[i - 1]], v1 = values[rows[i]];
+			assertTrue(v0 < v1 || v0 == v1 && rows[i - 1] < rows[i]);
+		}
+	}
+
+	private static SwingTableDisplayPanel.TableModel tableModel(
+		final double[] values)
+	{
+		return new SwingTableDisplayPanel.TableModel(table(values));
+	}
+
+	private static GenericTable table(final double[] values) {
+		final DoubleColumn column = new DoubleColumn("x");
+		for (final double value : values) {
+			column.add(value);
+		}
+		final GenericTable table = new DefaultGenericTable(0, values.length);
+		table.add(column);
+		return table;
+	}
+
+	private int[] viewToModel() {
+		final int[] rows = new int[sorter.getViewRowCount()];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = sorter.convertRowIndexToModel(i);
+		}
+		return rows;
+	}
+}
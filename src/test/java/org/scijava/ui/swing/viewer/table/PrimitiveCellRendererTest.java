@@ -0,0 +1,180 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import javax.swing.JTable;
+
+import org.junit.Test;
+import org.scijava.table.BoolColumn;
+import org.scijava.table.ByteColumn;
+import org.scijava.table.CharColumn;
+import org.scijava.table.Column;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.FloatColumn;
+import org.scijava.table.GenericTable;
+import org.scijava.table.IntColumn;
+import org.scijava.table.LongColumn;
+import org.scijava.table.ShortColumn;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Tests that {@link PrimitiveCellRenderer} shows the same text as the boxed
+ * values' {@code toString()}.
+ */
+public class PrimitiveCellRendererTest {
+
+	@Test
+	public void testDouble() {
+		final DoubleColumn column = new DoubleColumn("double");
+		final JTable table = table(column, 9);
+		final double[] values = { 0, -0.0, 1.5, 0.1 + 0.2, 1e-5, 1e21,
+			Double.MAX_VALUE, Double.NaN, Double.NEGATIVE_INFINITY };
+		for (int row = 0; row < values.length; row++) {
+			column.setValue(row, values[row]);
+		}
+		assertRendered(table);
+	}
+
+	@Test
+	public void testFloat() {
+		final FloatColumn column = new FloatColumn("float");
+		final JTable table = table(column, 7);
+		final float[] values = { 0, -0f, 1 / 3f, 1e-5f, 1e10f, Float.MIN_VALUE,
+			Float.NaN };
+		for (int row = 0; row < values.length; row++) {
+			column.setValue(row, values[row]);
+		}
+		assertRendered(table);
+	}
+
+	@Test
+	public void testLong() {
+		final LongColumn column = new LongColumn("long");
+		final JTable table = table(column, 3);
+		column.setValue(0, Long.MIN_VALUE);
+		column.setValue(1, 0);
+		column.setValue(2, Long.MAX_VALUE);
+		assertRendered(table);
+	}
+
+	@Test
+	public void testInt() {
+		final IntColumn column = new IntColumn("int");
+		final JTable table = table(column, 3);
+		column.setValue(0, Integer.MIN_VALUE);
+		column.setValue(1, -1);
+		column.setValue(2, Integer.MAX_VALUE);
+		assertRendered(table);
+	}
+
+	@Test
+	public void testShort() {
+		final ShortColumn column = new ShortColumn("short");
+		final JTable table = table(column, 2);
+		column.setValue(0, Short.MIN_VALUE);
+		column.setValue(1, Short.MAX_VALUE);
+		assertRendered(table);
+	}
+
+	@Test
+	public void testByte() {
+		final ByteColumn column = new ByteColumn("byte");
+		final JTable table = table(column, 2);
+		column.setValue(0, Byte.MIN_VALUE);
+		column.setValue(1, Byte.MAX_VALUE);
+		assertRendered(table);
+	}
+
+	@Test
+	public void testChar() {
+		final CharColumn column = new CharColumn("char");
+		final JTable table = table(column, 3);
+		column.setValue(0, 'a');
+		column.setValue(1, ' ');
+		column.setValue(2, '\u00e9');
+		assertRendered(table);
+	}
+
+	@Test
+	public void testBool() {
+		final BoolColumn column = new BoolColumn("bool");
+		final JTable table = table(column, 2);
+		column.setValue(0, true);
+		column.setValue(1, false);
+		assertRendered(table);
+	}
+
+	@Test
+	public void testRowHeaders() {
+		final GenericTable tab = new DefaultGenericTable(1, 3);
+		tab.setRowHeader(1, "second");
+		final JTable table = new JTable(new TableModel(tab));
+		final PrimitiveCellRenderer renderer = new PrimitiveCellRenderer();
+		renderer.prepare(table, 0, 0);
+		assertEquals("1", renderer.getText());
+		renderer.prepare(table, 1, 0);
+		assertEquals("second", renderer.getText());
+	}
+
+	@Test
+	public void testObjectColumn() {
+		final GenericTable tab = new DefaultGenericTable(1, 1);
+		tab.set(0, 0, 1.5);
+		final JTable table = new JTable(new TableModel(tab));
+		assertNull(new PrimitiveCellRenderer().prepare(table, 0, 1));
+	}
+
+	// -- Helper methods --
+
+	private static JTable table(final Column<?> column, final int rows) {
+		final GenericTable tab = new DefaultGenericTable();
+		tab.add(column);
+		tab.appendRows(rows);
+		column.setSize(rows);
+		return new JTable(new TableModel(tab));
+	}
+
+	/** Checks that every cell is rendered as the text of its boxed value. */
+	private static void assertRendered(final JTable table) {
+		final PrimitiveCellRenderer renderer = new PrimitiveCellRenderer();
+		for (int row = 0; row < table.getRowCount(); row++) {
+			for (int col = 0; col < table.getColumnCount(); col++) {
+				assertSame(renderer, renderer.prepare(table, row, col));
+				assertEquals(String.valueOf(table.getValueAt(row, col)), renderer
+					.getText());
+			}
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.scijava.table.CharColumn;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.GenericTable;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Tests {@link TableExporter}.
+ */
+public class TableExporterTest {
+
+	@Test
+	public void testCsv() {
+		final TableModel model = new TableModel(table());
+		final TableExporter exporter = new TableExporter(model, new int[] { 2, 0 },
+			new int[] { 0, 1, 2 }, ',', true);
+		assertEquals(",text,value\n" + //
+			"3,\"a,b\",2.5\n" + //
+			"1,\"say \"\"hi\"\"\",0.5\n", exporter.toText(null));
+	}
+
+	@Test
+	public void testTsv() {
+		final GenericTable table = table();
+		table.setRowHeader(1, "second");
+		final TableModel model = new TableModel(table);
+		final TableExporter exporter = new TableExporter(model, new int[] { 1, 2 },
+			new int[] { 2, 0 }, '\t', false);
+		assertEquals("1.5\tsecond\n2.5\t3\n", exporter.toText(null));
+	}
+
+	@Test
+	public void testCharColumn() {
+		final GenericTable table = new DefaultGenericTable();
+		final CharColumn chars = new CharColumn("char");
+		chars.setSize(3);
+		chars.setValue(0, 'x');
+		chars.setValue(1, ',');
+		chars.setValue(2, '"');
+		table.add(chars);
+		final TableExporter exporter = new TableExporter(new TableModel(table),
+			new int[] { 0, 1, 2 }, new int[] { 1 }, ',', false);
+		assertEquals("x\n\",\"\n\"\"\"\"\n", exporter.toText(null));
+	}
+
+	@Test
+	public void testProgress() throws IOException {
+		final GenericTable table = new DefaultGenericTable(1, 10000);
+		final List<Integer> progress = new ArrayList<>();
+		final TableExporter exporter = new TableExporter(new TableModel(table),
+			new int[10000], new int[] { 1 }, ',', false);
+		final StringWriter out = new StringWriter();
+		exporter.write(out, progress::add);
+		assertEquals(10000, out.toString().length());
+		assertEquals(list(4096, 8192, 10000), progress);
+	}
+
+	// -- Helper methods --
+
+	private static GenericTable table() {
+		final GenericTable table = new DefaultGenericTable(1, 3);
+		table.setColumnHeader(0, "text");
+		table.set(0, 0, "say \"hi\"");
+		table.set(0, 1, "plain");
+		table.set(0, 2, "a,b");
+		final DoubleColumn values = new DoubleColumn("value");
+		values.setSize(3);
+		for (int row = 0; row < 3; row++)
+			values.setValue(row, row + 0.5);
+		table.add(values);
+		return table;
+	}
+
+	private static List<Integer> list(final Integer... items) {
+		final List<Integer> list = new ArrayList<>();
+		for (final Integer item : items)
+			list.add(item);
+		return list;
+	}
+}
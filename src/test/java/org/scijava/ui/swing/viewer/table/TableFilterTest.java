@@ -0,0 +1,104 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.GenericTable;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Tests {@link TableFilter}.
+ */
+public class TableFilterTest {
+
+	private TableModel model;
+
+	@Before
+	public void setUp() {
+		final GenericTable table = new DefaultGenericTable(1, 0);
+		table.setColumnHeader(0, "Label");
+		final DoubleColumn area = new DoubleColumn("Area");
+		final String[] labels = { "cell-1", "Cell-2", "nucleus-1", "cell-3",
+			"debris" };
+		final double[] areas = { 10, 250, 40, 75.5, 2 };
+		for (int i = 0; i < labels.length; i++) {
+			table.appendRow();
+			table.set(0, i, labels[i]);
+			area.add(areas[i]);
+		}
+		table.add(area);
+		model = new TableModel(table);
+	}
+
+	@Test
+	public void testSubstring() {
+		assertArrayEquals(new int[] { 0, 1, 3 }, evaluate("CELL"));
+	}
+
+	@Test
+	public void testRegex() {
+		assertArrayEquals(new int[] { 0, 2 }, evaluate("/-1$/"));
+	}
+
+	@Test
+	public void testRange() {
+		assertArrayEquals(new int[] { 0, 2, 3 }, evaluate("Area: 10..100"));
+		assertArrayEquals(new int[] { 1, 3 }, evaluate("Area: 50.."));
+		assertArrayEquals(new int[] { 0, 4 }, evaluate("Area: ..10"));
+	}
+
+	@Test
+	public void testTermsAreCombined() {
+		assertArrayEquals(new int[] { 0, 3 }, evaluate("cell; Area: ..100"));
+	}
+
+	@Test
+	public void testSubrange() {
+		assertArrayEquals(new int[] { 3 }, TableFilter.parse("cell", model)
+			.evaluate(2, 4));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidRegex() {
+		TableFilter.parse("/(/", model);
+	}
+
+	// -- Helper methods --
+
+	private int[] evaluate(final String expression) {
+		return TableFilter.parse(expression, model).evaluate(0, model
+			.getRowCount() - 1);
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javax.swing.event.TableModelEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.table.GenericTable;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Tests {@link TableFinder}.
+ */
+public class TableFinderTest {
+
+	private GenericTable table;
+	private TableModel model;
+
+	@Before
+	public void setUp() {
+		table = new DefaultGenericTable(2, 4);
+		table.set(0, 0, "Apple");
+		table.set(1, 0, "pear");
+		table.set(0, 1, "pineapple");
+		table.set(1, 1, "plum");
+		table.set(0, 3, "grape");
+		table.set(1, 3, "apricot");
+		model = new TableModel(table);
+	}
+
+	@Test
+	public void testFind() {
+		final TableFinder finder = TableFinder.find(model, "AP");
+		// NB: Matches are in row-major order.
+		assertCells(finder, 0, 1, 1, 1, 3, 1, 3, 2);
+		assertEquals(-1, finder.getCurrent());
+	}
+
+	@Test
+	public void testRefine() {
+		final TableFinder finder = TableFinder.find(model, "ap");
+		assertTrue(finder.canRefine(model, "app"));
+		assertFalse(finder.canRefine(model, "a"));
+		assertCells(finder.refine("aPp"), 0, 1, 1, 1);
+	}
+
+	@Test
+	public void testCellChanged() {
+		final TableFinder finder = TableFinder.find(model, "ap");
+		finder.next();
+		finder.next();
+		table.set(0, 0, "banana");
+		finder.cellChanged(0, 1);
+		assertCells(finder, 1, 1, 3, 1, 3, 2);
+		assertEquals(0, finder.getCurrent());
+		table.set(1, 2, "papaya");
+		finder.cellChanged(2, 2);
+		assertCells(finder, 1, 1, 2, 2, 3, 1, 3, 2);
+		assertEquals(0, finder.getCurrent());
+	}
+
+	@Test
+	public void testAppend() {
+		final TableFinder finder = TableFinder.find(model, "ap");
+		table.appendRow();
+		table.set(1, 4, "grapefruit");
+		model.refresh();
+		finder.update(4, 4, TableModelEvent.ALL_COLUMNS, TableFinder.scan(model,
+			"ap", 4, 4, TableModelEvent.ALL_COLUMNS));
+		assertCells(finder, 0, 1, 1, 1, 3, 1, 3, 2, 4, 2);
+	}
+
+	@Test
+	public void testUpdateRows() {
+		final TableFinder finder = TableFinder.find(model, "ap");
+		finder.next();
+		finder.next();
+		table.set(0, 0, "banana");
+		table.set(1, 1, "papaya");
+		table.set(1, 3, "cherry");
+		finder.update(0, 1, TableModelEvent.ALL_COLUMNS, TableFinder.scan(model,
+			"ap", 0, 1, TableModelEvent.ALL_COLUMNS));
+		// NB: Row 3 was not rescanned yet.
+		assertEquals(4, finder.size());
+		// NB: The current match, (1, 1), is kept.
+		assertEquals(0, finder.getCurrent());
+		table.set(1, 2, "grape");
+		finder.update(2, 3, 2, TableFinder.scan(model, "ap", 2, 3, 2));
+		assertCells(finder, 1, 1, 1, 2, 2, 2, 3, 1);
+		assertEquals(0, finder.getCurrent());
+	}
+
+	@Test
+	public void testRowsInsertedAndDeleted() {
+		final TableFinder finder = TableFinder.find(model, "ap");
+		finder.next();
+		finder.next();
+		finder.next();
+		finder.rowsInserted(1, 2);
+		// NB: The current match, formerly (3, 1), moved with its row.
+		assertEquals(2, finder.getCurrent());
+		assertCell(5, 2, finder.next());
+		assertCell(5, 1, finder.previous());
+		finder.rowsDeleted(0, 1);
+		assertEquals(3, finder.size());
+		assertEquals(1, finder.getCurrent());
+		assertCell(3, 2, finder.next());
+		assertCell(1, 1, finder.next());
+		finder.rowsDeleted(1, 1);
+		assertEquals(2, finder.size());
+		assertEquals(-1, finder.getCurrent());
+		assertCell(2, 1, finder.next());
+		finder.rowsDeleted(2, 2);
+		assertEquals(0, finder.size());
+		assertEquals(-1, finder.getCurrent());
+		assertEquals(-1, finder.next());
+	}
+
+	@Test
+	public void testNavigation() {
+		final TableFinder finder = TableFinder.find(model, "ap");
+		// NB: Skip the matches in row 1, as if it were filtered out.
+		finder.setVisible(key -> TableFinder.row(key) != 1);
+		assertEquals(0, TableFinder.row(finder.next()));
+		assertEquals(3, TableFinder.row(finder.next()));
+		assertEquals(2, finder.getCurrent());
+		assertEquals(0, TableFinder.row(finder.previous()));
+		assertEquals(3, TableFinder.row(finder.previous()));
+		assertEquals(3, finder.getCurrent());
+		assertEquals(0, TableFinder.row(finder.next()));
+		finder.setVisible(null);
+		assertEquals(1, TableFinder.row(finder.next()));
+		finder.setVisible(key -> false);
+		assertEquals(-1, finder.next());
+		assertEquals(-1, finder.previous());
+	}
+
+	@Test
+	public void testNavigationAfterUpdate() {
+		final TableFinder finder = TableFinder.find(model, "ap");
+		finder.setVisible(key -> TableFinder.row(key) != 1);
+		assertEquals(0, TableFinder.row(finder.next()));
+		// NB: The visible matches are recomputed after the index changes.
+		table.set(1, 2, "papaya");
+		finder.cellChanged(2, 2);
+		assertCell(2, 2, finder.next());
+		assertEquals(3, TableFinder.row(finder.next()));
+	}
+
+	// -- Helper methods --
+
+	private static void assertCell(final int row, final int col,
+		final long key)
+	{
+		assertEquals(row, TableFinder.row(key));
+		assertEquals(col, TableFinder.column(key));
+	}
+
+	private static void assertCells(final TableFinder finder,
+		final int... rowsAndColumns)
+	{
+		assertEquals(rowsAndColumns.length / 2, finder.size());
+		final TableFinder copy = finder.refine(finder.getQuery());
+		for (int i = 0; i < rowsAndColumns.length; i += 2) {
+			assertCell(rowsAndColumns[i], rowsAndColumns[i + 1], copy.next());
+		}
+	}
+}
@@ -0,0 +1,229 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.TableModelEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.table.DoubleColumn;
+import org.scijava.table.GenericTable;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Tests {@link SwingTableDisplayPanel.TableModel}.
+ */
+public class TableModelTest {
+
+	private GenericTable table;
+	private TableModel model;
+	private List<String> events;
+
+	@Before
+	public void setUp() {
+		table = new DefaultGenericTable(2, 3);
+		table.setColumnHeader(0, "a");
+		table.setColumnHeader(1, "b");
+		model = new TableModel(table);
+		events = new ArrayList<>();
+		model.addTableModelListener(e -> events.add(describe(e)));
+	}
+
+	@Test
+	public void testUnchanged() {
+		model.refresh();
+		// NB: The cells of object columns are not read to find changes.
+		assertEquals(list("update 0-2"), events);
+	}
+
+	@Test
+	public void testRowsAppended() {
+		table.appendRows(2);
+		assertEquals(3, model.getRowCount());
+		model.refresh();
+		assertEquals(5, model.getRowCount());
+		assertEquals(list("update 0-2", "insert 3-4"), events);
+	}
+
+	@Test
+	public void testRowsRemoved() {
+		table.removeRow(0);
+		assertEquals(3, model.getRowCount());
+		assertEquals(null, model.getValueAt(2, 1));
+		model.refresh();
+		assertEquals(2, model.getRowCount());
+		assertEquals(list("delete 2-2", "update 0-1"), events);
+	}
+
+	@Test
+	public void testChangedBlocks() {
+		final int blockRows = RowHashes.BLOCK_ROWS;
+		final GenericTable primitiveTable = new DefaultGenericTable();
+		final DoubleColumn column = new DoubleColumn("c");
+		primitiveTable.add(column);
+		primitiveTable.appendRows(3 * blockRows + 3);
+		column.setSize(primitiveTable.getRowCount());
+		model = new TableModel(primitiveTable);
+		model.addTableModelListener(e -> events.add(describe(e)));
+
+		model.refresh();
+		assertEquals(list(), events);
+
+		column.setValue(blockRows + 5, 1);
+		column.setValue(3 * blockRows + 1, 2);
+		model.refresh();
+		assertEquals(list("update " + blockRows + "-" + (2 * blockRows - 1),
+			"update " + 3 * blockRows + "-" + (3 * blockRows + 2)), events);
+
+		// NB: Appended rows are hashed without reporting the earlier ones.
+		events.clear();
+		primitiveTable.appendRows(10);
+		column.setSize(primitiveTable.getRowCount());
+		assertTrue(model.refreshAppended());
+		model.refresh();
+		assertEquals(list("insert " + (3 * blockRows + 3) + "-" + (3 * blockRows +
+			12)), events);
+
+		// NB: Rows removed with whole blocks leave no rows to report.
+		events.clear();
+		primitiveTable.removeRows(3 * blockRows, 13);
+		model.refresh();
+		assertEquals(list("delete " + 3 * blockRows + "-" + (3 * blockRows + 12)),
+			events);
+	}
+
+	@Test
+	public void testRefreshAppended() {
+		table.appendRows(2);
+		assertTrue(model.refreshAppended());
+		assertEquals(5, model.getRowCount());
+		assertTrue(model.refreshAppended());
+		table.removeRow(0);
+		assertFalse(model.refreshAppended());
+		table.appendColumn("c");
+		table.appendRow();
+		assertFalse(model.refreshAppended());
+		assertEquals(5, model.getRowCount());
+		assertEquals(list("insert 3-4"), events);
+	}
+
+	@Test
+	public void testColumnRenamed() {
+		table.setColumnHeader(1, "c");
+		assertEquals("b", model.getColumnName(2));
+		model.refresh();
+		assertEquals("c", model.getColumnName(2));
+		assertEquals(list("structure"), events);
+	}
+
+	@Test
+	public void testColumnAppended() {
+		table.appendColumn("c");
+		assertEquals(3, model.getColumnCount());
+		model.refresh();
+		assertEquals(4, model.getColumnCount());
+		assertEquals(list("structure"), events);
+	}
+
+	@Test
+	public void testRanges() {
+		assertArrayEquals(new int[] { 1, 3, 5, 5, 7, 8 }, TableModel.ranges(
+			new int[] { 8, 3, 1, 5, 2, 7, 3 }));
+	}
+
+	@Test
+	public void testRemoveRows() {
+		table.set(0, 0, "x");
+		table.set(0, 1, "y");
+		table.set(0, 2, "z");
+		model.removeRows(new int[] { 2, 0 });
+		assertEquals(1, table.getRowCount());
+		assertEquals(1, model.getRowCount());
+		assertEquals("y", model.getValueAt(0, 1));
+		assertEquals(list("delete 2-2", "delete 0-0"), events);
+	}
+
+	@Test
+	public void testRemoveManyRanges() {
+		final DoubleColumn column = new DoubleColumn("c");
+		table.add(column);
+		table.appendRows(997);
+		column.setSize(table.getRowCount());
+		for (int row = 0; row < table.getRowCount(); row++) {
+			table.set(0, row, row);
+			column.setValue(row, row);
+			table.setRowHeader(row, "r" + row);
+		}
+		model.refresh();
+		events.clear();
+
+		// remove every third row, plus the last one
+		final int[] removed = new int[334];
+		for (int i = 0; i < 333; i++)
+			removed[i] = 3 * i;
+		removed[333] = 999;
+		model.removeRows(removed);
+
+		assertEquals(666, table.getRowCount());
+		assertEquals(666, model.getRowCount());
+		for (int row = 0; row < 666; row++) {
+			final int old = 3 * (row / 2) + 1 + row % 2;
+			assertEquals(old, table.get(0, row));
+			assertEquals(old, column.getValue(row), 0);
+			assertEquals("r" + old, model.getValueAt(row, 0));
+		}
+		assertEquals(list("update 0-" + Integer.MAX_VALUE), events);
+	}
+
+	// -- Helper methods --
+
+	private static List<String> list(final String... items) {
+		final List<String> list = new ArrayList<>();
+		for (final String item : items)
+			list.add(item);
+		return list;
+	}
+
+	private static String describe(final TableModelEvent e) {
+		if (e.getFirstRow() == TableModelEvent.HEADER_ROW) return "structure";
+		final String type = e.getType() == TableModelEvent.INSERT ? "insert" : //
+			e.getType() == TableModelEvent.DELETE ? "delete" : "update";
+		return type + " " + e.getFirstRow() + "-" + e.getLastRow();
+	}
+}
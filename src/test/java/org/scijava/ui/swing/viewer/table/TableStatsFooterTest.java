@@ -0,0 +1,169 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.scijava.ui.swing.viewer.table;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.Callable;
+
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.table.DefaultGenericTable;
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.swing.viewer.table.SwingTableDisplayPanel.TableModel;
+
+/**
+ * Tests {@link TableStatsFooter}.
+ */
+public class TableStatsFooterTest {
+
+	private Context context;
+	private FailingTable table;
+	private TableModel model;
+	private TableStatsFooter footer;
+	private JTable stats;
+
+	@Before
+	public void setUp() throws Exception {
+		context = new Context(ThreadService.class);
+		table = new FailingTable();
+		table.appendColumn("x");
+		table.appendRows(3);
+		for (int row = 0; row < 3; row++) {
+			table.set(0, row, (double) row);
+		}
+		model = new TableModel(table);
+		SwingUtilities.invokeAndWait(() -> {
+			final JTable main = new JTable(model);
+			footer = new TableStatsFooter(main, context.service(ThreadService.class),
+				new JScrollPane(main));
+			stats = (JTable) footer.getViewport().getView();
+			footer.setShown(true);
+		});
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testCompute() throws Exception {
+		await("0.00000", () -> stats.getValueAt(0, 1));
+		assertEquals("2.00000", onEDT(() -> stats.getValueAt(1, 1)));
+	}
+
+	@Test
+	public void testAppend() throws Exception {
+		await("2.00000", () -> stats.getValueAt(1, 1));
+		SwingUtilities.invokeAndWait(() -> {
+			table.appendRows(2);
+			table.set(0, 3, 7.0);
+			table.set(0, 4, -1.0);
+			model.refreshAppended();
+		});
+		await("7.00000", () -> stats.getValueAt(1, 1));
+		assertEquals("-1.00000", onEDT(() -> stats.getValueAt(0, 1)));
+	}
+
+	@Test
+	public void testRefresh() throws Exception {
+		await("2.00000", () -> stats.getValueAt(1, 1));
+		SwingUtilities.invokeAndWait(() -> {
+			table.set(0, 0, 5.0);
+			table.appendRows(1);
+			table.set(0, 3, 9.0);
+			model.refresh();
+		});
+		await("9.00000", () -> stats.getValueAt(1, 1));
+		assertEquals("1.00000", onEDT(() -> stats.getValueAt(0, 1)));
+	}
+
+	@Test
+	public void testError() throws Exception {
+		await("2.00000", () -> stats.getValueAt(1, 1));
+		table.failing = true;
+		SwingUtilities.invokeAndWait(model::refresh);
+		await("Error", () -> stats.getValueAt(0, 1));
+		assertEquals(null, onEDT(() -> stats.getValueAt(1, 1)));
+
+		table.failing = false;
+		SwingUtilities.invokeAndWait(model::refresh);
+		await("0.00000", () -> stats.getValueAt(0, 1));
+	}
+
+	// -- Helper methods --
+
+	/** Waits until the given value, read on the EDT, is as expected. */
+	private static void await(final Object expected, final Callable<Object> value)
+		throws Exception
+	{
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < deadline) {
+			if (expected.equals(onEDT(value))) return;
+			Thread.sleep(10);
+		}
+		assertEquals(expected, onEDT(value));
+	}
+
+	private static Object onEDT(final Callable<Object> value) throws Exception {
+		final Object[] result = new Object[1];
+		final Exception[] error = new Exception[1];
+		SwingUtilities.invokeAndWait(() -> {
+			try {
+				result[0] = value.call();
+			}
+			catch (final Exception exc) {
+				error[0] = exc;
+			}
+		});
+		if (error[0] != null) throw error[0];
+		return result[0];
+	}
+
+	// -- Helper classes --
+
+	/** A table whose cells can fail to be read, except for the first row. */
+	private static class FailingTable extends DefaultGenericTable {
+
+		private volatile boolean failing;
+
+		@Override
+		public Object get(final int col, final int row) {
+			if (failing && row > 0) throw new IllegalStateException("failing");
+			return super.get(col, row);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.text;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.scijava.ui.swing.viewer.text.MappedTextView.LineIndex;
+
+/**
+ * Tests {@link LineIndex}.
+ */
+public class LineIndexTest {
+
+	/** Number of bytes each indexing task scans, as in the view. */
+	private static final int SCAN_SIZE = 1 << 22;
+
+	private static final int INDEX_SPACING = 256;
+
+	private final List<File> files = new ArrayList<>();
+
+	@After
+	public void tearDown() {
+		for (final File file : files) {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		final LineIndex index = index(new byte[0]);
+		assertEquals(0, index.lineCount);
+		assertEquals(0, index.maxLineBytes);
+		assertArrayEquals(new long[1], index.offsets);
+	}
+
+	@Test
+	public void testTrailingNewline() throws IOException {
+		assertEquals(1, index(bytes("\n")).lineCount);
+		assertEquals(1, index(bytes("a")).lineCount);
+		assertEquals(1, index(bytes("a\n")).lineCount);
+		assertEquals(2, index(bytes("a\nbc")).lineCount);
+		assertEquals(2, index(bytes("a\nbc\n")).lineCount);
+		assertEquals(3, index(bytes("a\n\n\n")).lineCount);
+		assertEquals(2, index(bytes("a\nbc\n")).maxLineBytes);
+	}
+
+	@Test
+	public void testCRLF() throws IOException {
+		final LineIndex index = index(bytes("ab\r\ncd\r\n\r\nefg"));
+		assertEquals(4, index.lineCount);
+		// NB: Carriage returns are part of the lines, which are stripped only
+		// when they are painted.
+		assertEquals(3, index.maxLineBytes);
+	}
+
+	@Test
+	public void testIndexedLines() throws IOException {
+		final byte[] bytes = lines(1000, 10);
+		final LineIndex index = index(bytes);
+		assertEquals(1000, index.lineCount);
+		assertArrayEquals(offsets(bytes), index.offsets);
+		assertEquals(10, index.maxLineBytes);
+	}
+
+	@Test
+	public void testLinesSpanningChunks() throws IOException {
+		// NB: Lines of 999 bytes and a newline never end at a chunk boundary.
+		final byte[] bytes = lines(3 * SCAN_SIZE / 1000, 999);
+		final LineIndex index = index(bytes);
+		assertEquals(3 * SCAN_SIZE / 1000, index.lineCount);
+		assertArrayEquals(offsets(bytes), index.offsets);
+	}
+
+	@Test
+	public void testExtend() throws IOException {
+		final byte[] bytes = lines(3 * SCAN_SIZE / 1000, 999);
+		final LineIndex full = index(bytes);
+		for (final int prefix : new int[] { 0, 1, 999, 1000, 1001, SCAN_SIZE,
+			SCAN_SIZE + 500, 2 * SCAN_SIZE - 1, bytes.length })
+		{
+			final LineIndex index = index(bytes, prefix);
+			assertEquals("prefix " + prefix, full.lineCount, index.lineCount);
+			assertArrayEquals("prefix " + prefix, full.offsets, index.offsets);
+		}
+	}
+
+	@Test
+	public void testExtendUnterminatedLine() throws IOException {
+		final byte[] bytes = bytes("a\nbc\nde");
+		final LineIndex index = index(bytes, 4);
+		assertEquals(3, index.lineCount);
+		assertEquals(index(bytes).lineCount, index.lineCount);
+		final LineIndex unchanged = index(bytes, bytes.length);
+		assertEquals(3, unchanged.lineCount);
+	}
+
+	// -- Helper methods --
+
+	private static byte[] bytes(final String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/** Creates lines of the given number of bytes, each ending in a newline. */
+	private static byte[] lines(final int count, final int lineBytes) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int i = 0; i < count; i++) {
+			for (int b = 0; b < lineBytes; b++) {
+				out.write('a' + (i + b) % 26);
+			}
+			out.write('\n');
+		}
+		return out.toByteArray();
+	}
+
+	/** Gets the offsets of every indexed line, as the index should. */
+	private static long[] offsets(final byte[] bytes) {
+		final List<Long> offsets = new ArrayList<>();
+		offsets.add(0L);
+		int line = 0;
+		for (int i = 0; i < bytes.length; i++) {
+			if (bytes[i] != '\n' || i == bytes.length - 1) continue;
+			if (++line % INDEX_SPACING == 0) offsets.add(i + 1L);
+		}
+		return offsets.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	private LineIndex index(final byte[] bytes) throws IOException {
+		return LineIndex.build(map(bytes), bytes.length, null);
+	}
+
+	/** Indexes the first bytes, and then extends the index to all of them. */
+	private LineIndex index(final byte[] bytes, final int prefix)
+		throws IOException
+	{
+		final MappedByteBuffer[] maps = map(bytes);
+		final LineIndex previous = LineIndex.build(maps, prefix, null);
+		return LineIndex.build(maps, bytes.length, previous);
+	}
+
+	private MappedByteBuffer[] map(final byte[] bytes) throws IOException {
+		final File file = File.createTempFile("line-index-", ".txt");
+		file.deleteOnExit();
+		files.add(file);
+		Files.write(file.toPath(), bytes);
+		try (final FileChannel channel = FileChannel.open(file.toPath(),
+			StandardOpenOption.READ))
+		{
+			return new MappedByteBuffer[] { channel.map(
+				FileChannel.MapMode.READ_ONLY, 0, bytes.length) };
+		}
+	}
+}
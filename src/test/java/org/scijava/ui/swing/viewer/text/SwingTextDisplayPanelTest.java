@@ -0,0 +1,210 @@
+/*
+ * #%L
+ * SciJava UI components for Java Swing.
+ * %%
+ * Copyright (C) 2010 - 2026 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.viewer.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.swing.JEditorPane;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.app.StatusService;
+import org.scijava.display.DefaultTextDisplay;
+import org.scijava.display.TextDisplay;
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.viewer.DisplayPanel;
+import org.scijava.ui.viewer.DisplayWindow;
+
+/**
+ * Tests {@link SwingTextDisplayPanel}.
+ */
+public class SwingTextDisplayPanelTest {
+
+	private Context context;
+	private TextDisplay display;
+	private SwingTextDisplayPanel panel;
+
+	@Before
+	public void setUp() throws Exception {
+		context = new Context(ThreadService.class, StatusService.class);
+		display = new DefaultTextDisplay();
+		display.setContext(context);
+		SwingUtilities.invokeAndWait(() -> panel = new SwingTextDisplayPanel(
+			display, new TestWindow()));
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testAppend() throws Exception {
+		display.add("a");
+		display.add("b");
+		redraw();
+		final Document doc = onEDT(() -> textArea().getDocument());
+		display.add("c");
+		redraw();
+		// NB: The new line was appended to the document, not rendered anew.
+		assertSame(doc, onEDT(() -> textArea().getDocument()));
+		assertEquals("a\nb\nc\n", shown());
+	}
+
+	@Test
+	public void testChangedLine() throws Exception {
+		display.add("a");
+		display.add("b");
+		redraw();
+		final Document doc = onEDT(() -> textArea().getDocument());
+		display.set(0, "x");
+		display.add("c");
+		redraw();
+		assertNotSame(doc, onEDT(() -> textArea().getDocument()));
+		assertEquals("x\nb\nc\n", shown());
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		display.add("a");
+		redraw();
+		display.clear();
+		redraw();
+		assertEquals("", shown());
+		display.add("b");
+		redraw();
+		assertEquals("b\n", shown());
+	}
+
+	@Test
+	public void testSwitchToHTML() throws Exception {
+		display.add("a");
+		redraw();
+		display.clear();
+		display.add("<html><b>bold</b>");
+		redraw();
+		assertEquals("text/html", onEDT(() -> textArea().getContentType()));
+		assertTrue(shown().contains("bold"));
+		// NB: Lines appended to HTML render it anew, rather than as plain text.
+		display.add("<i>italic</i>");
+		redraw();
+		assertTrue(shown().contains("italic"));
+		assertTrue(onEDT(() -> textArea().getText()).contains("<i>"));
+	}
+
+	@Test
+	public void testSwitchToPlainText() throws Exception {
+		display.add("<html><b>bold</b>");
+		redraw();
+		display.clear();
+		display.add("<b>plain</b>");
+		redraw();
+		assertEquals("text/plain", onEDT(() -> textArea().getContentType()));
+		assertEquals("<b>plain</b>\n", shown());
+		display.add("more");
+		redraw();
+		assertEquals("<b>plain</b>\nmore\n", shown());
+	}
+
+	// -- Helper methods --
+
+	private void redraw() throws Exception {
+		SwingUtilities.invokeAndWait(panel::redraw);
+	}
+
+	private JEditorPane textArea() {
+		return (JEditorPane) panel.getViewport().getView();
+	}
+
+	/** Gets the text shown by the text area, without any markup. */
+	private String shown() throws Exception {
+		return onEDT(() -> {
+			final Document doc = textArea().getDocument();
+			try {
+				return doc.getText(0, doc.getLength());
+			}
+			catch (final BadLocationException exc) {
+				throw new IllegalStateException(exc);
+			}
+		});
+	}
+
+	private static <T> T onEDT(final Supplier<T> supplier) throws Exception {
+		final List<T> result = new ArrayList<>();
+		SwingUtilities.invokeAndWait(() -> result.add(supplier.get()));
+		return result.get(0);
+	}
+
+	// -- Helper classes --
+
+	/** Window which shows nothing. */
+	private static class TestWindow implements DisplayWindow {
+
+		@Override
+		public void setTitle(final String s) {}
+
+		@Override
+		public void setContent(final DisplayPanel panel) {}
+
+		@Override
+		public void pack() {}
+
+		@Override
+		public void showDisplay(final boolean visible) {}
+
+		@Override
+		public void requestFocus() {}
+
+		@Override
+		public void close() {}
+
+		@Override
+		public int findDisplayContentScreenX() {
+			return 0;
+		}
+
+		@Override
+		public int findDisplayContentScreenY() {
+			return 0;
+		}
+	}
+}